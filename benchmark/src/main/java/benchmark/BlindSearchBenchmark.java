@@ -0,0 +1,96 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import basic.BreadthFirstSearch;
+import extended.BidirectionalSearch;
+import implementation.gridpuzzle.BidirectionalGridProblem;
+import implementation.gridpuzzle.GameGrid;
+import implementation.gridpuzzle.GridProblem;
+import implementation.gridpuzzle.GridState;
+import implementation.gridpuzzle.HeuristicOne;
+
+/**
+ * Benchmarks the uninformed searches (breadth first and bidirectional search) on the 8-puzzle.
+ * The boards are random walks of the given number of moves from a fixed seed.
+ * 
+ * @author eden06
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=2)
+@Measurement(iterations=5, time=2)
+@Fork(1)
+public class BlindSearchBenchmark {
+	
+	@Param({"20", "60"})
+	public int moves;
+	
+	private GridProblem problem;
+	private BidirectionalGridProblem bidirectional;
+	
+	@Setup
+	public void setup(){
+		GameGrid source=Instances.walk(3,moves,Instances.SEED), goal=Instances.goal(3);
+		problem=new GridProblem(source,goal,new HeuristicOne());
+		bidirectional=new BidirectionalGridProblem(source,goal);
+	}
+	
+	@Benchmark
+	public GridState breadthFirstSearch(){
+		BreadthFirstSearch<GridState> search=new BreadthFirstSearch<GridState>(problem);
+		search.run();
+		return search.getResult();
+	}
+	
+	@Benchmark
+	public GridState bidirectionalSearch(){
+		BidirectionalSearch<GridState> search=new BidirectionalSearch<GridState>(bidirectional);
+		search.run();
+		return search.getResult();
+	}
+
+}
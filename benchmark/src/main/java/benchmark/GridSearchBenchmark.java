@@ -0,0 +1,107 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package benchmark;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import basic.AStarSearch;
+import basic.IterativeDeepeningAStar;
+import basic.ReversibleIterativeDeepeningAStar;
+import implementation.gridpuzzle.GameGrid;
+import implementation.gridpuzzle.GridProblem;
+import implementation.gridpuzzle.GridState;
+import implementation.gridpuzzle.HeuristicThree;
+import implementation.gridpuzzle.ReversibleGridProblem;
+
+/**
+ * Benchmarks the informed searches (A*, IDA* and the reversible IDA*) on the 15-puzzle.
+ * The "easy" board is the easy example of the MainIDAStar and 
+ * the "random" board is a random walk of 60 moves from a fixed seed.
+ * The difficult example is benchmarked separately by the DifficultBoardBenchmark.
+ * 
+ * @author eden06
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3, time=2)
+@Measurement(iterations=5, time=2)
+@Fork(1)
+public class GridSearchBenchmark {
+	
+	@Param({"easy", "random"})
+	public String board;
+	
+	private GridProblem problem;
+	private ReversibleGridProblem reversible;
+	
+	@Setup
+	public void setup(){
+		GameGrid source=Instances.board(board);
+		problem=new GridProblem(source,Instances.goal(4),new HeuristicThree());
+		reversible=new ReversibleGridProblem(source,Instances.goal(4));
+	}
+	
+	@Benchmark
+	public GridState aStar(){
+		AStarSearch<GridState> search=new AStarSearch<GridState>(problem);
+		search.run();
+		return search.getResult();
+	}
+	
+	@Benchmark
+	public GridState iterativeDeepeningAStar(){
+		IterativeDeepeningAStar<GridState> search=new IterativeDeepeningAStar<GridState>(problem);
+		search.run();
+		return search.getResult();
+	}
+
+	@Benchmark
+	public GameGrid reversibleIterativeDeepeningAStar(){
+		ReversibleIterativeDeepeningAStar<GameGrid,Point> search=new ReversibleIterativeDeepeningAStar<GameGrid,Point>(reversible);
+		search.run();
+		return search.getResult();
+	}
+
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package benchmark;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import implementation.dijkstra.Benchmark;
+import implementation.dijkstra.Graph;
+import implementation.gridpuzzle.AbstractHeuristic;
+import implementation.gridpuzzle.GameGrid;
+import implementation.gridpuzzle.HeuristicFour;
+import implementation.gridpuzzle.HeuristicOne;
+import implementation.gridpuzzle.HeuristicThree;
+import implementation.gridpuzzle.HeuristicTwo;
+import implementation.gridpuzzle.MainIDAStar;
+import implementation.gridpuzzle.PatternDatabaseHeuristic;
+import implementation.queenproblem.IQueenGame;
+import implementation.queenproblem.QueenProblem;
+
+/**
+ * This class creates the fixed instances used by the benchmarks.
+ * All random instances are created from a fixed seed, 
+ * so each benchmark run works on the same instances.
+ * 
+ * @author eden06
+ */
+public final class Instances {
+	
+	/**
+	 * the seed used for all random instances
+	 */
+	public static final long SEED=42;
+	
+	private Instances() {
+		
+	}
+	
+	/**
+	 * Creates the solved board of the given size.
+	 * 
+	 * @param size the width and height of the board
+	 * @return the solved board
+	 */
+	public static GameGrid goal(int size){
+		GameGrid goal=new GameGrid(size,size);
+		goal.initialize();
+		return goal;
+	}
+	
+	/**
+	 * Creates a solvable board by applying the given number of random moves to the solved board.
+	 * 
+	 * @param size the width and height of the board
+	 * @param moves the number of random moves
+	 * @param seed of the random number generator
+	 * @return a solvable board
+	 */
+	public static GameGrid walk(int size, int moves, long seed){
+		Random random=new Random(seed);
+		GameGrid board=goal(size);
+		for (int i=0;i<moves;i++){
+			List<Point> movements=board.movements();
+			Point p=movements.get(random.nextInt(movements.size()));
+			board.move(p.x,p.y);
+		}
+		return board;
+	}
+	
+	/**
+	 * Creates the 15-puzzle with the given name.
+	 * Valid names are "easy" and "difficult" (the examples of the MainIDAStar)
+	 * as well as "random", which is a random walk of 60 moves.
+	 * 
+	 * @param name of the board
+	 * @return the board
+	 * @throws IllegalArgumentException if the name is unknown
+	 */
+	public static GameGrid board(String name){
+		GameGrid board=new GameGrid(4,4);
+		if ("easy".equals(name)) MainIDAStar.buildEasy(board);
+		else if ("difficult".equals(name)) MainIDAStar.buildDifficult(board);
+		else if ("random".equals(name)) board=walk(4,60,SEED);
+		else throw new IllegalArgumentException("unknown board "+name+"!");
+		return board;
+	}
+	
+	/**
+	 * Creates the heuristic with the given simple class name.
+	 * 
+	 * The "PatternDatabaseHeuristic" is built for the 4x4 goal with the 5-5-5 partition.
+	 * 
+	 * @param name of the heuristic (like "HeuristicOne")
+	 * @return the heuristic
+	 * @throws IllegalArgumentException if the name is unknown
+	 */
+	public static AbstractHeuristic heuristic(String name){
+		if ("HeuristicOne".equals(name)) return new HeuristicOne();
+		if ("HeuristicTwo".equals(name)) return new HeuristicTwo();
+		if ("HeuristicThree".equals(name)) return new HeuristicThree();
+		if ("HeuristicFour".equals(name)) return new HeuristicFour();
+		if ("PatternDatabaseHeuristic".equals(name)) return new PatternDatabaseHeuristic(goal(4),PatternDatabaseHeuristic.FIVE_FIVE_FIVE);
+		throw new IllegalArgumentException("unknown heuristic "+name+"!");
+	}
+	
+	/**
+	 * Creates the n-queens problem, which starts with the queens placed on a random permutation of the rows
+	 * drawn from the fixed seed (instead of all queens in the first row).
+	 * 
+	 * @param n the number of queens
+	 * @return the problem
+	 * @see implementation.queenproblem.QueenProblem#randomInitial(Random)
+	 */
+	public static QueenProblem queens(int n){
+		final IQueenGame initial=new QueenProblem(n).randomInitial(new Random(SEED));
+		return new QueenProblem(n){
+			@Override
+			public IQueenGame initial() {	return initial;	}
+		};
+	}
+	
+	/**
+	 * Creates a random graph where each node is reachable from node 0.
+	 * 
+	 * @param nodes the number of nodes
+	 * @param degree the number of outgoing edges of each node
+	 * @return the graph
+	 * @see implementation.dijkstra.Benchmark#randomGraph(int, int, long)
+	 */
+	public static Graph graph(int nodes, int degree){
+		return Benchmark.randomGraph(nodes,degree,SEED);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package benchmark;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import implementation.gridpuzzle.GameGrid;
+import util.PackedArray;
+import util.SortedQueue;
+
+/**
+ * Micro benchmarks of the data structures used by the searches and the example domains.
+ * 
+ * @author eden06
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=3, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+public class StructureBenchmark {
+	
+	@Param({"16", "1024"})
+	public int size;
+	
+	private PackedArray packed;
+	private int[] values;
+	private GameGrid board;
+	private Point[] moves;
+	
+	@Setup
+	public void setup(){
+		Random random=new Random(Instances.SEED);
+		values=new int[size];
+		for (int i=0;i<size;i++) values[i]=random.nextInt(size);
+		packed=new PackedArray(values,size);
+		board=Instances.walk(4,60,Instances.SEED);
+		// a closed cycle of moves, so the board is the same after each invocation
+		List<Point> movements=board.movements();
+		moves=new Point[]{movements.get(0),board.positionOf(0)};
+	}
+	
+	@Benchmark
+	public int packedArrayGet(){
+		int sum=0;
+		for (int i=0;i<size;i++) sum+=packed.get(i);
+		return sum;
+	}
+	
+	@Benchmark
+	public PackedArray packedArraySet(){
+		for (int i=0;i<size;i++) packed.set(i,values[size-1-i]);
+		return packed;
+	}
+	
+	@Benchmark
+	public void sortedQueue(Blackhole hole){
+		SortedQueue<Integer> queue=new SortedQueue<Integer>();
+		for (int i=0;i<size;i++) queue.offer(values[i]);
+		while (!queue.isEmpty()) hole.consume(queue.poll());
+	}
+	
+	@Benchmark
+	public GameGrid gameGridMove(){
+		for (Point p : moves) board.move(p.x,p.y);
+		return board;
+	}
+
+}
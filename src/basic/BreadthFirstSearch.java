@@ -140,5 +140,12 @@ public class BreadthFirstSearch<T> extends DirectedSearch<T> {
 	protected T pop() {
 		return queue.pop();
 	}
+ /**
+  * @see core.Search#frontierSize()
+  */
+	@Override
+	protected int frontierSize() {
+		return queue.size();
+	}
 
 }
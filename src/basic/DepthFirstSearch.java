@@ -31,9 +31,11 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package basic;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import util.DummySet;
+import util.FrameStack;
 
 import core.Search;
 import core.Problem;
@@ -42,11 +44,13 @@ import core.Problem;
  * The depth first search algorithm is a blind search able
  * to solve any problem implementing the core.Problem interface.
  * This class is a subclass of core.Search because it uses
- * recursion rather then the general search algorithm employed in core.DirectedSearch.<br>
+ * a stack of frames rather then the general search algorithm employed in core.DirectedSearch.<br>
  * <br>
- * The depth first search uses a recursive function to expand all states
- * in the search tree. This function calls itself for each successor of the given state, and
- * terminates only if a goal has been found or all successors have been explored.<br>
+ * The depth first search visits all states in the search tree like a recursive function,
+ * which calls itself for each successor of the given state, and
+ * terminates only if a goal has been found or all successors have been explored.
+ * Instead of the call stack an explicit util.FrameStack is used, 
+ * so the depth of the search is only limited by the heap.<br>
  * This strategy grants a time complexity of <code>O(b^d)</code> and
  * a space complexity of <code>O(b*d)</code>
  * (where b is the branching factor and d the depth of the search tree).<br>
@@ -115,6 +119,10 @@ public class DepthFirstSearch<T> extends Search<T> {
 	 * holds the set used for duplicate handling
 	 */
 	protected Set<T> hash=null;
+	/**
+	 * holds the successors of all states on the current path
+	 */
+	private final FrameStack<T> stack=new FrameStack<T>();
 	/**
 	 * Creates a new DepthFirstSearch with the given problem.
   * The search will use implicit duplicate handling.
@@ -138,22 +146,32 @@ public class DepthFirstSearch<T> extends Search<T> {
   hash= (noHash ? new DummySet<T>() : new HashSet<T>(1024));
 	}
  /**
-  * This method implements the recursive depth first search.
-  * It expands the given state and calls itself for each successor state.
+  * This method implements the depth first search.
+  * It expands the given state and visits each successor state in the same order 
+  * as a recursive function would do, using the stack of frames instead of recursion.
   * 
   * @param state to be checked and further expanded
   */
-	private final void recursiveSearch(T state){
-		if (result==null && running()){
+	private final void iterativeSearch(T state){
+		stack.clear();
+		while (state!=null && running()){
 		 if (problem.isGoal(state)){
 		 	result=state;
+		 	break;
+		 }
+		 neededSteps++;
+		 if (hash.add(state)){
+			 countExpansion();
+			 List<T> nodes=problem.expand(state);
+			 countGenerated(nodes.size());
+			 stack.push(nodes);
 		 }else{
-			 neededSteps++;
-			 if (! hash.add(state)) return;
-			 for (T node: problem.expand(state) )
-			 	recursiveSearch(node);
+		 	countDuplicates(1);
 		 }
+		 //backtrack to the next successor, which has not been visited yet
+		 state=stack.advance();
 		}
+		stack.clear();
 	}
 
 	/**
@@ -166,6 +184,15 @@ public class DepthFirstSearch<T> extends Search<T> {
 	public final int branchedNodes(){
 		return neededSteps;
 	}
+	/**
+	 * This method returns the number of states in the set used for duplicate handling.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return hash.size();
+	}
 	/**
 	 * This method checks if the given problem returns a valid initial state.
 	 * 
@@ -187,14 +214,14 @@ public class DepthFirstSearch<T> extends Search<T> {
 	}
 	/**
 	 * This method looks for a goal in the search domain,
-	 * by calling a recursive function which expands a state and calls itself for all successor states.<br>
+	 * by expanding a state and visiting all its successor states before its siblings.<br>
 	 * <b>Note:</b> A more accurate description is given in basic.DepthFirstSearch.
 	 * 
 	 * @see core.Search#search()
 	 */
 	@Override
 	protected final void search() {
-	 recursiveSearch( problem.initial() );
+	 iterativeSearch( problem.initial() );
 	}	
  /**
 	 * This method returns the problem, with which this search has been created.
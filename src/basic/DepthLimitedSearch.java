@@ -31,9 +31,11 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package basic;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import util.DummySet;
+import util.FrameStack;
 import core.Search;
 import core.TreeProblem;
 
@@ -41,12 +43,14 @@ import core.TreeProblem;
  * The depth limited search algorithm is a blind search
  * able to solve any problem implementing the core.TreeProblem interface.
  * Depth limited search is a subclass of core.Search because it uses
- * recursion rather then the general search algorithm employed in core.DirectedSearch.<br>
+ * a stack of frames rather then the general search algorithm employed in core.DirectedSearch.<br>
  * <br>
- * The depth limited search uses a recursive function to expand all states
- * in the search tree. This function calls itself for each successor of the given state, and
+ * The depth limited search visits all states in the search tree like a recursive function,
+ * which calls itself for each successor of the given state, and
  * terminates only if a goal has been found, the depth limit is reached
- * or all successors have been explored.<br>
+ * or all successors have been explored.
+ * Instead of the call stack an explicit util.FrameStack is used, 
+ * so even large depth limits do not cause a StackOverflowError.<br>
  * This strategy grants a time complexity of <code>O(b^l)</code> and
  * a space complexity of <code>O(b*l)</code>
  * (where b is the branching factor and l is the selected depth limit).<br>
@@ -117,6 +121,10 @@ public class DepthLimitedSearch<T> extends Search<T> {
 	 * holds the set used for duplicate handling
 	 */
 	protected Set<T> hash;
+	/**
+	 * holds the successors of all states on the current path
+	 */
+	private final FrameStack<T> stack=new FrameStack<T>();
 	
 	/**
 	 * Create a new DepthLimitedSearch with the given problem,
@@ -148,27 +156,47 @@ public class DepthLimitedSearch<T> extends Search<T> {
 	}
 
 	/**
-  * This method implements the recursive depth limited search.
-  * It expands the given state and calls itself for each successor state,
+  * This method implements the depth limited search.
+  * It expands the given state and visits each successor state in the same order 
+  * as a recursive function would do, using the stack of frames instead of recursion,
   * until the given depth limit has been reached.
   * 
   * @param state to be checked and further expanded
   * @param limit of the exploration depth
   */
 	private final void depthLimitedSearch(T state,int limit){
-	 if (result==null && running()){
+		stack.clear();
+	 while (state!=null && running()){
 	 	if (problem.isGoal(state)){
 	 		result=state;
+	 		break;
+	 	}
+	 	neededSteps++;
+	 	if (hash.add(state)){
+	 		countExpansion();
+	 		List<T> nodes=problem.expand(state);
+	 		countGenerated(nodes.size());
+	 		stack.push(nodes);
 	 	}else{
-	 		neededSteps++;
-	 		if (! hash.add(state)) return;
-	 		for (T node: problem.expand(state))
-	 			if (problem.depth(node) < limit)
-	 				depthLimitedSearch(node,limit);	 		
-	 	} 	
-	 }	
+	 		countDuplicates(1);
+	 	}
+	 	//backtrack to the next successor below the depth limit
+	 	do{
+	 		state=stack.advance();
+	 	}while (state!=null && problem.depth(state) >= limit);
+	 }
+	 stack.clear();
 	}
 	
+	/**
+	 * This method returns the number of states in the set used for duplicate handling.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return hash.size();
+	}
 	/**
 	 * This method checks if the given problem returns a valid initial state.
 	 * 
@@ -190,7 +218,7 @@ public class DepthLimitedSearch<T> extends Search<T> {
 	}
  /**
   * This method looks for a goal in the search domain,
-	 * by calling a recursive function which expands a state and calls itself for all successor states,
+	 * by expanding a state and visiting all its successor states before its siblings,
 	 * until the depth limit is reached.<br>
 	 * <b>Note:</b> A more accurate description is given in basic.DepthLimitedSearch.
 	 * 
@@ -118,6 +118,17 @@ public class GreedySearch<T> extends BestFirstSearch<T> {
 	 */
 	@Override
 	public Double f(T state) {
+		return evaluate(state);
+	}
+	
+	/**
+	 * This method is the primitive version of <code>f(state)</code>
+	 * and returns <code>h(state)</code> without boxing.
+	 * 
+	 * @see core.BestFirstSearch#evaluate(java.lang.Object)
+	 */
+	@Override
+	public double evaluate(T state) {
 		return heuristicProblem.h(state);
 	}
 
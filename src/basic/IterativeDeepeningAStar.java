@@ -30,13 +30,13 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package basic;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
-import util.DummyMap;
+import util.TranspositionTable;
 
 import core.HeuristicProblem;
 import core.Search;
+import core.StateCodec;
 
 /**
  * The iterative deepening A* algorithm is a heuristic search
@@ -84,7 +84,11 @@ import core.Search;
  * that each later occurrence of this state has a greater sum of path costs.
  * Thats why we can discard every state which has already been seen.
  * As a conclusion you can use the implicit duplicate handling mechanism.
- * In detail there are two important rules for states of type T which allow proper hashing:
+ * The duplicates are kept in an util.TranspositionTable of fixed size
+ * (32 megabytes by default, see setTableSize(int)), which is allocated once and reused by all iterations.
+ * So the memory used stays flat, and a replaced entry merely causes a state to be expanded again.
+ * If the problem implements the core.StateCodec interface, the table only stores the encoded states.
+ * Otherwise there are two important rules for states of type T which allow proper hashing:
  * <ul>
  * <li>T must implement a hashCode() method.</li>
  * <li>T must implement a equals() method.</li>
@@ -118,9 +122,17 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
   */
 	protected HeuristicProblem<T> problem;
 	/**
-	 * holds the map used for duplicate handling
+	 * holds the table used for duplicate handling (or null if duplicates should not be handled)
 	 */
-	protected Map<T,Integer> hash;
+	protected TranspositionTable<T> table;
+	/**
+	 * holds the flag indicating that duplicates should not be handled
+	 */
+	private boolean noHash;
+	/**
+	 * holds the memory of the transposition table in megabytes
+	 */
+	private int tableSize=32;
 	/**
 	 * Create a new IterativeDeepeningAStar with the given problem.
 	 * This search will use implicit duplicate handling.
@@ -140,7 +152,17 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
 	public IterativeDeepeningAStar(HeuristicProblem<T> problem, boolean noHash) {
 		if (problem!=null) this.problem=problem; 
 	 else throw new IllegalArgumentException("problem should never be null!");
-		hash=(noHash?new DummyMap<T,Integer>():new HashMap<T,Integer>(1024));		
+		this.noHash=noHash;
+	}
+	/**
+	 * This method returns the number of states in the table used for duplicate handling
+	 * which have been stored during the current iteration.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return (table==null?0:table.size());
 	}
 	/**
 	 * This method checks if the given problem returns a valid initial state.
@@ -152,13 +174,16 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
 		return problem.initial()!=null;
 	}
  /**
-  * This method does nothing.
+  * This method creates the transposition table unless duplicates should not be handled.
   * 
   * @see core.Search#prepare()
   */
+	@SuppressWarnings("unchecked")
 	@Override
 	protected void prepare() {
-
+		if (noHash) return;
+		StateCodec<T> codec=(problem instanceof StateCodec<?>?(StateCodec<T>) problem:null);
+		table=new TranspositionTable<T>(codec,tableSize);
 	}
  /**
   * This method looks for a goal by iteratively calling a recursive f-limited search
@@ -171,9 +196,12 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
 	protected final void search() {
 		T initial=problem.initial();
 		double flimit=f(initial);
+		int iteration=0;
 		while ( result==null && running() && (! Double.isInfinite(flimit)) ){
-			hash.clear();			
+			if (table!=null) table.nextGeneration();
+			double limit=flimit;
   	flimit=costLimitedSearch(initial,flimit);
+  	notifyIterationComplete(++iteration,limit);
   	//System.out.format("f-limit:%f\n",flimit);
   }
 	}
@@ -200,16 +228,17 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
 	 	return flimit;
 	 }
  	//check if this state has been expanded previously
- 	Integer depth=hash.get(state), 
- 	        newdepth=problem.depth(state);
- 	if ((depth==null) || (newdepth<depth))
- 	 hash.put(state,newdepth);
- 	else
- 	 return Double.POSITIVE_INFINITY; 	
+ 	if (table!=null && !table.visit(state,problem.depth(state))){
+ 		countDuplicates(1);
+ 	 return Double.POSITIVE_INFINITY;
+ 	}
 	 //expand the state
  	newlimit=Double.POSITIVE_INFINITY;
  	neededSteps++;
- 	for (T node: problem.expand(state))
+ 	countExpansion();
+ 	List<T> nodes=problem.expand(state);
+ 	countGenerated(nodes.size());
+ 	for (T node: nodes)
  		newlimit=Math.min(newlimit,	costLimitedSearch(node,flimit) );	 		
  	return newlimit;	 
 	}
@@ -222,6 +251,24 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
 	public final HeuristicProblem<T> getProblem() {
 		return problem;
 	}
+	/**
+	 * Returns the memory of the transposition table in megabytes.
+	 * 
+	 * @return the size of the transposition table
+	 */
+	public int getTableSize() {
+		return tableSize;
+	}
+	/**
+	 * Changes the memory of the transposition table to the given number of megabytes,
+	 * if this search has not been initialized yet.
+	 * 
+	 * @param tableSize the new size of the transposition table in megabytes
+	 */
+	public void setTableSize(int tableSize) {
+		if (tableSize<1) throw new IllegalArgumentException("tableSize must be greater than zero!");
+		if (! initialized()) this.tableSize = tableSize;
+	}
 	/**
 	 * This method estimates the costs to reach a goal state from the initial state
 	 * over the given state.
@@ -232,6 +279,7 @@ public class IterativeDeepeningAStar<T> extends Search<T> {
   * @return the function value
 	 */
 	public final double f(T state){
+		countEvaluations(1);
 		return problem.g(state) + problem.h(state);
 	}
 	
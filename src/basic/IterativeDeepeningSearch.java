@@ -30,18 +30,19 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package basic;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
-import util.DummyMap;
+import util.FrameStack;
+import util.TranspositionTable;
 
 import core.Search;
+import core.StateCodec;
 import core.TreeProblem;
 /**
  * The iterative deepening search algorithm is a blind search
  * able to solve any problem implementing the core.TreeProblem interface.
  * IterativeDeepeningSearch is a subclass of core.Search because it uses
- * recursion rather then the general search algorithm employed in core.DirectedSearch.<br>
+ * a stack of frames (a util.FrameStack) rather then the general search algorithm employed in core.DirectedSearch.<br>
  * <br>
  * The iterative deepening search starts a depth limited search with a depth limit of zero
  * and increases the depth limit slowly until a goal has been found
@@ -54,9 +55,12 @@ import core.TreeProblem;
  * In fact iterative deepening search is the best trade of between breadth first 
  * and depth limited search for medium and large search domains.<br> 
  * <br>
- * To avoid duplicate states during the search a HashSet is used,
- * which tries to hash all expanded states in order to inhibit further expansion.
- * In detail there are two important rules for states of type T which allow proper hashing:
+ * To avoid duplicate states during the search an util.TranspositionTable is used,
+ * which remembers the lowest depth of the expanded states in order to inhibit further expansion.
+ * The table has a fixed size (32 megabytes by default, see setTableSize(int))
+ * and is reused by all iterations, so the memory used stays flat.
+ * If the problem implements the core.StateCodec interface, the table only stores the encoded states.
+ * Otherwise there are two important rules for states of type T which allow proper hashing:
  * <ul>
  * <li>T must implement a hashCode() method.</li>
  * <li>T must implement a equals() method.</li>
@@ -112,9 +116,21 @@ public class IterativeDeepeningSearch<T> extends Search<T> {
 	 */
 	protected int maximumDepth=1000;
 	/**
-	 * holds the map used for duplicate handling
+	 * holds the table used for duplicate handling (or null if duplicates should not be handled)
 	 */
-	protected Map<T,Integer> hash=new HashMap<T,Integer>(1024);	
+	protected TranspositionTable<T> table;
+	/**
+	 * holds the flag indicating that duplicates should not be handled
+	 */
+	private boolean noHash;
+	/**
+	 * holds the memory of the transposition table in megabytes
+	 */
+	private int tableSize=32;
+	/**
+	 * holds the successors of all states on the current path (shared by all iterations)
+	 */
+	private final FrameStack<T> stack=new FrameStack<T>();
 	
 	/**
   *	Create a new IterativeDeepeningSearch with the given problem.
@@ -155,37 +171,53 @@ public class IterativeDeepeningSearch<T> extends Search<T> {
 	 else throw new IllegalArgumentException("problem should never be null!");
 		if (maximumDepth>1) this.maximumDepth=maximumDepth;
 		else throw new IllegalArgumentException("maximumDepth must be greater than one!");
-		hash= (noHash ? new DummyMap<T,Integer>() : new HashMap<T,Integer>(1024));
+		this.noHash=noHash;
 	}
  
  /**
-  * This method implements the recursive depth limited search.
-  * It expands the given state and calls itself for each successor state,
+  * This method implements the depth limited search.
+  * It expands the given state and visits each successor state in the same order 
+  * as a recursive function would do, using the stack of frames instead of recursion,
   * until the given depth limit has been reached.
   * 
   * @param state to be checked and further expanded
   * @param limit of the exploration depth
   */
 	private final void depthLimitedSearch(T state,int limit){
-	 if (result==null && running()){
+		stack.clear();
+	 while (state!=null && running()){
 	 	if (problem.isGoal(state)){
 	 		result=state;
+	 		break;
+	 	}
+	 	expandedNodes++;
+	 	neededSteps++;
+	 	//check if this state has been expanded previously
+	 	if (table==null || table.visit(state,problem.depth(state))){
+	 		//expand state
+	 		countExpansion();
+	 		List<T> nodes=problem.expand(state);
+	 		countGenerated(nodes.size());
+	 		stack.push(nodes);
 	 	}else{
-	 		expandedNodes++;
-	 		neededSteps++;
-	 		//check if this state has been expanded previously
-	  	Integer depth=hash.get(state), 
-	  	        newdepth=problem.depth(state);
-	  	if ((depth==null) || (newdepth<depth))
-	  	 hash.put(state,newdepth);
-	  	else
-	  		return;
-	  	//expand state
-	 		for (T node: problem.expand(state))
-	 			if (problem.depth(node) < limit)
-	 				depthLimitedSearch(node,limit);	 		
-	 	} 	
-	 }	
+	 		countDuplicates(1);
+	 	}
+	 	//backtrack to the next successor below the depth limit
+	 	do{
+	 		state=stack.advance();
+	 	}while (state!=null && problem.depth(state) >= limit);
+	 }
+	 stack.clear();
+	}
+	/**
+	 * This method returns the number of states in the table used for duplicate handling
+	 * which have been stored during the current iteration.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return (table==null?0:table.size());
 	}
 	/**
 	 * This method checks if the given problem returns a valid initial state.
@@ -197,16 +229,19 @@ public class IterativeDeepeningSearch<T> extends Search<T> {
 		return problem.initial()!=null;
 	}
  /**
-  * This method does nothing.
+  * This method creates the transposition table unless duplicates should not be handled.
   * 
   * @see core.Search#prepare()
   */
+	@SuppressWarnings("unchecked")
 	@Override
 	protected void prepare() {
-
+		if (noHash) return;
+		StateCodec<T> codec=(problem instanceof StateCodec<?>?(StateCodec<T>) problem:null);
+		table=new TranspositionTable<T>(codec,tableSize);
 	}
  /**
-  * This method looks for a goal by iteratively calling a recursive depth limited search
+  * This method looks for a goal by iteratively calling a depth limited search
   * with increasing depth limits. 
   * It terminates when a goal has been found or the number of expanded nodes
   * does not increase anymore.
@@ -219,8 +254,9 @@ public class IterativeDeepeningSearch<T> extends Search<T> {
 		T initial=problem.initial();
 		while (limit<maximumDepth && result==null && running()){
 			expandedNodes=0;
-			hash.clear(); // do not use that expandedNodes==hash.size() because of the DummySet
+			if (table!=null) table.nextGeneration(); // do not use that expandedNodes==table.size() because of replaced entries
   	depthLimitedSearch(initial,limit);  	
+  	notifyIterationComplete(limit,limit);
   	//System.out.format("limit=%d, nodes=%d\n",limit,expandedNodes);
   	//break if the number of expanded nodes does not increase any more
   	if (last==expandedNodes) break;
@@ -252,5 +288,23 @@ public class IterativeDeepeningSearch<T> extends Search<T> {
 	public void setMaximumDepth(int maximumDepth) {
 		if (! initialized()) this.maximumDepth = maximumDepth;
 	}
+ /**
+  * Returns the memory of the transposition table in megabytes.
+  * 
+  * @return the size of the transposition table
+  */
+	public int getTableSize() {
+		return tableSize;
+	}
+ /**
+  * Changes the memory of the transposition table to the given number of megabytes,
+  * if this search has not been initialized yet.
+  * 
+  * @param tableSize the new size of the transposition table in megabytes
+  */
+	public void setTableSize(int tableSize) {
+		if (tableSize<1) throw new IllegalArgumentException("tableSize must be greater than zero!");
+		if (! initialized()) this.tableSize = tableSize;
+	}
 	
 }
@@ -0,0 +1,231 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package basic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import core.ReversibleProblem;
+import core.Search;
+
+/**
+ * The reversible iterative deepening A* algorithm is a heuristic search
+ * able to solve any problem implementing the core.ReversibleProblem interface.
+ * ReversibleIterativeDeepeningAStar is a subclass of core.Search because it uses
+ * recursion rather then the general search algorithm employed in core.DirectedSearch.<br>
+ * <br>
+ * This search explores the search domain exactly like the basic.IterativeDeepeningAStar,
+ * but it only works on one state, which is changed in place by applying and undoing moves.
+ * The moves of each depth are enumerated into a buffer, which is reused by all iterations,
+ * and the heuristic value is updated with the difference returned by core.ReversibleProblem#apply(java.lang.Object,int).
+ * So after the first iteration the search does not create any objects at all.<br>
+ * <br>
+ * The search never applies the inverse of the previous move, 
+ * but it does not handle any other duplicates.
+ * (Like the basic.IterativeDeepeningAStar without implicit duplicate handling.)<br>
+ * This search is able to generate optimal solutions whenever the heuristic is optimistic.<br>
+ * <br>
+ * The result of the search is the changed state itself, 
+ * the moves leading from the initial state to the result are returned by getPath().<br>
+ * <u>Example:</u><br> 
+ * <code>
+ * ReversibleProblem&lt;GameGrid,Point&gt; problem = new ReversibleGridProblem(initial,goal);<br>
+ * ReversibleIterativeDeepeningAStar&lt;GameGrid,Point&gt; search = new ReversibleIterativeDeepeningAStar&lt;GameGrid,Point&gt;(problem);<br>
+ * search.run();<br>
+ * List&lt;Point&gt; path = search.getPath();
+ * </code>
+ * 
+ * @see basic.IterativeDeepeningAStar
+ * @see core.ReversibleProblem
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements in the search domain.
+ * @param <M> the type of the moves reported as solution path
+ */
+public class ReversibleIterativeDeepeningAStar<T,M> extends Search<T> {
+ /**
+  * holds a reference to the problem to be solved
+  */
+	protected ReversibleProblem<T,M> problem;
+	/**
+	 * holds the state changed during the search
+	 */
+	private T state;
+	/**
+	 * holds the buffer of moves for each depth (shared by all iterations)
+	 */
+	private int[][] buffers=new int[0][];
+	/**
+	 * holds the moves applied to the initial state
+	 */
+	private int[] path=new int[0];
+	/**
+	 * holds the number of moves needed to reach the result
+	 */
+	private int length=0;
+	
+	/**
+	 * Create a new ReversibleIterativeDeepeningAStar with the given problem.
+	 * 
+  * @param problem the core.ReversibleProblem to be solved 
+	 */
+	public ReversibleIterativeDeepeningAStar(ReversibleProblem<T,M> problem) {
+		if (problem!=null) this.problem=problem; 
+	 else throw new IllegalArgumentException("problem should never be null!");
+	}
+	/**
+	 * This method checks if the given problem returns a valid initial state.
+	 * 
+	 * @see core.Search#canPrepare()
+	 */
+	@Override
+	protected boolean canPrepare() {
+		state=problem.initial();
+		return state!=null;
+	}
+ /**
+  * This method resets the solution path.
+  * 
+  * @see core.Search#prepare()
+  */
+	@Override
+	protected void prepare() {
+		length=0;
+	}
+ /**
+  * This method looks for a goal by iteratively calling a recursive f-limited search
+  * with increasing f-limits. 
+  * It terminates when a goal has been found or the search domain has been fully explored.
+  * 
+  * @see core.Search#search()
+  */
+	@Override
+	protected final void search() {
+		int h=problem.h(state);
+		countEvaluations(1);
+		int flimit=h;
+		int iteration=0;
+		while ( result==null && running() && flimit!=Integer.MAX_VALUE ){
+			int limit=flimit;
+  	flimit=costLimitedSearch(0,h,flimit,-1);
+  	notifyIterationComplete(++iteration,limit);
+  }
+	}
+ /**
+  * This method implements the recursive f-limited search.
+  * It applies each move to the state, calls itself and undoes the move afterwards,
+  * until the limit for the evaluation function <code>f</code> has been reached.
+  * 
+  * @param g the number of moves applied to the initial state
+  * @param h the heuristic value of the state
+  * @param flimit to which the search domain will be explored
+  * @param back the move leading back to the previous state (or -1)
+  * @return the new f-limit used for the next iteration
+  */
+	private final int costLimitedSearch(int g,int h,int flimit,int back){
+	 //search has been terminated
+		if (! running()) return flimit;
+	 //state is above the f-limit
+	 if (g+h > flimit)	return g+h;
+		//state is a goal value
+	 if (h==0 && problem.isGoal(state)){
+	 	result=state;
+	 	length=g;
+	 	return flimit;
+	 }
+	 //expand the state
+ 	int newlimit=Integer.MAX_VALUE;
+ 	neededSteps++;
+ 	countExpansion();
+ 	int[] moves=buffer(g);
+ 	int n=problem.moves(state,moves);
+ 	countGenerated(n);
+ 	countEvaluations(n);
+ 	for (int i=0;i<n;i++){
+ 		int move=moves[i];
+ 		if (move==back) continue;
+ 		path[g]=move;
+ 		int delta=problem.apply(state,move);
+ 		int limit=costLimitedSearch(g+1,h+delta,flimit,problem.inverse(move));
+ 		//keep the goal state
+ 		if (result!=null) return limit;
+ 		problem.undo(state,move);
+ 		newlimit=Math.min(newlimit,limit);
+ 	}
+ 	return newlimit;	 
+	}
+	/**
+	 * Returns the buffer of moves for the given depth
+	 * and grows the buffers if the depth is reached for the first time.
+	 */
+	private int[] buffer(int depth){
+		if (depth>=buffers.length){
+			int size=Math.max(16,2*buffers.length);
+			int[][] grown=new int[size][];
+			System.arraycopy(buffers,0,grown,0,buffers.length);
+			for (int i=buffers.length;i<size;i++) grown[i]=new int[problem.maxMoves()];
+			buffers=grown;
+			int[] moves=new int[size];
+			System.arraycopy(path,0,moves,0,path.length);
+			path=moves;
+		}
+		return buffers[depth];
+	}
+
+	/**
+	 * This method returns the problem, with which this search has been created.
+	 * 
+	 * @return the problem to be solved
+	 */
+	public final ReversibleProblem<T,M> getProblem() {
+		return problem;
+	}
+	/**
+	 * This method returns the moves leading from the initial state to the result,
+	 * or an empty list if the search was not yet successful.
+	 * The moves are described by core.ReversibleProblem#decode(java.lang.Object,int)
+	 * while they are applied to a new initial state.
+	 * 
+	 * @return the list of moves
+	 */
+	public List<M> getPath() {
+		List<M> result=new ArrayList<M>(length);
+		if (length==0) return result;
+		T current=problem.initial();
+		for (int i=0;i<length;i++){
+			result.add(problem.decode(current,path[i]));
+			problem.apply(current,path[i]);
+		}
+		return result;
+	}
+	
+}
@@ -109,5 +109,12 @@ public class SlowDepthFirstSearch<T> extends DirectedSearch<T> {
 	protected T pop() {
 		return queue.pop();
 	}
+ /**
+  * @see core.Search#frontierSize()
+  */
+	@Override
+	protected int frontierSize() {
+		return queue.size();
+	}
 
 }
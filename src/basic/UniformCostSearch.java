@@ -58,7 +58,7 @@ import core.HeuristicProblem;
  * Because the queue will not update its elements the state with the lowest path costs will
  * be placed before its duplicates.<br>
  * <u>Pros:</u> The major benefit of this solution is its simplicity and the fact that it uses the
- * fast java.util.PriorityQueue instead of the slow util.SortedQueue.
+ * fast util.KeyedHeap instead of the util.IndexedHeap, which must maintain an index of its elements.
  * An other benefit is that you do not need to take care of duplicate states by your self.<br>
  * <u>Cons:</u> If there exists no shortest path in the search domain, this solution
  * produces lots of unnecessary expansions of already expanded notes.<br>
@@ -75,15 +75,15 @@ import core.HeuristicProblem;
  * The idea is that you keep track of all the visited states in a map,
  * where you can simply update each visited state whenever you found a better path.
  * You only have to make sure that the HeuristicProblem#expand(java.lang.Object) will only
- * return a list of states not visited before.<br>
- * The util.SortedQueue implementation ensures, that the queue is updated whenever a state in it has changed.
- * <i>(Please note that the sorted queue works slightly different, as described here!)</i><br>    
+ * return a list of states not visited before or visited states which have been updated.<br>
+ * The util.IndexedHeap implementation ensures, that an updated state which is added again
+ * is only moved to its new position in the queue, instead of being enqueued twice.<br>    
  * <u>Pros: </u> This solution saves lots of memory by prohibiting expansion of already visited states.
  * Further more it is a general solution applicable for all problems with alternative paths in the search space.
  * <br> 
  * <u>Cons: </u> This solution is more time consuming because it must frequently update the queue
  * and the states itself.
- * In fact the util.SortedQueue is damn slow compared to the java.util.PriorityQueue.<br>
+ * Each update of the queue needs <code>O(log n)</code> time.<br>
  * <u>Example:</u><br>
  * <pre><code> 
  * class MyCustomProblem&lt;T&gt; extends MyHeuristicProblem&lt;T&gt;{
@@ -96,18 +96,20 @@ import core.HeuristicProblem;
  * 			if (oldState == null){
  * 				result.add(newState);
  * 				visited.put(newState.hashCode(), newState);
- * 			}else{
- * 				update(oldState, newState);
+ * 			}else if (update(oldState, newState)){
+ * 				result.add(oldState);
  * 			}
  * 		}
  * 		return result;
  * 	}
  *  
- * 	public update(T oldState,T newState){
+ * 	public boolean update(T oldState,T newState){
  * 		if ( g(oldState) > g(newState) ){
  * 			// update the state of the oldState Object
  * 			// ...
+ * 			return true;
  * 		}
+ * 		return false;
  * 	}
  *   
  * } 
@@ -115,7 +117,7 @@ import core.HeuristicProblem;
  * // ...
  * 
  * HeuristicProblem problem = new MyCustomProblem();
- * Search search = new UniformCostSearch(problem, false, false);
+ * Search search = new UniformCostSearch(problem, true, true);
  * </code></pre>
  * </li>
  * </ul>  
@@ -183,7 +185,19 @@ public class UniformCostSearch<T> extends BestFirstSearch<T> {
 	 * 
 	 * @see core.BestFirstSearch#f(java.lang.Object)
 	 */	
+	@Override
 	public Double f(T state) {	
+		return evaluate(state);	
+	}
+	
+	/**
+	 * This method is the primitive version of <code>f(state)</code>
+	 * and returns <code>g(state)</code> without boxing.
+	 * 
+	 * @see core.BestFirstSearch#evaluate(java.lang.Object)
+	 */
+	@Override
+	public double evaluate(T state) {	
 		return heuristicProblem.g(state);	
 	}
 	
@@ -30,12 +30,12 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package core;
 
-import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.function.ToDoubleFunction;
 
-import util.SortedQueue;
-
-import java.util.Comparator;
+import util.BucketQueue;
+import util.IndexedHeap;
+import util.KeyedHeap;
 
 /**
  * This subclass of DirectedSearch is the abstraction of all best first search algorithms
@@ -54,10 +54,16 @@ import java.util.Comparator;
  * So what is the different between these two modes and when should which be used?<br>
  * The first mode is only applicable if there are no two paths from the initial state to a state <code>b</code>,
  * so that <code>f(b)</code> would evaluate to two different values. For examples look into the documentations of the subclasses.
- * This simple constraint allows the search to use a java.util.PriorityQueue which grants high performance.<br>
+ * This simple constraint allows the search to use an util.KeyedHeap which grants high performance.
+ * If the problem additionally implements the core.IntegralHeuristicProblem interface,
+ * an util.BucketQueue is used instead, which needs only constant time to insert and remove a state
+ * and prefers the most recently generated states among all states with the same evaluation.
+ * If a subclass evaluates a state to a value, which is not a whole number (e.g. by weighting the heuristic),
+ * the search moves all enqueued states into an util.KeyedHeap and continues with it.<br>
  * The second mode is applicable in all cases (also in cases where the evaluation of a state my change over time).  
- * But this generality costs a lot of performance during the search,
- * because we have to use the util.SortedQueue instead. 
+ * In this mode the search uses an util.IndexedHeap, which must be notified whenever the evaluation of an enqueued state changes.
+ * This is done by adding the changed state again (see <code>add(state)</code>) or by calling <code>update(state)</code>.
+ * Either way only the changed state is moved inside the queue, which costs <code>O(log n)</code> time. 
  * <hr>
  * If you want to implement your own best first search algorithm
  * you only have to inherit from this class and implement the evaluation function <code>f</code>
@@ -67,6 +73,10 @@ import java.util.Comparator;
  * <li>if state <code>a</code> is better then state <code>b</code>,
  * <code>f(a)</code> must be smaller then <code>f(b)</code>.</li>
  * </ul>
+ * The queue evaluates each state only once when it is inserted (or updated) and stores the primitive result next to the state,
+ * so comparisons inside the queue never call the evaluation function.
+ * For this purpose the queue calls <code>evaluate(state)</code>, which by default unboxes the result of <code>f(state)</code>.
+ * To avoid boxing subclasses should override <code>evaluate</code> with a primitive implementation and let <code>f</code> delegate to it.<br>
  * All subclasses should provide at least one constructor,
  * where the user can decide whether to disable automatic duplicate handling
  * and whether to update the states in the queue.<br>
@@ -81,10 +91,11 @@ import java.util.Comparator;
  */
 public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
  
-	private class BFSComparator implements Comparator<T>{
+	private class BFSEvaluator implements ToDoubleFunction<T>{
 		@Override
-		public final int compare(T a, T b) {
-   return f(a).compareTo(f(b));
+		public final double applyAsDouble(T state) {
+   countEvaluations(1);
+   return evaluate(state);
 		} 	
  }
 	
@@ -96,6 +107,10 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
   * holds the instance of the queue used during the search. 
   */
 	protected Queue<T> queue=null;
+	/**
+	 * holds the highest evaluation of all popped states
+	 */
+	private double bestF=Double.NEGATIVE_INFINITY;
  /**
   * This method creates a new BestFirstSearch.
   * All search parameters will be set to the default values.
@@ -118,7 +133,7 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
 	public BestFirstSearch(HeuristicProblem<T> problem,boolean update) {
 		super(problem,false);
 		heuristicProblem=problem;
-		queue=(update ? new SortedQueue<T>(new BFSComparator()) : new PriorityQueue<T>(1024,new BFSComparator()));
+		queue=createQueue(update);
 	}
 	/**
 	 * This method creates a new BestFirstSearch.
@@ -148,9 +163,18 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
 	public BestFirstSearch(HeuristicProblem<T> problem, boolean noHash, boolean update) {
 		super(problem,noHash);
 		heuristicProblem=problem;
-		queue=(update ? new SortedQueue<T>(new BFSComparator()) : new PriorityQueue<T>(1024,new BFSComparator()));
+		queue=createQueue(update);
 	}	
 	
+	/**
+	 * This method creates the queue according to the update flag and the problem.
+	 */
+	private Queue<T> createQueue(boolean update){
+		if (update) return new IndexedHeap<T>(new BFSEvaluator());
+		if (heuristicProblem instanceof IntegralHeuristicProblem<?>) return new BucketQueue<T>(new BFSEvaluator());
+		return new KeyedHeap<T>(new BFSEvaluator());
+	}
+	
 	/**
 	 * @see core.DirectedSearch#getProblem()
 	 */
@@ -160,12 +184,45 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
 	}
 
 	/**
-	 * This method adds a new state to the queue.
+	 * This method adds a new state to the queue.<br>
+	 * If the queue updates its elements and the state is already enqueued,
+	 * the state is moved to the position according to its current evaluation.
 	 * 
 	 * @see core.DirectedSearch#add(java.lang.Object)
 	 */
 	@Override
-	protected boolean add(T state) {	return queue.add(state);	}
+	protected boolean add(T state) {	
+		try{
+			return queue.add(state);
+		}catch(IllegalArgumentException e){
+			if (!(queue instanceof BucketQueue<?>)) throw e;
+			fallback();
+			return queue.add(state);
+		}
+	}
+	
+	/**
+	 * This method replaces the bucket queue by a comparison based queue
+	 * after a state has been evaluated to a value, which is not a whole number.
+	 */
+	private void fallback(){
+		KeyedHeap<T> heap=new KeyedHeap<T>(Math.max(1024,2*queue.size()),new BFSEvaluator());
+		heap.addAll(queue);
+		queue=heap;
+	}
+
+	/**
+	 * This method tells the queue that the evaluation of an enqueued state has changed.<br>
+	 * <b>Note:</b> This method has only an effect if the queue updates its elements. 
+	 * 
+	 * @param state which has been changed
+	 * @return true only if the state has been enqueued and is now at its correct position 
+	 */
+	@SuppressWarnings("unchecked")
+	protected boolean update(T state) {
+		if (queue instanceof IndexedHeap<?>) return ((IndexedHeap<T>) queue).reprioritize(state);
+		return false;
+	}
 
 	/**
 	 * This method removes all elements from the queue.
@@ -173,7 +230,10 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
 	 * @see core.DirectedSearch#clear()
 	 */
 	@Override
-	protected void clear() { queue.clear(); }
+	protected void clear() { 
+		queue.clear(); 
+		bestF=Double.NEGATIVE_INFINITY;
+	}
 
 	/**
 	 * This method tells whether the queue is empty or not.
@@ -190,7 +250,36 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
 	 * @see core.DirectedSearch#pop()
 	 */
 	@Override
-	protected T pop() {	return queue.remove(); }
+	protected T pop() {	
+		if (hasListeners()){
+			double f=headKey();
+			if (f>bestF){
+				bestF=f;
+				notifyNewBestF(f);
+			}
+		}
+		return queue.remove(); 
+	}
+	
+	/**
+	 * Returns the evaluation of the head of the queue.
+	 */
+	@SuppressWarnings("unchecked")
+	private double headKey(){
+		if (queue instanceof KeyedHeap<?>) return ((KeyedHeap<T>) queue).peekKey();
+		if (queue instanceof BucketQueue<?>) return ((BucketQueue<T>) queue).peekKey();
+		return evaluate(queue.peek());
+	}
+	
+	/**
+	 * This method returns the number of states in the queue.
+	 * 
+	 * @see core.Search#frontierSize()
+	 */
+	@Override
+	protected int frontierSize() {
+		return queue.size();
+	}
  /**
   * This method is the hook for evaluating states during insertion into the queue.<br>
   * This method should return a value indicating how good a state is.<br>
@@ -201,5 +290,20 @@ public abstract class BestFirstSearch<T> extends DirectedSearch<T> {
   * @return the function value
   */
 	public abstract Double f(T state);	
+	
+ /**
+  * This method is the primitive version of <code>f(state)</code>, 
+  * which is called by the queue whenever a state is inserted or updated.<br>
+  * By default it returns the unboxed result of <code>f(state)</code>.
+  * Subclasses can override this method to avoid boxing, 
+  * but then both methods must return the same value for all states.
+  *    
+  * @param state to be evaluated
+  * @return the function value
+  * @see core.BestFirstSearch#f(java.lang.Object)
+  */
+	public double evaluate(T state) {
+		return f(state);
+	}
 		
 }
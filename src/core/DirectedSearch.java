@@ -31,8 +31,10 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package core;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import util.CodecSet;
 import util.DummySet;
 
 /**
@@ -53,6 +55,9 @@ import util.DummySet;
  * for all e,t <code>(e.hashCode()==t.hashCode()) and (e.equals(t))</code> implies <code>e==t</code>
  * </li>
  * </ul>  
+ * If the problem additionally implements the core.StateCodec interface, 
+ * an util.CodecSet is used instead, which only stores the primitive encodings of the expanded states
+ * and therefore needs much less memory.<br>
  * In some cases it is important to turn of the implicit hashing. 
  * This can be done by simply creating a new instance of a directed search
  * with the given argument noHash set to true.<br>
@@ -117,9 +122,14 @@ public abstract class DirectedSearch<T> extends Search<T> {
 	 */
 	protected Problem<T> problem=null;
 	/**
-	 * holds the set used for duplicate handling
+	 * holds the set used for duplicate handling,
+	 * or null if the expanded states are stored in codes
 	 */
 	protected Set<T> hash=null;
+	/**
+	 * holds the encodings of the expanded states, if the problem is a core.StateCodec
+	 */
+	protected CodecSet<T> codes=null;
 	/**
 	 * Creates a new directed search with the given problem.
 	 * 
@@ -137,11 +147,14 @@ public abstract class DirectedSearch<T> extends Search<T> {
 	 * @param noHash flag indicating that duplicates should not be handled
 	 * @throws IllegalArgumentException if the given problem is null
 	 */
+	@SuppressWarnings("unchecked")
 	public DirectedSearch(Problem<T> problem,boolean noHash) throws IllegalArgumentException {
 		super();
   if (problem!=null) this.problem=problem;
   else throw new IllegalArgumentException("problem should never be null!");
-  hash=(noHash ? new DummySet<T>() : new HashSet<T>());
+  if (noHash) hash=new DummySet<T>();
+  else if (problem instanceof StateCodec<?>) codes=new CodecSet<T>((StateCodec<T>) problem);
+  else hash=new HashSet<T>();
 	}
 	
 	/**
@@ -180,9 +193,11 @@ public abstract class DirectedSearch<T> extends Search<T> {
 	@Override
 	protected final void finalize() throws Throwable {
 		clear();
-		hash.clear();
+		if (hash!=null) hash.clear();
+		if (codes!=null) codes.clear();
 		problem=null;
 		hash=null;
+		codes=null;
 		super.finalize();
 	}
 
@@ -195,7 +210,8 @@ public abstract class DirectedSearch<T> extends Search<T> {
 	@Override
 	protected final void prepare() {
 		clear();
-		hash.clear();
+		if (hash!=null) hash.clear();
+		if (codes!=null) codes.clear();
 	}
 
 	/**
@@ -221,13 +237,36 @@ public abstract class DirectedSearch<T> extends Search<T> {
 	  	 System.out.print(".");
 	 		if (neededSteps%100000 == 0 ) 
 	  	 System.out.format("\nbranched:%d  hashed:%d\n",neededSteps,hash.size());*/
-	 		if (hash.add(current)){
-	 		 for (T node: problem.expand(current) )
+	 		if (close(current)){
+	 			countExpansion();
+	 			List<T> nodes=problem.expand(current);
+	 			countGenerated(nodes.size());
+	 		 for (T node: nodes )
 	 				add(node);
+	 		}else{
+	 			countDuplicates(1);
 	 		}
 	 	}
 	 }		
 	}
+	/**
+	 * This method returns the number of states in the set used for duplicate handling.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return (codes==null)?hash.size():codes.size();
+	}
+	/**
+	 * This method adds the given state to the set used for duplicate handling.
+	 * 
+	 * @param state to be marked as expanded
+	 * @return true only if the state has not been expanded before
+	 */
+	protected final boolean close(T state){
+		return (codes==null)?hash.add(state):codes.add(state);
+	}
 	/**
 	 * This method is the hook for adding new states to the queue during the search.<br>
 	 * After calling this method the state should be added to the queue.<br>
@@ -0,0 +1,60 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This is a marker interface for heuristic problems with integral path costs and heuristic values.
+ * <br><br>
+ * A problem should only implement this interface if the following constraints hold for all states s in the search domain:
+ * <ul>
+ * <li><code>g(s)</code> is a whole number (or infinite).</li>
+ * <li><code>h(s)</code> is a whole number (or infinite).</li>
+ * <li>The possible values of <code>g(s)+h(s)</code> lie in a small range (like the length of the longest solution).</li>
+ * </ul>
+ * Because the evaluation function of all best first searches in the package basic
+ * can only have few distinct values for such problems, 
+ * they use an util.BucketQueue instead of a comparison based queue
+ * (unless the search updates the states in its queue).
+ * This queue inserts and removes states in constant time
+ * and prefers the most recently generated states among all states with the same evaluation.
+ * If a search nevertheless evaluates a state to a value, which is not a whole number,
+ * it falls back to a comparison based queue.
+ * 
+ * @see core.BestFirstSearch
+ * @see util.BucketQueue
+ * 
+ * @author eden06
+ *
+ * @param <T> the type of the states used throughout the search
+ */
+public interface IntegralHeuristicProblem<T> extends HeuristicProblem<T> {
+
+}
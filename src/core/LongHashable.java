@@ -0,0 +1,63 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This is an optional interface for states, which provide a 64 bit hash value
+ * in addition to their hashCode().
+ * <br><br>
+ * Such a hash value is typically computed by Zobrist hashing (see util.Zobrist),
+ * where the hash of a state is the exclusive or of a random key for each part of the state.
+ * So the hash of a successor can be derived from the hash of its parent in constant time,
+ * by toggling the keys of the parts which have been changed.<br>
+ * <br>
+ * If the states implement this interface, util.TranspositionTable 
+ * and extended.BidirectionalSearch use the 64 bit hash instead of hashCode(),
+ * which leads to much less collisions in large search spaces.
+ * The hash must obey the following rules for all states a and b in the search domain:
+ * <ul>
+ * <li><code>a.equals(b)</code> implies <code>a.hash64()==b.hash64()</code>.</li>
+ * <li>The bits of the hash should be uniformly distributed.</li>
+ * </ul>
+ * 
+ * @see util.Zobrist
+ * 
+ * @author eden06
+ *
+ */
+public interface LongHashable {
+	/**
+	 * This method returns the 64 bit hash value of this state.
+	 * 
+	 * @return the hash value of this state
+	 */
+	public long hash64();
+}
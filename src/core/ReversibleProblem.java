@@ -0,0 +1,141 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This is the base of all problems which can be solved by changing one state in place.
+ * <br><br>
+ * In contrast to a HeuristicProblem, which creates a new state for each successor,
+ * a ReversibleProblem applies a move to the given state and is able to undo it afterwards.
+ * Each move is encoded as a non-negative <code>int</code> value, so a search can enumerate the moves
+ * into a reusable buffer and walk through the whole search tree without creating any objects.
+ * <br>
+ * If you implement this interface, your problem can be solved by the following search algorithms:
+ * <ul>
+ * <li>basic.ReversibleIterativeDeepeningAStar</li>
+ * </ul>
+ * The moves and the heuristic must obey the following rules for all states s in the search domain:
+ * <ul>
+ * <li>Each move costs exactly one, so <code>g(s)</code> is the number of moves applied to the initial state.</li>
+ * <li>
+ * <code>undo(s,m)</code> restores the state <code>s</code> exactly as it has been before <code>apply(s,m)</code>.
+ * </li>
+ * <li>
+ * <code>apply(s,m)</code> returns <code>h(s')-h(s)</code> where <code>s'</code> is the state after the move.
+ * Usually this difference can be computed from the changed parts of the state only.
+ * </li>
+ * <li>
+ * <code>h(s) &gt;= 0</code> and <code>h(s) &lt;= g(t)</code> where <code>t</code> is the nearest goal to state <code>s</code>.<br>
+ * As a consequence <code>h(t)==0</code> for each goal <code>t</code>,
+ * so a search only needs to call isGoal(s) for states with <code>h(s)==0</code>.
+ * </li>
+ * </ul>
+ * <i>Example:</i> In a sliding tile puzzle a move is the direction the empty cell is moved to
+ * and the inverse of a move is the opposite direction.
+ * 
+ * @see core.HeuristicProblem
+ * @see basic.ReversibleIterativeDeepeningAStar
+ * 
+ * @author eden06
+ *
+ * @param <T> the type of the states changed throughout the search
+ * @param <M> the type of the moves reported as solution path
+ */
+public interface ReversibleProblem<T,M> {
+	/**
+	 * This method returns a new copy of the initial state,
+	 * which may be changed by the search.
+	 * 
+	 * @return a new initial state
+	 */
+	public T initial();
+	/**
+	 * This method checks whether the given state is a goal.
+	 * 
+	 * @param state to be checked
+	 * @return true only if the given state is a goal
+	 */
+	public boolean isGoal(T state);
+	/**
+	 * This method computes the integral proximity of the given state to a goal.
+	 * 
+	 * @param state which should be used to reach a goal
+	 * @return an optimistic approximation of the number of moves needed to reach a goal
+	 */
+	public int h(T state);
+	/**
+	 * This method returns the maximal number of moves applicable to any state.
+	 * 
+	 * @return the size of the buffer needed by moves(java.lang.Object,int[])
+	 */
+	public int maxMoves();
+	/**
+	 * This method writes all moves applicable to the given state into the given buffer.
+	 * 
+	 * @param state to be inspected
+	 * @param buffer of at least maxMoves() elements
+	 * @return the number of moves written into the buffer
+	 */
+	public int moves(T state,int[] buffer);
+	/**
+	 * This method applies the given move to the given state
+	 * and returns the change of the heuristic value.
+	 * 
+	 * @param state to be changed
+	 * @param move one of the moves applicable to the state
+	 * @return the difference <code>h(after)-h(before)</code>
+	 */
+	public int apply(T state,int move);
+	/**
+	 * This method undoes the given move, which must be the last move applied to the given state.
+	 * 
+	 * @param state to be changed
+	 * @param move to be undone
+	 */
+	public void undo(T state,int move);
+	/**
+	 * This method returns the move, which immediately reverts the given move,
+	 * or -1 if there is no such move.
+	 * The search uses this method to avoid walking back to the previous state.
+	 * 
+	 * @param move to be inverted
+	 * @return the inverse move or -1
+	 */
+	public int inverse(int move);
+	/**
+	 * This method describes the given move applicable to the given state.
+	 * 
+	 * @param state the move is applicable to
+	 * @param move to be described
+	 * @return the description of the move
+	 */
+	public M decode(T state,int move);
+}
@@ -30,6 +30,9 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package core;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This Class is the abstraction of every search algorithm in a generic domain.
  * It is typically used to pass searches around and manipulate
@@ -122,6 +125,14 @@ package core;
  * is called again.<br> 
  * <i>Example:</i> <code>if ( problem.isGoal(state) ){ result=state; return; }</code>
  * </li>
+ * <li>
+ * <b>Collecting statistics:</b>
+ * Each search holds a core.SearchStatistics instance and a list of core.SearchListener instances.
+ * Your search should report its progress by calling the <code>count...</code> methods 
+ * (like Search#countExpansion()) and the <code>notify...</code> methods.
+ * If your search has a frontier or a closed set, you should override Search#frontierSize() and Search#closedSize().<br>
+ * <i>Example:</i> <code>countExpansion();</code> 
+ * </li>
  * </ol>
  * The following simple example shows most of the basic implementation patterns:
  * <pre><code>
@@ -167,8 +178,9 @@ public abstract class Search<T> implements Runnable {
 	private enum ESearchState { Terminated, Initialized, Running	}
 	/**
   * holding the current state of the search
+  * (volatile, so that a call of stop() from another thread is seen by the running search)
   */
-	private ESearchState state=ESearchState.Terminated;
+	private volatile ESearchState state=ESearchState.Terminated;
  /**
   * holding the number of steps needed for the search
   */
@@ -177,6 +189,22 @@ public abstract class Search<T> implements Runnable {
   * holding the result of the search or null if nothing has been found yet
   */
 	protected T result=null;
+	/**
+	 * holding the statistics of the search
+	 */
+	private final SearchStatistics statistics=new SearchStatistics();
+	/**
+	 * holding the listeners of the search
+	 */
+	private final List<SearchListener<T>> listeners=new ArrayList<SearchListener<T>>(2);
+	/**
+	 * holding the number of expansions between two samples of the statistics
+	 */
+	private int interval=1024;
+	/**
+	 * holding the number of expansions until the statistics are sampled again
+	 */
+	private int countdown=1024;
 	
 	/**
 	 * Creates a new instance of an abstract search.
@@ -197,6 +225,8 @@ public abstract class Search<T> implements Runnable {
 		if ( canPrepare() ){
 			neededSteps=0;
 			result=null;
+			statistics.reset();
+			countdown=interval;
 			prepare();
 		 state=ESearchState.Initialized;
 		}
@@ -219,13 +249,25 @@ public abstract class Search<T> implements Runnable {
  public final void run(){
  	if (initialize()){
  		state=ESearchState.Running;
- 		search();
- 		state=ESearchState.Terminated;
+ 		statistics.start();
+ 		for (int i=0;i<listeners.size();i++) listeners.get(i).onStart(this);
+ 		try{
+ 			search();
+ 		}finally{
+ 			state=ESearchState.Terminated;
+ 			statistics.finish();
+ 			statistics.sample(frontierSize(),closedSize());
+ 		}
+ 		for (int i=0;i<listeners.size();i++) listeners.get(i).onFinish(this,statistics);
  	}
  }
  /**
   * This method stops a running search.
-  * In detail it sets an internal flag, which tells the search that it should terminate.
+  * In detail it sets an internal flag, which tells the search that it should terminate.<br>
+  * <b>Note:</b> This method can be called from any thread.
+  * The search will terminate the next time it checks the Search#running() method.
+  * 
+  * @see core.SearchExecutor
   */
  public final void stop(){
  	if (ESearchState.Running.equals(state))
@@ -261,6 +303,158 @@ public abstract class Search<T> implements Runnable {
  public final int neededSteps(){
  	return neededSteps;
  } 
+	/**
+	 * This method returns the statistics of the current or last search run.
+	 * 
+	 * @return the statistics of this search
+	 */
+	public final SearchStatistics getStatistics(){
+		return statistics;
+	}
+	/**
+	 * This method adds a listener, which will be notified about the progress of this search.<br>
+	 * <b>Note:</b> Listeners should only be added or removed while the search is not running.
+	 * 
+	 * @param listener to be added
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public final void addListener(SearchListener<T> listener){
+		if (listener==null) throw new IllegalArgumentException("listener should never be null!");
+		listeners.add(listener);
+	}
+	/**
+	 * This method removes the given listener from this search.
+	 * 
+	 * @param listener to be removed
+	 * @return true if the listener has been removed
+	 */
+	public final boolean removeListener(SearchListener<T> listener){
+		return listeners.remove(listener);
+	}
+	/**
+	 * This method sets the number of expansions between two samples of the statistics,
+	 * which is also the number of expansions between two calls of SearchListener#onExpand.
+	 * The default value is 1024.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized and 
+	 * the given interval is greater than zero.
+	 * 
+	 * @param expansions the number of expansions between two samples
+	 */
+	public final void setNotificationInterval(int expansions){
+		if (!initialized() && (expansions>0)) interval=expansions;
+	}
+	/**
+	 * This method returns the number of expansions between two samples of the statistics.
+	 * 
+	 * @return the number of expansions between two samples
+	 */
+	public final int getNotificationInterval(){
+		return interval;
+	}
+	/**
+	 * This method must be called by subclasses for each expanded state.
+	 * It counts the expansion and samples the statistics after each batch of expansions.
+	 */
+	protected final void countExpansion(){
+		statistics.expansions++;
+		if (--countdown==0) sample();
+	}
+	/**
+	 * This method must be called by subclasses, which expand states in several threads,
+	 * to add the given number of expansions.
+	 * 
+	 * @param expansions the number of new expansions
+	 */
+	protected final void countExpansions(long expansions){
+		statistics.expansions+=expansions;
+		countdown-=(int)Math.min(expansions,interval);
+		if (countdown<=0) sample();
+	}
+	/**
+	 * This method should be called by subclasses to count the generated successor states.
+	 * 
+	 * @param states the number of generated states
+	 */
+	protected final void countGenerated(long states){
+		statistics.generated+=states;
+	}
+	/**
+	 * This method should be called by subclasses to count the evaluations of the heuristic.
+	 * 
+	 * @param evaluations the number of evaluations
+	 */
+	protected final void countEvaluations(long evaluations){
+		statistics.evaluations+=evaluations;
+	}
+	/**
+	 * This method should be called by subclasses to count the states 
+	 * discarded by the duplicate handling.
+	 * 
+	 * @param duplicates the number of duplicates
+	 */
+	protected final void countDuplicates(long duplicates){
+		statistics.duplicates+=duplicates;
+	}
+	/**
+	 * Samples the statistics and notifies the listeners about the expansions.
+	 */
+	private void sample(){
+		countdown=interval;
+		statistics.sample(frontierSize(),closedSize());
+		for (int i=0;i<listeners.size();i++) listeners.get(i).onExpand(this,statistics);
+	}
+	/**
+	 * This method returns true if any listener has been added to this search.
+	 * It can be used to avoid the computation of values, which are only needed by the listeners.
+	 * 
+	 * @return true if this search has listeners
+	 */
+	protected final boolean hasListeners(){
+		return !listeners.isEmpty();
+	}
+	/**
+	 * This method notifies all listeners about a new highest evaluation of the expanded states.
+	 * 
+	 * @param f the new highest evaluation
+	 */
+	protected final void notifyNewBestF(double f){
+		for (int i=0;i<listeners.size();i++) listeners.get(i).onNewBestF(this,f);
+	}
+	/**
+	 * This method notifies all listeners about a completed iteration.
+	 * 
+	 * @param iteration the number of the completed iteration (starting from one)
+	 * @param limit the limit of the completed iteration
+	 */
+	protected final void notifyIterationComplete(int iteration, double limit){
+		for (int i=0;i<listeners.size();i++) listeners.get(i).onIterationComplete(this,iteration,limit);
+	}
+	/**
+	 * This method notifies all listeners about a changed temperature.
+	 * 
+	 * @param temperature the new temperature
+	 */
+	protected final void notifyTemperatureChange(double temperature){
+		for (int i=0;i<listeners.size();i++) listeners.get(i).onTemperatureChange(this,temperature);
+	}
+	/**
+	 * This method is the hook for sampling the size of the frontier (the queue) of the search.
+	 * By default it returns -1, which indicates that the search has no frontier.
+	 * 
+	 * @return the number of states in the frontier or -1
+	 */
+	protected int frontierSize(){
+		return -1;
+	}
+	/**
+	 * This method is the hook for sampling the size of the closed set of the search.
+	 * By default it returns -1, which indicates that the search has no closed set.
+	 * 
+	 * @return the number of states in the closed set or -1
+	 */
+	protected int closedSize(){
+		return -1;
+	}
 	/**
 	 * This method is the hook for any concrete implementation of
 	 * a search algorithm and will be called from inside the run method.<br>
@@ -0,0 +1,290 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import core.SearchOutcome.Status;
+
+/**
+ * This class executes searches asynchronously in a pool of threads.
+ * Each submitted search is bounded by an optional deadline and an optional budget of expansions.
+ * Whenever one of these limits is exceeded or the returned future is cancelled, 
+ * the search is stopped cooperatively by calling Search#stop().<br>
+ * <br>
+ * A typical use of this class looks like this:
+ * <pre><code>
+ * SearchExecutor executor = new SearchExecutor();
+ * CompletableFuture&lt;SearchOutcome&lt;Integer&gt;&gt; future = executor.submit(search, 2, TimeUnit.SECONDS, 1000000);
+ * SearchOutcome&lt;Integer&gt; outcome = future.join();
+ * if (outcome.isSolved()) System.out.println(outcome.getResult());
+ * executor.shutdown();
+ * </code></pre>
+ * By default the searches are executed in virtual threads if the Java runtime supports them,
+ * otherwise in a cached pool of daemon threads.<br>
+ * <b>Note:</b> The budget of expansions is checked only after each batch of expansions 
+ * (see Search#setNotificationInterval(int)), therefore it only works with searches 
+ * which count their expansions. 
+ * A search instance must not be submitted again before its previous execution has been terminated.
+ * 
+ * @see core.Search
+ * @see core.SearchOutcome
+ * 
+ * @author eden06
+ */
+public class SearchExecutor {
+	
+	private final ExecutorService pool;
+	private final ScheduledExecutorService timer;
+	
+	/**
+	 * Creates a new executor running the searches in virtual threads if available
+	 * or in a cached pool of daemon threads otherwise.
+	 */
+	public SearchExecutor() {
+		this(defaultPool());
+	}
+	
+	/**
+	 * Creates a new executor running the searches in the given pool.
+	 * 
+	 * @param pool used to execute the searches
+	 * @throws IllegalArgumentException if the pool is null
+	 */
+	public SearchExecutor(ExecutorService pool) {
+		if (pool==null) throw new IllegalArgumentException("pool should never be null!");
+		this.pool=pool;
+		this.timer=Executors.newSingleThreadScheduledExecutor(new DaemonFactory("search-deadline"));
+	}
+	
+	/**
+	 * This method submits the given search without any limits.
+	 * 
+	 * @param <T> the specific type of all elements of the search domain.
+	 * @param search to be executed
+	 * @return a future completed with the outcome of the search
+	 * @throws IllegalArgumentException if the search is null
+	 */
+	public <T> CompletableFuture<SearchOutcome<T>> submit(Search<T> search){
+		return submit(search,0,TimeUnit.NANOSECONDS,0);
+	}
+	
+	/**
+	 * This method submits the given search, which is stopped after the given timeout.
+	 * 
+	 * @param <T> the specific type of all elements of the search domain.
+	 * @param search to be executed
+	 * @param timeout after which the search is stopped or zero for no timeout 
+	 * @param unit of the timeout
+	 * @return a future completed with the outcome of the search
+	 * @throws IllegalArgumentException if the search or the unit is null
+	 */
+	public <T> CompletableFuture<SearchOutcome<T>> submit(Search<T> search, long timeout, TimeUnit unit){
+		return submit(search,timeout,unit,0);
+	}
+	
+	/**
+	 * This method submits the given search, which is stopped after the given timeout
+	 * or after it expanded the given number of states.
+	 * The timeout is measured from the submission, so it includes the time the search waits for a thread.<br>
+	 * Cancelling the returned future stops the search as well.
+	 * 
+	 * @param <T> the specific type of all elements of the search domain.
+	 * @param search to be executed
+	 * @param timeout after which the search is stopped or zero for no timeout 
+	 * @param unit of the timeout
+	 * @param maxExpansions the number of expansions after which the search is stopped or zero for no budget
+	 * @return a future completed with the outcome of the search
+	 * @throws IllegalArgumentException if the search or the unit is null
+	 */
+	public <T> CompletableFuture<SearchOutcome<T>> submit(Search<T> search, long timeout, TimeUnit unit, long maxExpansions){
+		if (search==null) throw new IllegalArgumentException("search should never be null!");
+		if (unit==null) throw new IllegalArgumentException("unit should never be null!");
+		final Execution<T> execution=new Execution<T>(search,(timeout>0)?unit.toNanos(timeout):0,maxExpansions);
+		try{
+			if (timeout>0)
+				execution.timeout=timer.schedule(new Runnable(){
+					@Override
+					public void run() {	execution.stop(Status.DeadlineExceeded);	}					
+				},timeout,unit);
+			pool.execute(execution);
+		}catch (RejectedExecutionException e){
+			execution.future.completeExceptionally(e);
+		}
+		return execution.future;
+	}
+	
+	/**
+	 * This method initiates an orderly shutdown, 
+	 * in which the already submitted searches are executed but no new searches are accepted.
+	 */
+	public void shutdown(){
+		pool.shutdown();
+		timer.shutdown();
+	}
+	
+	/**
+	 * This method returns true if this executor has been shut down.
+	 * 
+	 * @return true if this executor has been shut down
+	 */
+	public boolean isShutdown(){
+		return pool.isShutdown();
+	}
+	
+	/**
+	 * This method blocks until all searches have been terminated after a shutdown request,
+	 * or the timeout occurs, or the current thread is interrupted, whichever happens first.
+	 * 
+	 * @param timeout the maximum time to wait
+	 * @param unit of the timeout
+	 * @return true if this executor terminated and false if the timeout elapsed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException{
+		return pool.awaitTermination(timeout,unit);
+	}
+	
+	/**
+	 * Creates a pool of virtual threads if the runtime supports them
+	 * or a cached pool of daemon threads otherwise.
+	 * 
+	 * @return the default pool
+	 */
+	private static ExecutorService defaultPool(){
+		try{
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}catch (ReflectiveOperationException e){
+			return Executors.newCachedThreadPool(new DaemonFactory("search"));
+		}
+	}
+	
+	/**
+	 * This class represents a single submitted search.
+	 * It listens to the search to check the deadline and the budget,
+	 * and to stop searches, which were cancelled before they started.
+	 * 
+	 * @param <T> the specific type of all elements of the search domain.
+	 */
+	private static final class Execution<T> implements Runnable, SearchListener<T> {
+		private final Search<T> search;
+		private final long submitted=System.nanoTime();
+		private final long deadline;
+		private final long maxExpansions;
+		private final AtomicReference<Status> reason=new AtomicReference<Status>();
+		private final CompletableFuture<SearchOutcome<T>> future=new CompletableFuture<SearchOutcome<T>>();
+		private volatile ScheduledFuture<?> timeout=null;
+		
+		private Execution(Search<T> search, long nanos, long maxExpansions) {
+			this.search=search;
+			this.deadline=(nanos>0)?submitted+nanos:0;
+			this.maxExpansions=maxExpansions;
+			future.whenComplete((outcome,e) -> { if (future.isCancelled()) stop(Status.Cancelled); });
+		}
+		
+		/**
+		 * Stops the search for the given reason, unless it is already stopped.
+		 */
+		private void stop(Status status){
+			if (reason.compareAndSet(null,status)) search.stop();
+		}
+
+		@Override
+		public void run() {
+			Status status;
+			Throwable failure=null;
+			int interval=search.getNotificationInterval();
+			search.addListener(this);
+			try{
+				if (maxExpansions>0 && maxExpansions<interval)
+					search.setNotificationInterval((int)maxExpansions);
+				if (reason.get()!=null){
+					status=reason.get();
+				}else if (search.initialize()){
+					search.run();
+					status=reason.get();
+					if (status==null) status=(search.getResult()!=null)?Status.Solved:Status.NoSolution;
+				}else{
+					status=Status.NotInitialized;
+				}
+			}catch (RuntimeException | Error e){
+				status=Status.Failed;
+				failure=e;
+			}finally{
+				search.removeListener(this);
+				search.setNotificationInterval(interval);
+				ScheduledFuture<?> t=timeout;
+				if (t!=null) t.cancel(false);
+			}
+			future.complete(new SearchOutcome<T>(search,status,System.nanoTime()-submitted,failure));
+		}
+		
+		@Override
+		public void onStart(Search<T> search) {
+			// stop requests before the start of the search would be lost otherwise
+			if (reason.get()!=null) search.stop();
+		}
+		
+		@Override
+		public void onExpand(Search<T> search, SearchStatistics statistics) {
+			if (maxExpansions>0 && statistics.getExpansions()>=maxExpansions) stop(Status.BudgetExhausted);
+			else if (deadline!=0 && System.nanoTime()-deadline>=0) stop(Status.DeadlineExceeded);
+		}
+	}
+	
+	/**
+	 * This class creates named daemon threads.
+	 */
+	private static final class DaemonFactory implements ThreadFactory {
+		private final String name;
+		private int count=0;
+		
+		private DaemonFactory(String name) {
+			this.name=name;
+		}
+		
+		@Override
+		public synchronized Thread newThread(Runnable r) {
+			Thread thread=new Thread(r,name+"-"+(++count));
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+	
+}
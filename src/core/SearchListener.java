@@ -0,0 +1,98 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This is the interface for observers of a running search.
+ * A listener can be added to each core.Search by calling Search#addListener(SearchListener).<br>
+ * <br>
+ * All callbacks are invoked by the thread running the search, 
+ * so they should return quickly to avoid slowing down the search.
+ * To keep the overhead small, the callbacks are throttled:
+ * onExpand(Search, SearchStatistics) is only called once for a batch of expansions
+ * (see Search#setNotificationInterval(int)).
+ * All methods have an empty default implementation, 
+ * so a listener only needs to override the callbacks it is interested in.
+ * 
+ * @see core.Search
+ * @see core.SearchStatistics
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements of the search domain.
+ */
+public interface SearchListener<T> {
+	/**
+	 * This method is called when the search has been started.
+	 * 
+	 * @param search which has been started
+	 */
+	public default void onStart(Search<T> search){ }
+	/**
+	 * This method is called after each batch of expansions.
+	 * 
+	 * @param search which expanded the states
+	 * @param statistics the current statistics of the search
+	 */
+	public default void onExpand(Search<T> search, SearchStatistics statistics){ }
+	/**
+	 * This method is called by best first searches 
+	 * whenever the evaluation of the expanded states reaches a new maximum
+	 * (in an A* search this is the lower bound of the solution costs).
+	 * 
+	 * @param search which expanded the state
+	 * @param f the new highest evaluation of an expanded state
+	 */
+	public default void onNewBestF(Search<T> search, double f){ }
+	/**
+	 * This method is called by iterative searches (like basic.IterativeDeepeningSearch and basic.IterativeDeepeningAStar)
+	 * whenever an iteration has been completed.
+	 * 
+	 * @param search which completed the iteration
+	 * @param iteration the number of the completed iteration (starting from one)
+	 * @param limit the limit of the completed iteration (like the depth or f limit)
+	 */
+	public default void onIterationComplete(Search<T> search, int iteration, double limit){ }
+	/**
+	 * This method is called by extended.SimulatedAnnealing whenever the temperature has been lowered.
+	 * 
+	 * @param search which changed the temperature
+	 * @param temperature the new temperature
+	 */
+	public default void onTemperatureChange(Search<T> search, double temperature){ }
+	/**
+	 * This method is called when the search has been terminated.
+	 * 
+	 * @param search which has been terminated
+	 * @param statistics the final statistics of the search
+	 */
+	public default void onFinish(Search<T> search, SearchStatistics statistics){ }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This class holds the outcome of a search executed by a core.SearchExecutor.
+ * Beside the result of the search it tells why the search has been terminated.<br>
+ * <b>Note:</b> Searches which yield their best state so far (like extended.HillClimbing)
+ * may have a result even if they have been stopped.
+ * 
+ * @see core.SearchExecutor
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements of the search domain.
+ */
+public final class SearchOutcome<T> {
+	
+	/**
+	 * declaration of the reasons why a search has been terminated
+	 */
+	public enum Status {
+		/** the search has found a solution */
+		Solved,
+		/** the search has finished without finding a solution */
+		NoSolution,
+		/** the search could not be initialized */
+		NotInitialized,
+		/** the search has been stopped because its deadline has passed */
+		DeadlineExceeded,
+		/** the search has been stopped because it expanded too many states */
+		BudgetExhausted,
+		/** the search has been cancelled */
+		Cancelled,
+		/** the search has thrown an exception */
+		Failed
+	}
+	
+	private final Search<T> search;
+	private final Status status;
+	private final T result;
+	private final int neededSteps;
+	private final long elapsed;
+	private final Throwable failure;
+	
+	/**
+	 * Creates a new outcome for the given search.
+	 * 
+	 * @param search which has been executed
+	 * @param status the reason why the search has been terminated
+	 * @param elapsed the nano seconds from the submission to the termination of the search
+	 * @param failure the exception thrown by the search or null
+	 */
+	SearchOutcome(Search<T> search, Status status, long elapsed, Throwable failure) {
+		this.search=search;
+		this.status=status;
+		this.result=search.getResult();
+		this.neededSteps=search.neededSteps();
+		this.elapsed=elapsed;
+		this.failure=failure;
+	}
+	
+	/**
+	 * This method returns the search, which has been executed.
+	 * 
+	 * @return the executed search
+	 */
+	public Search<T> getSearch() {
+		return search;
+	}
+	
+	/**
+	 * This method returns the reason why the search has been terminated.
+	 * 
+	 * @return the status of the search
+	 */
+	public Status getStatus() {
+		return status;
+	}
+	
+	/**
+	 * This method returns true if the search has found a solution.
+	 * 
+	 * @return true if the status is Status.Solved
+	 */
+	public boolean isSolved() {
+		return status==Status.Solved;
+	}
+	
+	/**
+	 * This method returns the result of the search or null.
+	 * 
+	 * @return the result of the search
+	 */
+	public T getResult() {
+		return result;
+	}
+	
+	/**
+	 * This method returns the number of steps the search needed.
+	 * 
+	 * @return the number of steps
+	 * @see core.Search#neededSteps()
+	 */
+	public int getNeededSteps() {
+		return neededSteps;
+	}
+	
+	/**
+	 * This method returns the statistics of the search.
+	 * 
+	 * @return the statistics of the search
+	 * @see core.Search#getStatistics()
+	 */
+	public SearchStatistics getStatistics() {
+		return search.getStatistics();
+	}
+	
+	/**
+	 * This method returns the nano seconds from the submission to the termination of the search,
+	 * including the time the search waited for a thread. 
+	 * 
+	 * @return the elapsed time in nano seconds
+	 */
+	public long getElapsedNanos() {
+		return elapsed;
+	}
+	
+	/**
+	 * This method returns the exception thrown by the search.
+	 * 
+	 * @return the exception or null if the search has not failed
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	@Override
+	public String toString() {
+		return status+" after "+(elapsed/1000000)+"ms: "+result;
+	}
+	
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This class holds the statistics of a search, which are updated during its execution.
+ * Each core.Search has its own instance, which can be obtained by calling Search#getStatistics().<br>
+ * <br>
+ * The counters (expansions, generated states, evaluations of the heuristic and duplicates)
+ * are plain long values, which are only written by the thread executing the search.
+ * Because updating them needs neither allocation nor locking, 
+ * the statistics are collected on every search run.
+ * The sizes of the frontier and the closed set as well as the used memory are only sampled
+ * every few expansions (see Search#setNotificationInterval(int)).<br>
+ * <b>Note:</b> If the statistics are read from another thread than the one running the search,
+ * the values may be slightly outdated.
+ * 
+ * @see core.Search
+ * @see core.SearchListener
+ * 
+ * @author eden06
+ */
+public class SearchStatistics {
+	
+	long expansions=0;
+	long generated=0;
+	long evaluations=0;
+	long duplicates=0;
+	private volatile int frontier=-1;
+	private volatile int closed=-1;
+	private volatile long memory=-1;
+	private volatile long started=0;
+	private volatile long finished=0;
+	
+	/**
+	 * Creates new empty statistics.
+	 */
+	public SearchStatistics() {
+		
+	}
+	
+	/**
+	 * Resets all counters and samples.
+	 */
+	void reset(){
+		expansions=0;
+		generated=0;
+		evaluations=0;
+		duplicates=0;
+		frontier=-1;
+		closed=-1;
+		memory=-1;
+		started=0;
+		finished=0;
+	}
+	
+	void start(){
+		started=System.nanoTime();
+		finished=0;
+	}
+	
+	void finish(){
+		finished=System.nanoTime();
+	}
+	
+	/**
+	 * Samples the sizes of the frontier and the closed set and the memory currently used.
+	 */
+	void sample(int frontier,int closed){
+		Runtime runtime=Runtime.getRuntime();
+		this.frontier=frontier;
+		this.closed=closed;
+		this.memory=runtime.totalMemory()-runtime.freeMemory();
+	}
+	
+	/**
+	 * Returns the number of expanded states.
+	 * 
+	 * @return the number of expansions
+	 */
+	public long getExpansions() {
+		return expansions;
+	}
+	
+	/**
+	 * Returns the number of generated successor states.
+	 * 
+	 * @return the number of generated states
+	 */
+	public long getGenerated() {
+		return generated;
+	}
+	
+	/**
+	 * Returns the number of evaluations of the heuristic 
+	 * (or of the evaluation function of the search).
+	 * 
+	 * @return the number of evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
+	/**
+	 * Returns the number of states, which have been discarded because they have been expanded before.
+	 * 
+	 * @return the number of duplicates
+	 */
+	public long getDuplicates() {
+		return duplicates;
+	}
+	
+	/**
+	 * Returns the last sampled size of the frontier (the queue of the search)
+	 * or -1 if the search has no frontier or it has not been sampled yet.
+	 * 
+	 * @return the size of the frontier or -1
+	 */
+	public int getFrontierSize() {
+		return frontier;
+	}
+	
+	/**
+	 * Returns the last sampled size of the closed set (used for duplicate handling)
+	 * or -1 if the search has no closed set or it has not been sampled yet.
+	 * 
+	 * @return the size of the closed set or -1
+	 */
+	public int getClosedSize() {
+		return closed;
+	}
+	
+	/**
+	 * Returns the number of bytes used by the Java virtual machine, 
+	 * when the frontier and the closed set have been sampled,
+	 * or -1 if nothing has been sampled yet.
+	 * 
+	 * @return the used memory in bytes or -1
+	 */
+	public long getUsedMemory() {
+		return memory;
+	}
+	
+	/**
+	 * Returns the used memory per state in the frontier and the closed set.
+	 * This value includes the memory used by the rest of the application 
+	 * and is only meaningful for large searches.
+	 * 
+	 * @return the used memory in bytes per stored state or NaN if nothing has been sampled yet
+	 */
+	public double getMemoryPerNode() {
+		long nodes=Math.max(0,frontier)+Math.max(0,closed);
+		if (memory<0 || nodes==0) return Double.NaN;
+		return (double) memory/nodes;
+	}
+	
+	/**
+	 * Returns the time in nanoseconds elapsed since the search has been started
+	 * until it has been terminated (or until now if it is still running).
+	 * 
+	 * @return the elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		long start=started, end=finished;
+		if (start==0) return 0;
+		return (end==0 ? System.nanoTime() : end)-start;
+	}
+	
+	/**
+	 * Returns the average number of expansions per second.
+	 * 
+	 * @return the expansions per second
+	 */
+	public double getExpansionsPerSecond() {
+		long nanos=getElapsedNanos();
+		return (nanos==0 ? 0.0 : expansions*1e9/nanos);
+	}
+	
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("expansions=%d generated=%d evaluations=%d duplicates=%d frontier=%d closed=%d %.0f/s %.1fms",
+				expansions,generated,evaluations,duplicates,frontier,closed,getExpansionsPerSecond(),getElapsedNanos()/1e6);
+	}
+	
+}
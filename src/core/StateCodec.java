@@ -0,0 +1,77 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package core;
+
+/**
+ * This is an optional interface for problems, whose states can be encoded
+ * into a fixed number of primitive <code>long</code> values.
+ * <br><br>
+ * If a problem implements this interface, the directed searches 
+ * (like basic.BreadthFirstSearch, basic.AStarSearch or basic.UniformCostSearch)
+ * use an util.CodecSet instead of a java.util.HashSet for duplicate handling.
+ * This set only stores the encoded states in a primitive open addressing hash table,
+ * which needs only a small fraction of the memory of a java.util.HashSet
+ * and does not keep the expanded states reachable.<br>
+ * <br>
+ * The encoding must obey the following rules for all states a and b in the search domain:
+ * <ul>
+ * <li>Each state is encoded into exactly <code>words()</code> long values.</li>
+ * <li>
+ * <code>a.equals(b)</code> if and only if the encodings of <code>a</code> and <code>b</code> are equal.<br>
+ * So the encoding must be injective with respect to the equals() method of the states.
+ * </li>
+ * </ul>
+ * <i>Example:</i> A 4x4 sliding tile puzzle can be encoded into one long value
+ * by packing each of the 16 tiles into 4 bits. 
+ * 
+ * @see util.CodecSet
+ * @see core.DirectedSearch
+ * 
+ * @author eden06
+ *
+ * @param <T> the type of the states used throughout the search
+ */
+public interface StateCodec<T> {
+	/**
+	 * This method returns the number of long values needed to encode a state.
+	 * The result must be the same for all states of the problem.
+	 * 
+	 * @return the number of long values of each encoded state
+	 */
+	public int words();
+	/**
+	 * This method encodes the given state into the first <code>words()</code> elements of the target array.
+	 * 
+	 * @param state to be encoded
+	 * @param target the array where the encoded state is stored
+	 */
+	public void encode(T state, long[] target);
+}
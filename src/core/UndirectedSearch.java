@@ -32,6 +32,8 @@ package core;
 
 import java.util.Random;
 
+import util.SplitRandom;
+
 /**
  * This subclass of core.Search is the abstraction for every undirected search algorithm
  * such as extended.HillClimbing or extended.SimulatedAnnealing.
@@ -52,8 +54,12 @@ import java.util.Random;
  * <hr>
  * If you implement your own undirected search make it a subclass of this Class
  * in order to provide a transparent semantic for the search directions.<br>
- * <b>Note:</b> There is a static field holding an instance of the java.util.Random,
- * which should be used as random value generator.
+ * <b>Note:</b> Each search owns a random value generator (see getRandom()), 
+ * which should be used by the subclasses.
+ * The generator is split from a global generator, when the search is created, 
+ * so concurrent searches do not contend for one random value generator.
+ * In order to replay a search run, either seed the generator of the search with setSeed(long)
+ * or seed the global generator with setMasterSeed(long) before the searches are created.
  * 
  * @param <T>
  *  the specific type of the states in the search space.
@@ -65,10 +71,23 @@ import java.util.Random;
  */
 public abstract class UndirectedSearch<T> extends Search<T>{
 	/**
-	 * holds a global random value generator, which should be used by all subclasses
+	 * holds a global random value generator, which has been used by all subclasses
+	 * 
+	 * @deprecated this generator is shared by all threads, use getRandom() instead
 	 */
+	@Deprecated
 	public static final Random random=new Random(System.currentTimeMillis());
 	
+	/**
+	 * holds the global generator from which the generators of new searches are split
+	 */
+	private static SplitRandom master=new SplitRandom(System.currentTimeMillis());
+	
+	/**
+	 * holds the random value generator of this search
+	 */
+	private SplitRandom generator;
+	
 	/**
   * holds a switch determine whether the search looks for minimum values or not
   */
@@ -85,6 +104,62 @@ public abstract class UndirectedSearch<T> extends Search<T>{
 	public UndirectedSearch(boolean minimum) {
 		super();
 		this.minimum = minimum;
+		this.generator = split();
+	}
+	
+	/**
+	 * Creates a new undirected search in the desired direction,
+	 * whose random value generator is seeded with the given seed.<br>
+	 * If the argument is true the search looks for a minimum other wise it looks for a maximum.
+	 * 
+	 * @param minimum
+	 *  flag indicating whether the search looks for minimum values or not
+	 * @param seed
+	 *  the seed of the random value generator
+	 */
+	public UndirectedSearch(boolean minimum, long seed) {
+		super();
+		this.minimum = minimum;
+		this.generator = new SplitRandom(seed);
+	}
+	
+	/**
+	 * Seeds the global generator, from which the random value generators 
+	 * of all searches created afterwards are split.
+	 * 
+	 * @param seed
+	 *  the seed of the global generator
+	 */
+	public static synchronized void setMasterSeed(long seed){
+		master=new SplitRandom(seed);
+	}
+	
+	private static synchronized SplitRandom split(){
+		return master.split();
+	}
+	
+	/**
+	 * Returns the random value generator of this search.<br>
+	 * <b>Note:</b> The generator is not thread safe, 
+	 * so threads started by the search should use a generator split from this one.
+	 * 
+	 * @return 
+	 *  the random value generator of this search
+	 */
+	public final SplitRandom getRandom(){
+		return generator;
+	}
+	
+	/**
+	 * This method seeds the random value generator of this search,
+	 * so the following search run can be replayed by seeding it with the same value again.
+	 * <b>Note:</b> This operation has no effect while the search is running.
+	 * 
+	 * @param seed
+	 *  the seed of the random value generator
+	 */
+	public final void setSeed(long seed){
+		if (!running()) generator=new SplitRandom(seed);
 	}
 	
 	/**
@@ -32,6 +32,7 @@ package extended;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * 
@@ -65,14 +66,15 @@ public class BestChoiceStrategy<T> implements HillClimbingStrategy<T> {
 	 * This method selects the best state of all states in the extension list.<br>
 	 * It walks over the howl list from a random starting point and tries to find the 
 	 * best state according to the HillClimbing#compare method.
+	 * The list is only copied if it does not support random access.
 	 * 
 	 * @see extended.HillClimbingStrategy#select(extended.HillClimbing, java.util.List, java.lang.Object)
 	 */
 	@Override
 	public T select(HillClimbing<T> hc, List<T> list, T current) {
 		int size=list.size(),
-      base=HillClimbing.random.nextInt(size);
-		ArrayList<T> array=new ArrayList<T>(list);
+      base=hc.getRandom().nextInt(size);
+		List<T> array=(list instanceof RandomAccess ? list : new ArrayList<T>(list));
 		T best=array.get(base),  
 				next=null;
 		for (int i=1;i<size;i++){
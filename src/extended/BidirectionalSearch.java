@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
 
+import core.LongHashable;
 import core.Search;
 
 /**
@@ -75,6 +76,9 @@ import core.Search;
  * for all e,t <code>(e.hashCode()==t.hashCode()) and (e.equals(t))</code> implies <code>e==t</code>
  * </li>
  * </ul>
+ * Because the hashes map each hash value to a single state, states with equal hash values
+ * displace each other. To reduce such collisions the 64 bit hash of the states is used instead of hashCode(),
+ * if they implement the core.LongHashable interface.<br>
  * <br>
  * This class is a subclass of core.Search only for convenience,
  * because it can not be used in the following way:
@@ -112,9 +116,9 @@ import core.Search;
 public class BidirectionalSearch<T> extends Search<T> {
 
 	private Deque<T> topDown=new LinkedList<T>();
-	private Map<Integer,T> topDownHash=new HashMap<Integer,T>();
+	private Map<Long,T> topDownHash=new HashMap<Long,T>();
 	private Deque<T> bottomUp=new LinkedList<T>();
-	private Map<Integer,T> bottomUpHash=new HashMap<Integer,T>();
+	private Map<Long,T> bottomUpHash=new HashMap<Long,T>();
 	/**
 	 * holds a reference to the problem to be solved 
 	 */
@@ -183,6 +187,18 @@ public class BidirectionalSearch<T> extends Search<T> {
 		return coresult;
 	}	
 
+	/**
+	 * Returns the key of the given state in the hashes,
+	 * which is its 64 bit hash if the state implements core.LongHashable or its hashCode() otherwise.
+	 * 
+	 * @param state to be hashed
+	 * @return the key of the state
+	 */
+	private static long key(Object state){
+		if (state instanceof LongHashable) return ((LongHashable) state).hash64();
+		return state.hashCode();
+	}
+
 	/**
 	 * This method checks if the given problem returns valid initial and goal states.
 	 * 
@@ -234,21 +250,21 @@ public class BidirectionalSearch<T> extends Search<T> {
     lower=problem.goal(),
     fetched;
 		topDown.add(upper);
-  topDownHash.put(upper.hashCode(),upper);
+  topDownHash.put(key(upper),upper);
   bottomUp.add(lower);
-  bottomUpHash.put(lower.hashCode(),lower);
+  bottomUpHash.put(key(lower),lower);
 		while((! topDown.isEmpty()) && (! bottomUp.isEmpty()) && running()){
 			//remove head of both queues
 			upper=topDown.removeFirst();
 			lower=bottomUp.removeFirst();
 			//check if we found a state in the rand
-			fetched=bottomUpHash.get(upper.hashCode());
+			fetched=bottomUpHash.get(key(upper));
 			if ( fetched!=null && fetched.equals(upper) ){
 				result=upper;
 				coresult=fetched;
 				break;
 			}
-			fetched=topDownHash.get(lower.hashCode());
+			fetched=topDownHash.get(key(lower));
 			if ( fetched!=null && fetched.equals(lower) ){
 			 result=fetched;
 			 coresult=lower;				
@@ -256,21 +272,49 @@ public class BidirectionalSearch<T> extends Search<T> {
 			}
 			neededSteps++;
 			//expand the states upper and lower
+			countExpansion();
 			for (T node:problem.expand(upper)){
-				if (! node.equals(topDownHash.get(node.hashCode())) ){
+				countGenerated(1);
+				if (! node.equals(topDownHash.get(key(node))) ){
 				 topDown.addLast(node);
-				 topDownHash.put(node.hashCode(),node);
+				 topDownHash.put(key(node),node);
+				}else{
+					countDuplicates(1);
 				}
 			}			
+			countExpansion();
 			for (T node:problem.implode(lower)){
-				if (! node.equals(bottomUpHash.get(node.hashCode())) ){
+				countGenerated(1);
+				if (! node.equals(bottomUpHash.get(key(node))) ){
 				 bottomUp.addLast(node);
-				 bottomUpHash.put(node.hashCode(),node);
+				 bottomUpHash.put(key(node),node);
+				}else{
+					countDuplicates(1);
 				}
 			}
 		}		
 	}
 
+	/**
+	 * This method returns the number of states in both queues.
+	 * 
+	 * @see core.Search#frontierSize()
+	 */
+	@Override
+	protected int frontierSize() {
+		return topDown.size()+bottomUp.size();
+	}
+	
+	/**
+	 * This method returns the number of states in both hashes.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return topDownHash.size()+bottomUpHash.size();
+	}
+
 	/**
 	 * Clears and Frees the queues and Hashes used in this search. 
 	 * 
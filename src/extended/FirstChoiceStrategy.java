@@ -32,6 +32,7 @@ package extended;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * A hill climbing strategy which selects the first successor which is better then the current state.
@@ -67,19 +68,22 @@ public class FirstChoiceStrategy<T> implements HillClimbingStrategy<T> {
 	 * (<code>hillclimbing.compare(current,state) &gt; 0</code>).
 	 * If there is a state which is equal (in fact <code>hillclimbing.compare(current,state) = 0</code>)
 	 * to the current state it is remembered, for the case that no better state can be found.
+	 * The list is only copied if it does not support random access,
+	 * so a lazy extended.Neighborhood only creates the examined states.
 	 * 
 	 * @see extended.HillClimbingStrategy#select(extended.HillClimbing, java.util.List, java.lang.Object)
 	 */
 	@Override
 	public T select(HillClimbing<T> hc, List<T> list, T current) {
 		int size=list.size(),
-  base=HillClimbing.random.nextInt(size),
+  base=hc.getRandom().nextInt(size),
   compare=0;
-		ArrayList<T> array=new ArrayList<T>(list);
+		List<T> array=(list instanceof RandomAccess ? list : new ArrayList<T>(list));
 		T next=null,
-		  alternative=array.get(base);
+		  alternative=null;
 		for (int i=0;i<size;i++){
 			next=array.get((base+i) % size);
+			if (i==0) alternative=next;
 			compare=hc.compare(current,next);
 			if ( compare<0 )
 			 return next;
@@ -141,8 +141,13 @@ import core.UndirectedSearch;
  * </li>
  * </ul>
  * 
+ * If the problem implements the extended.NeighborhoodProblem interface,
+ * the strategy selects from the lazy neighborhood of the current state instead of the expanded list,
+ * so only the examined successors are created.
+ * 
  * @see UndirectedSearch
  * @see HillClimbingProblem
+ * @see NeighborhoodProblem
  * @see HillClimbingStrategy
  * @see BestChoiceStrategy
  * @see FirstChoiceStrategy
@@ -271,6 +276,27 @@ public class HillClimbing<T> extends UndirectedSearch<T> implements Comparator<T
 
 	}
 	
+	/**
+	 * Creates a new hill climbing search, with the given problem, 
+	 * the direction given by the minimum flag, the allowed number of sideSteps
+	 * and the seed of its random value generator, so the search runs can be replayed.
+	 * The search will use the given HillClimbingStrategy during the search.
+	 * 
+	 * @param problem the HillClimbingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @param strategy a custom HillClimbingStrategy instance for the search
+	 * @param sideSteps the number of allowed side steps during the search
+	 * @param seed the seed of the random value generator
+	 * 
+	 * @throws IllegalArgumentException if problem or strategy is null and if sideSteps is smaller than zero
+	 * 
+	 * @see core.UndirectedSearch#setSeed(long)
+	 */
+	public HillClimbing(HillClimbingProblem<T> problem, boolean minimum, HillClimbingStrategy<T> strategy, int sideSteps, long seed) {
+		this(problem,minimum,strategy,sideSteps);
+		setSeed(seed);
+	}
+	
 	/**
 	 * Creates a new hill climbing search, with the given problem and 
 	 * the selected strategy.
@@ -391,6 +417,15 @@ public class HillClimbing<T> extends UndirectedSearch<T> implements Comparator<T
 		if (current==null) return null;
 		return strategy.select(this,extension,current);		
 	}
+	/**
+	 * Returns the state from which the search starts, which is the initial state of the problem.
+	 * Subclasses may override this method to start from other states.
+	 * 
+	 * @return the state from which the search starts
+	 */
+	protected T initial(){
+		return problem.initial();
+	}
 	/**
 	 * Returns true only there is a strategy and an initial state available.
 	 */
@@ -425,11 +460,15 @@ public class HillClimbing<T> extends UndirectedSearch<T> implements Comparator<T
 	 */
 	@Override
 	protected void search() {
-  T current=problem.initial();
+  T current=initial();
 		T next;
 		int compare=0;
+  List<T> nodes;
   while(running()){
-  	next=select(problem.expand(current),current);
+  	nodes=NeighborhoodProblem.successors(problem,current);
+  	countExpansion();
+  	if (nodes!=null) countGenerated(nodes.size());
+  	next=select(nodes,current);
   	if (next==null) break;
   	neededSteps++;
   	compare=compare(current,next);
@@ -104,6 +104,8 @@ public interface HillClimbingStrategy<T> {
 	 * <li>
 	 * The way a state will be selected must always be nondeterministic.<br>
 	 * For example by starting at a random position of the list looking for a better state. 
+	 * The random values should be drawn from <code>hillclimbing.getRandom()</code>, 
+	 * so the search run can be replayed.
 	 * </li>
 	 * <li>
 	 * This method should never return null or the current state itself.
@@ -116,6 +118,8 @@ public interface HillClimbingStrategy<T> {
 	 * @param current the current state of the hill climbing search
 	 * 
 	 * @return the selected best state if any exists or a random successor. 
+	 * 
+	 * @see core.UndirectedSearch#getRandom()
 	 */
 	public T select(HillClimbing<T> hillclimbing, List<T> extension, T current);
 
@@ -0,0 +1,87 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * This is a lazy list of the successors of a state,
+ * which creates each successor only when it is requested.<br>
+ * <br>
+ * A subclass only has to implement the size() and the neighbor(int) method.
+ * All other list operations (like the iterator() or the spliterator()) are inherited from
+ * java.util.AbstractList and call neighbor(int) on demand.
+ * Because the list implements java.util.RandomAccess, 
+ * the hill climbing strategies and the simulated annealing access the successors directly 
+ * instead of copying them into a new list.
+ * So a strategy examining only a few successors (like the FirstChoiceStrategy)
+ * only pays for the examined successors.<br>
+ * <b>Note:</b> Each call of get(int) may create a new successor,
+ * so the same index should not be requested over and over again.
+ * 
+ * @see extended.NeighborhoodProblem
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements in the search domain.
+ */
+public abstract class Neighborhood<T> extends AbstractList<T> implements RandomAccess {
+
+	/**
+	 * Returns the number of successors in this neighborhood.
+	 * 
+	 * @return the number of successors
+	 */
+	@Override
+	public abstract int size();
+	
+	/**
+	 * Creates the successor with the given index.
+	 * This method will only be called with an index between zero and size()-1.
+	 * 
+	 * @param index of the successor
+	 * @return the successor with the given index
+	 */
+	public abstract T neighbor(int index);
+	
+	/**
+	 * Returns the successor with the given index by calling neighbor(int).
+	 * 
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+	 */
+	@Override
+	public final T get(int index) {
+		if ((index<0) || (index>=size())) throw new IndexOutOfBoundsException(String.format("index %d is out of range",index));
+		return neighbor(index);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.List;
+
+import core.Problem;
+
+/**
+ * This is an optional interface for problems with a large number of successors of each state,
+ * like the extended.HillClimbingProblem or extended.SimulatedAnnealingProblem.<br>
+ * <br>
+ * Instead of the list returned by core.Problem#expand(java.lang.Object), 
+ * the hill climbing and the simulated annealing use the neighborhood of a state,
+ * which creates the successors only on demand.
+ * So the costs of each step depend on the number of examined successors
+ * instead of the number of all successors.<br>
+ * The neighborhood must contain the same successors as the list returned by expand.
+ * 
+ * @see extended.Neighborhood
+ * @see extended.HillClimbing
+ * @see extended.SimulatedAnnealing
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements in the search domain.
+ */
+public interface NeighborhoodProblem<T> extends Problem<T> {
+	/**
+	 * This method returns the lazy neighborhood of the given state.
+	 * 
+	 * @param state to be expanded
+	 * @return the neighborhood of the state
+	 */
+	public Neighborhood<T> neighborhood(T state);
+	
+	/**
+	 * Returns the successors of the given state, which is the lazy neighborhood
+	 * if the problem implements this interface or the expanded list otherwise.
+	 * 
+	 * @param problem which expands the state
+	 * @param state to be expanded
+	 * @return the successors of the state
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> successors(Problem<T> problem,T state){
+		if (problem instanceof NeighborhoodProblem<?>) return ((NeighborhoodProblem<T>) problem).neighborhood(state);
+		return problem.expand(state);
+	}
+}
@@ -0,0 +1,400 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToDoubleFunction;
+
+import util.KeyedHeap;
+import core.HeuristicProblem;
+import core.Search;
+
+/**
+ * The parallel A* search is a hash distributed A* search (HDA*) 
+ * able to solve any problem implementing the core.HeuristicProblem interface
+ * with several threads.<br>
+ * <br>
+ * Like the basic.AStarSearch this search expands those states at first,
+ * which are estimated to lie on the cheapest path to a goal,
+ * using the evaluation function <code>f(s) = g(s) + h(s)</code>.
+ * But instead of one global queue each thread owns its own open list (an util.KeyedHeap) and its own closed list.
+ * Each state is owned by exactly one thread, which is determined by the hashCode() of the state.
+ * Whenever a thread generates a state owned by another thread, 
+ * the state is sent to the mailbox of the owner (a lock free java.util.concurrent.ConcurrentLinkedQueue).
+ * So duplicates are always detected by the same thread without any locking of the open or closed lists.
+ * A state reached again with lower path costs is inserted again, and the older copy is discarded when it is polled.
+ * A thread without states parks until a state is sent to its mailbox.<br>
+ * <br>
+ * Because the threads do not expand the states in a global order,
+ * a goal state found by one thread is only an incumbent solution.
+ * The search continues until no thread holds a state <code>s</code> with <code>f(s)</code>
+ * smaller than the costs of the incumbent solution. 
+ * So if the heuristic of the problem is admissible, the result of this search is optimal like the result of the A* search.
+ * The search terminates when no state is left in any open list or mailbox.
+ * This is detected by a global counter of all states, which have been sent but not yet expanded or discarded.<br>
+ * <br>
+ * The following constraints hold for the states of type T:
+ * <ul>
+ * <li>T must implement a hashCode() method.</li>
+ * <li>T must implement a equals() method.</li>
+ * <li>The methods of the problem must be thread safe, because they are called from all threads.</li>
+ * </ul>
+ * <b>Note:</b> The number of expanded states (neededSteps) and the expansion order 
+ * depend on the scheduling of the threads and are not deterministic. 
+ * 
+ * @see basic.AStarSearch
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements of the search domain.
+ */
+public class ParallelAStarSearch<T> extends Search<T> {
+	
+	/**
+	 * the maximum time an idle thread parks before it checks for termination again
+	 */
+	private static final long IDLE_NANOS=1000000L;
+	
+	private class Worker extends Thread implements ToDoubleFunction<T>{
+		private final int id;
+		private final Queue<T> mailbox=new ConcurrentLinkedQueue<T>();
+		private volatile boolean idle=false;
+		private final KeyedHeap<T> open=new KeyedHeap<T>(this);
+		private final Map<T,Double> closed=new HashMap<T,Double>();
+		private volatile long expanded=0;
+		private long generated=0, duplicates=0, evaluations=0;
+		
+		public Worker(int id){
+			super("ParallelAStarSearch-"+id);
+			this.id=id;
+			setDaemon(true);
+		}
+		
+		@Override
+		public double applyAsDouble(T state) {
+			evaluations++;
+			return problem.g(state)+problem.h(state);
+		}
+		
+		/**
+		 * Sends the given state to the mailbox of this worker and wakes it up if it is idle.
+		 */
+		private void send(T state){
+			mailbox.add(state);
+			if (idle) LockSupport.unpark(this);
+		}
+		
+		/**
+		 * Parks this worker until a state is sent to its mailbox or some time has passed.
+		 */
+		private void await(){
+			idle=true;
+			if (mailbox.isEmpty() && !done) LockSupport.parkNanos(this,IDLE_NANOS);
+			idle=false;
+		}
+		
+		/**
+		 * Returns true if the given state has been reached with lower path costs, after it has been inserted.
+		 */
+		private boolean stale(T state){
+			Double best=closed.get(state);
+			return best!=null && best<problem.g(state);
+		}
+		
+		/**
+		 * Accepts a state owned by this worker and inserts it into the open list,
+		 * if it has not been reached before with lower or equal path costs.
+		 */
+		private void accept(T state){
+			double g=problem.g(state);
+			Double best=closed.get(state);
+			if (best!=null && best<=g){
+				duplicates++;
+				pending.decrementAndGet();
+			}else{
+				closed.put(state,g);
+				open.add(state);
+			}
+		}
+		
+		@Override
+		public void run() {
+			try{
+				T state;
+				while(!done && running()){
+					while((state=mailbox.poll())!=null) accept(state);
+					if (open.isEmpty()){
+						if (pending.get()==0) done=true;
+						else await();
+						continue;
+					}
+					if (open.peekKey()>=incumbent){
+						// no state in this open list can improve the incumbent solution
+						pending.addAndGet(-open.size());
+						open.clear();
+						continue;
+					}
+					state=open.poll();
+					if (stale(state)){
+						duplicates++;
+					}else if (problem.isGoal(state)){
+						offer(state);
+					}else{
+						expanded++;
+						for (T node : problem.expand(state)){
+							generated++;
+							pending.incrementAndGet();
+							Worker owner=workers.get(owner(node));
+							if (owner==this) accept(node);
+							else owner.send(node);
+						}
+					}
+					pending.decrementAndGet();
+				}
+			}catch(Throwable e){
+				failure=e;
+				done=true;
+			}
+		}
+	}
+	
+	/**
+	 * holds a reference to the problem to be solved 
+	 */
+	protected HeuristicProblem<T> problem=null;
+	/**
+	 * holds the number of threads used during the search
+	 */
+	private int threads;
+	
+	private List<Worker> workers;
+	/**
+	 * the number of states, which have been sent but not yet expanded or discarded
+	 */
+	private final AtomicLong pending=new AtomicLong();
+	private volatile boolean done=false;
+	private volatile double incumbent=Double.POSITIVE_INFINITY;
+	private volatile Throwable failure=null;
+	
+	/**
+	 * Creates a new parallel A* search, 
+	 * which uses one thread for each available processor.
+	 * 
+	 * @param problem the HeuristicProblem to be solved
+	 * @throws IllegalArgumentException if the given problem is null
+	 */
+	public ParallelAStarSearch(HeuristicProblem<T> problem) {
+		this(problem,Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a new parallel A* search, which uses the given number of threads.
+	 * 
+	 * @param problem the HeuristicProblem to be solved
+	 * @param threads the number of threads
+	 * @throws IllegalArgumentException if the given problem is null or the number of threads is less than one
+	 */
+	public ParallelAStarSearch(HeuristicProblem<T> problem,int threads) {
+		super();
+		if (problem!=null) this.problem=problem;
+		else throw new IllegalArgumentException("problem should never be null!");
+		if (threads>0) this.threads=threads;
+		else throw new IllegalArgumentException("threads must be greater than zero!");
+	}
+	
+	/**
+	 * This method returns the problem, with which this search has been created.
+	 * 
+	 * @return the problem to be solved
+	 */
+	public HeuristicProblem<T> getProblem() {
+		return problem;
+	}
+	
+	/**
+	 * This method returns the number of threads used during the search.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+	
+	/**
+	 * This method returns the number of expanded nodes during the search.<br>
+	 * <b>Note:</b> This method is an alias for neededSteps() and has the same result.
+  * 
+  * @return
+  *  the number of expanded nodes
+  */
+	public final int branchedNodes(){
+		return neededSteps;
+	}
+	
+	/**
+	 * Determines the thread owning the given state.
+	 */
+	private int owner(T state){
+		int h=state.hashCode()*0x9E3779B9;
+		return (int)(((h^(h>>>16)) & 0xffffffffL) % threads);
+	}
+	
+	/**
+	 * Saves the given goal state, if it is cheaper than the incumbent solution.
+	 */
+	private synchronized void offer(T goal){
+		double g=problem.g(goal);
+		if (g<incumbent){
+			incumbent=g;
+			result=goal;
+		}
+	}
+
+	/**
+	 * This method checks if the given problem returns a valid initial state.
+	 * 
+	 * @see core.Search#canPrepare()
+	 */
+	@Override
+	protected final boolean canPrepare() {
+		return problem.initial()!=null;
+	}
+	
+	/**
+	 * This method creates the threads and their open and closed lists
+	 * to prepare them for a new search run.
+	 * 
+	 * @see core.Search#prepare()
+	 */
+	@Override
+	protected final void prepare() {
+		workers=new ArrayList<Worker>(threads);
+		for (int i=0;i<threads;i++) workers.add(new Worker(i));
+		pending.set(0);
+		done=false;
+		incumbent=Double.POSITIVE_INFINITY;
+		failure=null;
+	}
+
+	/**
+	 * This method implements the hash distributed A* search algorithm,
+	 * which can be described in the following way for each thread:
+	 * <ul>
+	 * <li>
+	 * <b>until</b> no state is left in any open list or mailbox <b>do</b>
+	 * <ul>
+	 * <li>move all states from the mailbox into the open list, if they have not been reached cheaper before</li>
+	 * <li>clear the open list <b>if</b> it contains no state cheaper than the incumbent solution</li>
+	 * <li>pop the best state from the open list and discard it <b>if</b> it has been reached cheaper since its insertion</li>
+	 * <li>save the state as incumbent solution <b>if</b> it is a goal and cheaper than the incumbent solution</li>
+	 * <li>otherwise send each state in problem.expand(state) to the mailbox of its owner</li>
+	 * </ul>
+	 * </li>
+	 * </ul>
+	 * A thread with an empty open list parks until it receives a state.
+	 * Each thread terminates as soon as the search has been stopped, while the calling thread waits for all threads.
+	 * 
+	 * @see core.Search#search()
+	 */
+	@Override
+	protected void search() {
+		T initial=problem.initial();
+		pending.set(1);
+		workers.get(owner(initial)).send(initial);
+		for (Worker w : workers) w.start();
+		long counted=0;
+		try{
+			for (Worker w : workers){
+				while (w.isAlive()){
+					if (!running()) done=true;
+					w.join(10);
+					long expanded=expanded();
+					countExpansions(expanded-counted);
+					counted=expanded;
+				}
+			}
+		}catch (InterruptedException e){
+			done=true;
+			Thread.currentThread().interrupt();
+		}
+		long expanded=expanded();
+		countExpansions(expanded-counted);
+		neededSteps=(int)Math.min(expanded,Integer.MAX_VALUE);
+		for (Worker w : workers){
+			countGenerated(w.generated);
+			countDuplicates(w.duplicates);
+			countEvaluations(w.evaluations);
+		}
+		if (failure!=null) throw new IllegalStateException("a thread of the search failed",failure);
+	}
+	
+	private long expanded(){
+		long sum=0;
+		for (Worker w : workers) sum+=w.expanded;
+		return sum;
+	}
+	
+	/**
+	 * This method returns the number of states in all open lists.
+	 * <b>Note:</b> While the search is running this value is only an estimate.
+	 * 
+	 * @see core.Search#frontierSize()
+	 */
+	@Override
+	protected int frontierSize() {
+		if (workers==null) return -1;
+		int sum=0;
+		for (Worker w : workers) sum+=w.open.size();
+		return sum;
+	}
+	
+	/**
+	 * This method returns the number of states in all closed lists.
+	 * <b>Note:</b> While the search is running this value is only an estimate.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		if (workers==null) return -1;
+		int sum=0;
+		for (Worker w : workers) sum+=w.closed.size();
+		return sum;
+	}
+	
+}
@@ -0,0 +1,417 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import core.HeuristicProblem;
+import core.Search;
+import core.StateCodec;
+import util.ConcurrentTranspositionTable;
+
+/**
+ * The parallel iterative deepening A* search is a version of the basic.IterativeDeepeningAStar,
+ * which explores each f-limit iteration with several threads.<br>
+ * <br>
+ * Like the basic.IterativeDeepeningAStar this search uses a depth first search,
+ * which discards all states with an evaluation <code>f(s) = g(s) + h(s)</code> above the current <code>f-limit</code>
+ * and increases the <code>f-limit</code> to the lowest discarded <code>f</code> value after each iteration.
+ * But instead of walking the search tree on one thread, the top of the search tree is split into independent subtrees.
+ * Whenever a state is expanded within the first levels below the initial state (see getSplitDepth())
+ * and the current thread has only few queued subtrees, each successor is forked as a new subtree.
+ * The subtrees are executed by a java.util.concurrent.ForkJoinPool, 
+ * so idle threads steal subtrees from busy threads.
+ * The lowest discarded <code>f</code> value of all subtrees is combined when they are joined.<br>
+ * <br>
+ * A goal state found within an iteration has path costs equal to the current <code>f-limit</code>,
+ * if the heuristic is admissible. 
+ * So all threads are stopped as soon as one of them found a goal, 
+ * and the result is optimal like the result of the basic.IterativeDeepeningAStar.
+ * Like the serial search this search only needs memory linear to the depth of the solution, 
+ * for each thread and forked subtree, plus the fixed memory of the transposition table.<br>
+ * <br>
+ * If the implicit duplicate handling is enabled, all threads share one util.ConcurrentTranspositionTable 
+ * of fixed size (32 megabytes by default, see setTableSize(int)), 
+ * which remembers the lowest depth each state has been reached at (like the table of the basic.IterativeDeepeningAStar).
+ * The table is split into several independently locked stripes (four for each thread, but at most one for each megabyte), 
+ * so the threads rarely wait for each other.
+ * If the problem implements the core.StateCodec interface, the table only stores the encoded states.<br>
+ * The following constraints hold for the states of type T:
+ * <ul>
+ * <li>T must implement a hashCode() method, if the implicit duplicate handling is enabled.</li>
+ * <li>T must implement a equals() method, if the implicit duplicate handling is enabled.</li>
+ * <li>The methods of the problem must be thread safe, because they are called from all threads.</li>
+ * </ul>
+ * <b>Note:</b> The number of expanded states (neededSteps) and the expansion order 
+ * depend on the scheduling of the threads and are not deterministic. 
+ * 
+ * @see basic.IterativeDeepeningAStar
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements of the search domain.
+ */
+public class ParallelIterativeDeepeningAStar<T> extends Search<T> {
+	
+	/**
+	 * the number of queued subtrees of a thread, up to which new subtrees are forked 
+	 */
+	private static final int SURPLUS=3;
+	
+	/**
+	 * This class represents a subtree of the search tree, 
+	 * which is explored by a cost limited depth first search.
+	 */
+	private class Subtree extends RecursiveTask<Double> {
+		private static final long serialVersionUID = 1L;
+		private final T root;
+		private final double flimit;
+		
+		public Subtree(T root, double flimit) {
+			this.root=root;
+			this.flimit=flimit;
+		}
+		
+		@Override
+		protected Double compute() {
+			return costLimitedSearch(root,flimit);
+		}
+	}
+	
+	/**
+	 * holds a reference to the problem to be solved
+	 */
+	protected HeuristicProblem<T> problem;
+	/**
+	 * holds the table used for duplicate handling (or null if duplicates should not be handled)
+	 */
+	protected ConcurrentTranspositionTable<T> table;
+	/**
+	 * holds the flag indicating that duplicates should not be handled
+	 */
+	private boolean noHash;
+	/**
+	 * holds the memory of the transposition table in megabytes
+	 */
+	private int tableSize=32;
+	/**
+	 * holds the number of threads used during the search
+	 */
+	private int threads;
+	/**
+	 * holds the depth up to which the search tree is split into subtrees
+	 */
+	private int splitDepth=16;
+	
+	private ForkJoinPool pool=null;
+	private int rootDepth;
+	private volatile boolean done=false;
+	private final LongAdder expanded=new LongAdder();
+	private final LongAdder generated=new LongAdder();
+	private final LongAdder duplicates=new LongAdder();
+	private final LongAdder evaluations=new LongAdder();
+	
+	/**
+	 * Creates a new parallel IDA* search with the given problem, 
+	 * which uses one thread for each available processor and implicit duplicate handling.
+	 * 
+	 * @param problem the HeuristicProblem to be solved
+	 * @throws IllegalArgumentException if the given problem is null
+	 */
+	public ParallelIterativeDeepeningAStar(HeuristicProblem<T> problem) {
+		this(problem,false);
+	}
+	
+	/**
+	 * Creates a new parallel IDA* search with the given problem,
+	 * which uses one thread for each available processor
+	 * and disabled hashing if the noHash flag is true.
+	 * 
+	 * @param problem the HeuristicProblem to be solved
+	 * @param noHash flag indicating that duplicates should not be handled
+	 * @throws IllegalArgumentException if the given problem is null
+	 */
+	public ParallelIterativeDeepeningAStar(HeuristicProblem<T> problem, boolean noHash) {
+		this(problem,noHash,Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a new parallel IDA* search with the given problem,
+	 * which uses the given number of threads
+	 * and disabled hashing if the noHash flag is true.
+	 * 
+	 * @param problem the HeuristicProblem to be solved
+	 * @param noHash flag indicating that duplicates should not be handled
+	 * @param threads the number of threads
+	 * @throws IllegalArgumentException if the given problem is null or the number of threads is less than one
+	 */
+	public ParallelIterativeDeepeningAStar(HeuristicProblem<T> problem, boolean noHash, int threads) {
+		super();
+		if (problem!=null) this.problem=problem;
+		else throw new IllegalArgumentException("problem should never be null!");
+		if (threads>0) this.threads=threads;
+		else throw new IllegalArgumentException("threads must be greater than zero!");
+		this.noHash=noHash;
+	}
+	
+	/**
+	 * This method returns the problem, with which this search has been created.
+	 * 
+	 * @return the problem to be solved
+	 */
+	public final HeuristicProblem<T> getProblem() {
+		return problem;
+	}
+	
+	/**
+	 * This method returns the number of threads used during the search.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+	
+	/**
+	 * This method returns the depth (relative to the initial state) 
+	 * up to which the search tree is split into subtrees.
+	 * The default value is 16.
+	 * 
+	 * @return the depth up to which subtrees are forked
+	 */
+	public int getSplitDepth() {
+		return splitDepth;
+	}
+	
+	/**
+	 * This method sets the depth (relative to the initial state) 
+	 * up to which the search tree is split into subtrees.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param splitDepth the depth up to which subtrees are forked
+	 */
+	public void setSplitDepth(int splitDepth) {
+		if (! initialized()) this.splitDepth=splitDepth;
+	}
+	
+	/**
+	 * Returns the memory of the transposition table in megabytes.
+	 * 
+	 * @return the size of the transposition table
+	 */
+	public int getTableSize() {
+		return tableSize;
+	}
+	
+	/**
+	 * Changes the memory of the transposition table to the given number of megabytes,
+	 * if this search has not been initialized yet.
+	 * 
+	 * @param tableSize the new size of the transposition table in megabytes
+	 */
+	public void setTableSize(int tableSize) {
+		if (tableSize<1) throw new IllegalArgumentException("tableSize must be greater than zero!");
+		if (! initialized()) this.tableSize = tableSize;
+	}
+	
+	/**
+	 * This method estimates the costs to reach a goal state from the initial state
+	 * over the given state.
+	 * <b>Note:</b> This method uses the function core.HeuristicProblem#g(java.lang.Object)
+	 * and core.HeuristicProblem#h(java.lang.Object)to compute this estimation, and nothing else.
+	 * 
+	 * @param state to be evaluated
+	 * @return the function value
+	 */
+	public final double f(T state){
+		evaluations.increment();
+		return problem.g(state) + problem.h(state);
+	}
+	
+	/**
+	 * This method returns the number of states in the table used for duplicate handling
+	 * which have been stored during the current iteration.
+	 * 
+	 * @see core.Search#closedSize()
+	 */
+	@Override
+	protected int closedSize() {
+		return (table==null?0:table.size());
+	}
+	
+	/**
+	 * This method checks if the given problem returns a valid initial state.
+	 * 
+	 * @see core.Search#canPrepare()
+	 */
+	@Override
+	protected final boolean canPrepare() {
+		return problem.initial()!=null;
+	}
+	
+	/**
+	 * This method creates the pool of threads and the transposition table and resets the counters.
+	 * 
+	 * @see core.Search#prepare()
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected final void prepare() {
+		pool=new ForkJoinPool(threads);
+		if (! noHash){
+			StateCodec<T> codec=(problem instanceof StateCodec<?>?(StateCodec<T>) problem:null);
+			table=new ConcurrentTranspositionTable<T>(codec,tableSize,4*threads);
+		}
+		done=false;
+		expanded.reset();
+		generated.reset();
+		duplicates.reset();
+		evaluations.reset();
+	}
+	
+	/**
+	 * This method looks for a goal by iteratively starting a parallel f-limited search
+	 * with increasing f-limits. 
+	 * It terminates when a goal has been found or the search domain has been fully explored.
+	 * The calling thread waits for each iteration and stops the threads if the search has been stopped.
+	 * 
+	 * @see core.Search#search()
+	 */
+	@Override
+	protected void search() {
+		T initial=problem.initial();
+		rootDepth=problem.depth(initial);
+		double flimit=f(initial);
+		int iteration=0;
+		long counted=0;
+		try{
+			while ( !done && running() && (! Double.isInfinite(flimit)) ){
+				if (table!=null) table.nextGeneration();
+				double limit=flimit;
+				ForkJoinTask<Double> task=pool.submit(new Subtree(initial,limit));
+				while (true){
+					try{
+						flimit=task.get(10,TimeUnit.MILLISECONDS);
+						break;
+					}catch (TimeoutException e){
+						if (!running()) done=true;
+					}
+					long sum=expanded.sum();
+					countExpansions(sum-counted);
+					counted=sum;
+				}
+				notifyIterationComplete(++iteration,limit);
+			}
+		}catch (InterruptedException e){
+			done=true;
+			Thread.currentThread().interrupt();
+		}catch (ExecutionException e){
+			throw new IllegalStateException("a thread of the search failed",e.getCause());
+		}finally{
+			pool.shutdownNow();
+			long sum=expanded.sum();
+			countExpansions(sum-counted);
+			neededSteps=(int)Math.min(sum,Integer.MAX_VALUE);
+			countGenerated(generated.sum());
+			countDuplicates(duplicates.sum());
+			countEvaluations(evaluations.sum());
+		}
+	}
+	
+	/**
+	 * Saves the given goal state and stops all threads.
+	 */
+	private synchronized void offer(T goal){
+		if (!done){
+			result=goal;
+			done=true;
+		}
+	}
+	
+	/**
+	 * This method implements the recursive f-limited search.
+	 * It expands the given state and calls itself for each successor state,
+	 * until the limit for the evaluation function <code>f</code> has been reached.
+	 * Within the split depth the successors are forked as subtrees,
+	 * if the current thread has only few queued subtrees.
+	 * 
+	 * @param state to be checked and further expanded
+	 * @param flimit to which the search domain will be explored
+	 * @return the new f-limit used for the next iteration
+	 */
+	private double costLimitedSearch(T state,double flimit){
+		//goal found or search stopped
+		if (done || !running()) return flimit;
+		//state is above the f-limit
+		double newlimit=f(state);
+		if (newlimit > flimit) return newlimit;
+		//state is a goal
+		if (problem.isGoal(state)){
+			offer(state);
+			return flimit;
+		}
+		//check if this state has been expanded previously
+		int depth=problem.depth(state);
+		if (table!=null && !table.visit(state,depth)){
+			duplicates.increment();
+			return Double.POSITIVE_INFINITY;
+		}
+		//expand the state
+		newlimit=Double.POSITIVE_INFINITY;
+		expanded.increment();
+		List<T> nodes=problem.expand(state);
+		generated.add(nodes.size());
+		if (depth-rootDepth<splitDepth && nodes.size()>1 
+				&& ForkJoinTask.inForkJoinPool() && ForkJoinTask.getSurplusQueuedTaskCount()<=SURPLUS){
+			List<Subtree> subtrees=new ArrayList<Subtree>(nodes.size());
+			for (T node: nodes){
+				Subtree subtree=new Subtree(node,flimit);
+				subtree.fork();
+				subtrees.add(subtree);
+			}
+			for (Subtree subtree: subtrees)
+				newlimit=Math.min(newlimit,subtree.join());
+		}else{
+			for (T node: nodes)
+				newlimit=Math.min(newlimit,costLimitedSearch(node,flimit));
+		}
+		return newlimit;
+	}
+	
+}
@@ -0,0 +1,537 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import util.SplitRandom;
+import core.UndirectedSearch;
+
+/**
+ * The parallel tempering is a version of the extended.SimulatedAnnealing,
+ * which runs several annealing chains at different temperatures on a pool of threads.<br>
+ * <br>
+ * Instead of lowering the temperature of a single chain, each chain keeps its own fixed temperature.
+ * The temperatures form a geometric ladder from the minimum temperature (first chain)
+ * up to the maximum temperature (last chain).
+ * Each chain takes a number of steps (see getInterval()) like the simulated annealing:
+ * a random successor of its current state is accepted if it is an improvement or
+ * with a probability equal to <code>Math.exp( delta / temperature )</code>.
+ * Afterwards chains at neighboring temperatures try to swap their current states,
+ * where a swap is accepted with the probability 
+ * <code>Math.exp( delta * (1/temperature<sub>i</sub> - 1/temperature<sub>j</sub>) )</code>
+ * <i>(where delta is the difference between the state of the colder chain i and the state of the hotter chain j)</i>.
+ * In that way good states found by the hot chains move down to the cold chains, 
+ * and states stuck in a local optimum move up to the hot chains and leave it.<br>
+ * <br>
+ * The search returns the best state found by all chains.
+ * It terminates as soon as one chain reaches a goal state (see core.Problem#isGoal(java.lang.Object)), 
+ * the time limit has been exceeded or there were no better states found 
+ * since several rounds of steps and swaps (see getMaxSame()).<br>
+ * <br>
+ * Each chain draws its random values from its own util.SplitRandom, 
+ * which is split from the random value generator of the search (see core.UndirectedSearch#getRandom()),
+ * so the chains do not contend for one random value generator.
+ * Like the simulated annealing the chains use the lazy neighborhood of 
+ * an extended.NeighborhoodProblem or the random moves of an extended.RandomNeighborProblem if available.<br>
+ * The following constraints hold for the problem:
+ * <ul>
+ * <li>The isGoal method must be implemented in a proper way, because it is called for each accepted state.</li>
+ * <li>The methods of the problem must be thread safe, because they are called from all threads.</li>
+ * </ul>
+ * <b>Note:</b> The result and the number of steps (neededSteps) depend on the scheduling of the threads and are not deterministic.
+ * 
+ * @param <T> the specific type of all elements in the search domain
+ * 
+ * @see extended.SimulatedAnnealing
+ * @see extended.SimulatedAnnealingProblem
+ * 
+ * @author eden06
+ *
+ */
+public class ParallelTempering<T> extends UndirectedSearch<T> {
+	
+	/**
+	 * This class represents one annealing chain with a fixed temperature.
+	 */
+	private class Chain implements Callable<Void> {
+		private final double temperature;
+		private final SplitRandom random;
+		private T current;
+		private List<T> successors=null;
+		private T best;
+		private long steps=0, expanded=0, generated=0;
+		
+		public Chain(double temperature, SplitRandom random, T initial) {
+			this.temperature=temperature;
+			this.random=random;
+			this.current=initial;
+			this.best=initial;
+		}
+		
+		@Override
+		public Void call() {
+			for (int i=0;i<interval && !done && running();i++){
+				if (System.nanoTime()-deadline>=0){
+					done=true;
+					break;
+				}
+				if (! step()) break;
+			}
+			return null;
+		}
+		
+		/**
+		 * Takes a single annealing step at the temperature of this chain.
+		 * 
+		 * @return false if the current state has no successors
+		 */
+		@SuppressWarnings("unchecked")
+		private boolean step(){
+			double delta;
+			if (problem instanceof RandomNeighborProblem<?>){
+				RandomNeighborProblem<T> sampler=(RandomNeighborProblem<T>) problem;
+				long move=sampler.sample(current,random);
+				if (move<0) return false;
+				generated++;
+				steps++;
+				delta=sampler.difference(current,move);
+				if (! minimum()) delta=-delta;
+				if ((delta>0) || (random.nextDouble()<Math.exp(delta/temperature)))
+					accept(sampler.apply(current,move));
+			}else{
+				if (successors==null){
+					successors=NeighborhoodProblem.successors(problem,current);
+					expanded++;
+					generated+=successors.size();
+				}
+				if (successors.isEmpty()) return false;
+				T next=successors.get(random.nextInt(successors.size()));
+				steps++;
+				delta=difference(current,next);
+				if ((delta>0) || (random.nextDouble()<Math.exp(delta/temperature)))
+					accept(next);
+			}
+			return true;
+		}
+		
+		private void accept(T next){
+			current=next;
+			successors=null;
+			if (difference(best,current)>0) best=current;
+			if (problem.isGoal(current)) offer(current);
+		}
+	}
+	
+	/**
+	 * holds a reference to the problem to be solved
+	 */
+	protected SimulatedAnnealingProblem<T> problem=null;
+	/**
+	 * holds the number of chains
+	 */
+	private int chains;
+	/**
+	 * holds the temperature of the coldest chain
+	 */
+	private double minTemperature=0.1;
+	/**
+	 * holds the temperature of the hottest chain
+	 */
+	private double maxTemperature=10;
+	/**
+	 * holds the number of threads used during the search
+	 */
+	private int threads=Runtime.getRuntime().availableProcessors();
+	/**
+	 * holds the number of steps of each chain between two swaps
+	 */
+	private int interval=100;
+	/**
+	 * holds the maximum amount of rounds without improvement to the search result, before the search terminates
+	 */
+	private int maxSame=100;
+	/**
+	 * holds the time limit of a search run in milliseconds or zero if there is no limit
+	 */
+	private long timeLimit=0;
+	
+	private ExecutorService pool=null;
+	private volatile boolean done=false;
+	private volatile long deadline;
+	private T goal=null;
+	private long swaps=0;
+	
+	/**
+	 * Creates a new parallel tempering with the given problem,
+	 * which looks for a global minimum with one chain for each available processor (at least two).
+	 * 
+	 * @param problem the SimulatedAnnealingProblem to be solved
+	 * @throws IllegalArgumentException if the problem is null
+	 */
+	public ParallelTempering(SimulatedAnnealingProblem<T> problem) {
+		this(problem,true);
+	}
+	
+	/**
+	 * Creates a new parallel tempering with the given problem and 
+	 * the direction given by the minimum flag,
+	 * which uses one chain for each available processor (at least two)
+	 * and temperatures between 0.1 and 10.0.
+	 * 
+	 * @param problem the SimulatedAnnealingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @throws IllegalArgumentException if the problem is null
+	 */
+	public ParallelTempering(SimulatedAnnealingProblem<T> problem, boolean minimum) {
+		this(problem,minimum,Math.max(2,Runtime.getRuntime().availableProcessors()),0.1,10);
+	}
+	
+	/**
+	 * Creates a new parallel tempering with the given problem,
+	 * the direction given by the minimum flag, the number of chains and
+	 * the temperatures of the coldest and the hottest chain.
+	 * 
+	 * @param problem the SimulatedAnnealingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @param chains the number of chains <i>(Must be a positive value)</i>
+	 * @param minTemperature a value greater 0, which is the temperature of the coldest chain
+	 * @param maxTemperature a value greater or equal to minTemperature, which is the temperature of the hottest chain
+	 * @throws IllegalArgumentException if the problem is null or one parameter is out of is boundaries
+	 */
+	public ParallelTempering(SimulatedAnnealingProblem<T> problem, boolean minimum, 
+			int chains, double minTemperature, double maxTemperature) {
+		super(minimum);
+		if (problem!=null) this.problem=problem;
+		else throw new IllegalArgumentException("problem should never be null!");
+		if (chains>0) this.chains=chains;
+		else throw new IllegalArgumentException("chains must be greater than zero!");
+		if (minTemperature>0) this.minTemperature=minTemperature;
+		else throw new IllegalArgumentException("The given minimum temperature must be greater 0");
+		if (maxTemperature>=minTemperature) this.maxTemperature=maxTemperature;
+		else throw new IllegalArgumentException("The given maximum temperature must not be less then the minimum temperature");
+	}
+	
+	/**
+	 * Creates a new parallel tempering with the given problem,
+	 * the direction given by the minimum flag, the number of chains,
+	 * the temperatures of the coldest and the hottest chain
+	 * and the seed of its random value generator.
+	 * 
+	 * @param problem the SimulatedAnnealingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @param chains the number of chains <i>(Must be a positive value)</i>
+	 * @param minTemperature a value greater 0, which is the temperature of the coldest chain
+	 * @param maxTemperature a value greater or equal to minTemperature, which is the temperature of the hottest chain
+	 * @param seed the seed of the random value generator
+	 * @throws IllegalArgumentException if the problem is null or one parameter is out of is boundaries
+	 * 
+	 * @see core.UndirectedSearch#setSeed(long)
+	 */
+	public ParallelTempering(SimulatedAnnealingProblem<T> problem, boolean minimum, 
+			int chains, double minTemperature, double maxTemperature, long seed) {
+		this(problem,minimum,chains,minTemperature,maxTemperature);
+		setSeed(seed);
+	}
+	
+	/**
+	 * This method returns the problem, with which this search has been created.
+	 * 
+	 * @return the problem to be solved
+	 */
+	public SimulatedAnnealingProblem<T> getProblem() {
+		return problem;
+	}
+	
+	/**
+	 * Returns the number of chains.
+	 * 
+	 * @return the number of chains
+	 */
+	public int getChains() {
+		return chains;
+	}
+	
+	/**
+	 * Returns the temperature of the chain with the given index, 
+	 * where the chain 0 is the coldest chain.
+	 * 
+	 * @param chain the index of the chain
+	 * @return the temperature of the chain
+	 * @throws IndexOutOfBoundsException if there is no chain with the given index
+	 */
+	public double getTemperature(int chain) {
+		if ((chain<0) || (chain>=chains)) throw new IndexOutOfBoundsException("there is no chain "+chain);
+		if (chains==1) return minTemperature;
+		return minTemperature*Math.pow(maxTemperature/minTemperature,chain/(double)(chains-1));
+	}
+	
+	/**
+	 * Returns the number of threads used during the search.
+	 * The default value is the number of available processors.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+	
+	/**
+	 * This method sets the number of threads used during the search.
+	 * This operation has only effect if the given value is greater then 0.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param threads the number of threads
+	 */
+	public void setThreads(int threads) {
+		if ((threads>0) && (! initialized())) this.threads=threads;
+	}
+	
+	/**
+	 * Returns the number of steps each chain takes between two swaps.
+	 * The default value is 100.
+	 * 
+	 * @return the number of steps between two swaps
+	 */
+	public int getInterval() {
+		return interval;
+	}
+	
+	/**
+	 * This method sets the number of steps each chain takes between two swaps.
+	 * This operation has only effect if the given value is greater then 0.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param interval the number of steps between two swaps
+	 */
+	public void setInterval(int interval) {
+		if ((interval>0) && (! initialized())) this.interval=interval;
+	}
+	
+	/**
+	 * Returns the maximum amount of rounds (steps of all chains followed by the swaps)
+	 * without improvement to the search result, before the search terminates.
+	 * The default value is 100.
+	 * 
+	 * @return amount of rounds without improvements
+	 */
+	public int getMaxSame() {
+		return maxSame;
+	}
+	
+	/**
+	 * This method sets the maximum amount of rounds without improvements to the search result.
+	 * This operation has only effect if the given value is greater then 0.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param maxSame the maximum amount of rounds without improvements
+	 */
+	public void setMaxSame(int maxSame) {
+		if ((maxSame>0) && (! initialized())) this.maxSame=maxSame;
+	}
+	
+	/**
+	 * Returns the time limit of a search run in milliseconds.
+	 * The default value is 0, which means that there is no time limit.
+	 * 
+	 * @return the time limit in milliseconds
+	 */
+	public long getTimeLimit() {
+		return timeLimit;
+	}
+	
+	/**
+	 * This method sets the time limit of a search run in milliseconds.
+	 * When the time limit has been exceeded the search terminates with the best state found so far.
+	 * A value of 0 removes the time limit.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param timeLimit the time limit in milliseconds or 0
+	 */
+	public void setTimeLimit(long timeLimit) {
+		if ((timeLimit>=0) && (! initialized())) this.timeLimit=timeLimit;
+	}
+	
+	/**
+	 * Returns the number of accepted swaps during the last search run.
+	 * 
+	 * @return the number of accepted swaps
+	 */
+	public long getSwaps() {
+		return swaps;
+	}
+	
+	/**
+	 * This method delegates the difference operation to the problem description and
+	 * then inverts the result if necessary (if minimum search is used).<br>
+	 *  
+	 * @param x the operand from which the difference is computed
+	 * @param y the operand to which the difference is computed
+	 * 
+	 * @return a negative double, zero, or a positive double
+	 * which indicates the difference of state x to state y according to the search direction 
+	 */
+	protected double difference(T x,T y){
+		double result=problem.difference(x, y);
+		return (minimum() ? result : -result);
+	}
+	
+	/**
+	 * This method checks if the given problem returns a valid initial state.
+	 * 
+	 * @see core.Search#canPrepare()
+	 */
+	@Override
+	protected final boolean canPrepare() {
+		return problem.initial()!=null;
+	}
+	
+	/**
+	 * This method creates the pool of threads.
+	 * 
+	 * @see core.Search#prepare()
+	 */
+	@Override
+	protected final void prepare() {
+		pool=Executors.newFixedThreadPool(Math.min(threads,chains));
+		done=false;
+		goal=null;
+		swaps=0;
+	}
+	
+	/**
+	 * In detail the search algorithm can be described in the following way:
+	 * 
+	 * <pre><code>
+	 * chain[i].current = problem.initial(); for each chain i
+	 * result = problem.initial();
+	 * while( running() ){
+	 * 	for each chain i in parallel 
+	 * 		repeat interval times: annealing_step(chain[i], temperature[i]);
+	 * 	if (difference(result,best_state_of_all_chains) &gt; 0)
+	 * 		result = best_state_of_all_chains;
+	 * 	for each pair of neighboring chains i, j=i+1 
+	 * 		delta = difference(chain[i].current, chain[j].current);
+	 * 		if ( (delta &gt; 0) || (random.nextDouble() &lt; Math.exp( delta * (1/temperature[i] - 1/temperature[j]) ) )
+	 * 			swap(chain[i].current, chain[j].current);
+	 * }
+	 * </code></pre>
+	 * The loop ends if one chain found a goal, the time limit has been exceeded 
+	 * or there were no better states found since several rounds.
+	 * The pairs of neighboring chains alternate between even and odd indices on successive rounds.
+	 * 
+	 * @see core.Search#search()
+	 */
+	@Override
+	protected void search() {
+		deadline=System.nanoTime()+(timeLimit>0 ? timeLimit*1000000L : Long.MAX_VALUE/2);
+		T initial=problem.initial();
+		result=initial;
+		List<Chain> ladder=new ArrayList<Chain>(chains);
+		for (int i=0;i<chains;i++)
+			ladder.add(new Chain(getTemperature(i),getRandom().split(),initial));
+		int same=0;
+		int round=0;
+		long counted=0;
+		try{
+			if (problem.isGoal(initial)) offer(initial);
+			while (!done && same<maxSame && running()){
+				for (Future<Void> future: pool.invokeAll(ladder)) future.get();
+				same++;
+				long sum=0;
+				for (Chain chain: ladder){
+					sum+=chain.expanded;
+					if (difference(result,chain.best)>0){
+						result=chain.best;
+						same=0;
+					}
+				}
+				countExpansions(sum-counted);
+				counted=sum;
+				exchange(ladder,round++);
+			}
+		}catch (InterruptedException e){
+			done=true;
+			Thread.currentThread().interrupt();
+		}catch (ExecutionException e){
+			throw new IllegalStateException("a thread of the search failed",e.getCause());
+		}finally{
+			pool.shutdownNow();
+			long steps=0, generated=0;
+			for (Chain chain: ladder){
+				steps+=chain.steps;
+				generated+=chain.generated;
+			}
+			neededSteps=(int)Math.min(steps,Integer.MAX_VALUE);
+			countGenerated(generated);
+			synchronized (this) {
+				if (goal!=null) result=goal;
+			}
+		}
+	}
+	
+	/**
+	 * Tries to swap the current states of neighboring chains,
+	 * starting with the pairs at even indices on even rounds and odd indices on odd rounds.
+	 */
+	private void exchange(List<Chain> ladder, int round){
+		for (int i=round%2;i+1<ladder.size();i+=2){
+			Chain cold=ladder.get(i), hot=ladder.get(i+1);
+			double delta=difference(cold.current,hot.current)*(1/cold.temperature-1/hot.temperature);
+			if ((delta>=0) || (getRandom().nextDouble()<Math.exp(delta))){
+				T state=cold.current;
+				cold.current=hot.current;
+				hot.current=state;
+				List<T> successors=cold.successors;
+				cold.successors=hot.successors;
+				hot.successors=successors;
+				swaps++;
+			}
+		}
+	}
+	
+	/**
+	 * Saves the given goal state and stops all chains.
+	 */
+	private synchronized void offer(T state){
+		if (goal==null){
+			goal=state;
+			done=true;
+		}
+	}
+	
+}
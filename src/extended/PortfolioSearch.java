@@ -0,0 +1,293 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import basic.AStarSearch;
+import basic.GreedySearch;
+import basic.IterativeDeepeningAStar;
+import core.HeuristicProblem;
+import core.Search;
+import core.SearchListener;
+
+/**
+ * The portfolio search races several search strategies for the same problem against each other.
+ * Each strategy is executed in its own thread and the first acceptable result wins.
+ * Afterwards all other strategies are stopped.<br>
+ * <br>
+ * A strategy is registered together with a flag telling whether its results are optimal
+ * (like the results of the basic.AStarSearch with an admissible heuristic).
+ * If the portfolio requires optimal results, only the optimal strategies will be started,
+ * otherwise the first result of any strategy will be accepted.
+ * The strategy which found the result can be obtained by calling PortfolioSearch#getWinner().<br>
+ * <br>
+ * The following constraints hold for the strategies:
+ * <ul>
+ * <li>Each strategy must yield <code>null</code> as result if it found no solution.</li>
+ * <li>The methods of the problem must be thread safe, because they are called from all threads.</li>
+ * <li>A strategy must not be registered in two portfolios running at the same time.</li>
+ * </ul>
+ * <b>Note:</b> The number of steps (neededSteps) is the sum of the steps of all started strategies,
+ * so it depends on the scheduling of the threads and is not deterministic. 
+ * 
+ * @see user.Searchs#portfolio(HeuristicProblem, boolean)
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements of the search domain.
+ */
+public class PortfolioSearch<T> extends Search<T> {
+	
+	private class Runner extends Thread implements SearchListener<T>{
+		private final Search<T> strategy;
+		private volatile Throwable failure=null;
+		
+		public Runner(Search<T> strategy, int id){
+			super("PortfolioSearch-"+id);
+			this.strategy=strategy;
+			setDaemon(true);
+		}
+		
+		@Override
+		public void onStart(Search<T> search) {
+			// a stop request before the start of the strategy would be lost otherwise
+			if (done) search.stop();
+		}
+		
+		@Override
+		public void run() {
+			strategy.addListener(this);
+			try{
+				if (!done) strategy.run();
+			}catch(Throwable e){
+				failure=e;
+			}finally{
+				strategy.removeListener(this);
+				finished.add(this);
+			}
+		}
+	}
+	
+	/**
+	 * holds the registered strategies 
+	 */
+	private final List<Search<T>> strategies=new ArrayList<Search<T>>();
+	/**
+	 * holds for each registered strategy whether its results are optimal
+	 */
+	private final List<Boolean> optimal=new ArrayList<Boolean>();
+	/**
+	 * holds whether only optimal results are accepted
+	 */
+	private boolean requireOptimal=false;
+	
+	private List<Runner> runners=null;
+	private final BlockingQueue<Runner> finished=new LinkedBlockingQueue<Runner>();
+	private volatile boolean done=false;
+	private Search<T> winner=null;
+	
+	/**
+	 * Creates a new empty portfolio search.
+	 * Strategies must be added by calling PortfolioSearch#addStrategy(Search, boolean).
+	 */
+	public PortfolioSearch() {
+		super();
+	}
+	
+	/**
+	 * Creates a new portfolio search for the given problem, 
+	 * which races an basic.AStarSearch, an basic.IterativeDeepeningAStar (both optimal)
+	 * and a basic.GreedySearch (not optimal).<br>
+	 * <b>Note:</b> The results of the AStarSearch and the IterativeDeepeningAStar
+	 * are only optimal if the heuristic of the problem is admissible.
+	 * 
+	 * @param problem the HeuristicProblem to be solved
+	 * @throws IllegalArgumentException if the given problem is null
+	 */
+	public PortfolioSearch(HeuristicProblem<T> problem) {
+		super();
+		if (problem==null) throw new IllegalArgumentException("problem should never be null!");
+		addStrategy(new AStarSearch<T>(problem),true);
+		addStrategy(new IterativeDeepeningAStar<T>(problem),true);
+		addStrategy(new GreedySearch<T>(problem),false);
+	}
+	
+	/**
+	 * This method registers a new strategy.<br>
+	 * <b>Note:</b> Strategies should only be added while the search is not running.
+	 * 
+	 * @param strategy the search to be raced against the other strategies
+	 * @param optimal true if the results of the strategy are optimal
+	 * @throws IllegalArgumentException if the strategy is null or already registered
+	 */
+	public void addStrategy(Search<T> strategy, boolean optimal){
+		if (strategy==null) throw new IllegalArgumentException("strategy should never be null!");
+		if (strategy==this || strategies.contains(strategy))
+			throw new IllegalArgumentException("strategy is already registered!");
+		strategies.add(strategy);
+		this.optimal.add(optimal);
+	}
+	
+	/**
+	 * This method returns an unmodifiable list of all registered strategies.
+	 * 
+	 * @return the registered strategies
+	 */
+	public List<Search<T>> getStrategies(){
+		return Collections.unmodifiableList(strategies);
+	}
+	
+	/**
+	 * This method tells whether the given strategy has been registered as optimal.
+	 * 
+	 * @param strategy a registered strategy
+	 * @return true if the strategy is registered and its results are optimal
+	 */
+	public boolean isOptimal(Search<T> strategy){
+		int i=strategies.indexOf(strategy);
+		return (i>=0) && optimal.get(i);
+	}
+	
+	/**
+	 * This method sets whether only optimal results are accepted (default is false).
+	 * 
+	 * @param requireOptimal true if only the optimal strategies should be started
+	 */
+	public void setRequireOptimal(boolean requireOptimal){
+		this.requireOptimal=requireOptimal;
+	}
+	
+	/**
+	 * This method tells whether only optimal results are accepted.
+	 * 
+	 * @return true if only the optimal strategies are started
+	 */
+	public boolean isRequireOptimal(){
+		return requireOptimal;
+	}
+	
+	/**
+	 * This method returns the strategy which found the result of the last search run.
+	 * 
+	 * @return the winning strategy or null if no strategy found a result
+	 */
+	public Search<T> getWinner(){
+		return winner;
+	}
+	
+	/**
+	 * This method checks if at least one strategy can be started.
+	 * 
+	 * @see core.Search#canPrepare()
+	 */
+	@Override
+	protected final boolean canPrepare() {
+		return requireOptimal?optimal.contains(Boolean.TRUE):!strategies.isEmpty();
+	}
+	
+	/**
+	 * This method creates a thread for each strategy, which will be started.
+	 * 
+	 * @see core.Search#prepare()
+	 */
+	@Override
+	protected final void prepare() {
+		runners=new ArrayList<Runner>();
+		for (int i=0;i<strategies.size();i++)
+			if (!requireOptimal || optimal.get(i))
+				runners.add(new Runner(strategies.get(i),i));
+		finished.clear();
+		done=false;
+		winner=null;
+	}
+
+	/**
+	 * This method starts all strategies and waits until one of them found a result
+	 * or all of them have been terminated.
+	 * Afterwards all strategies are stopped and the calling thread waits for their termination.
+	 * 
+	 * @see core.Search#search()
+	 */
+	@Override
+	protected void search() {
+		for (Runner r : runners) r.start();
+		int remaining=runners.size();
+		long counted=0;
+		Throwable failure=null;
+		try{
+			while (remaining>0 && running()){
+				Runner r=finished.poll(10,TimeUnit.MILLISECONDS);
+				long expanded=expanded();
+				countExpansions(expanded-counted);
+				counted=expanded;
+				if (r==null) continue;
+				remaining--;
+				if (r.failure!=null){
+					failure=r.failure;
+				}else if (r.strategy.getResult()!=null){
+					winner=r.strategy;
+					result=winner.getResult();
+					break;
+				}
+			}
+			done=true;
+			for (Runner r : runners) r.strategy.stop();
+			for (Runner r : runners) r.join();
+		}catch (InterruptedException e){
+			done=true;
+			for (Runner r : runners) r.strategy.stop();
+			Thread.currentThread().interrupt();
+		}
+		countExpansions(expanded()-counted);
+		long steps=0;
+		for (Runner r : runners){
+			steps+=r.strategy.neededSteps();
+			countGenerated(r.strategy.getStatistics().getGenerated());
+			countDuplicates(r.strategy.getStatistics().getDuplicates());
+			countEvaluations(r.strategy.getStatistics().getEvaluations());
+		}
+		neededSteps=(int)Math.min(steps,Integer.MAX_VALUE);
+		if (winner==null && failure!=null) throw new IllegalStateException("a strategy of the search failed",failure);
+	}
+	
+	private long expanded(){
+		long sum=0;
+		for (Runner r : runners) sum+=r.strategy.getStatistics().getExpansions();
+		return sum;
+	}
+	
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.Random;
+
+/**
+ * This is an optional extension of the hill climbing problem,
+ * which creates random initial states for the hill climbing with random restarts.<br>
+ * <br>
+ * The extended.RestartingHillClimbing starts each restart from a state created by randomInitial().
+ * If the problem does not implement this interface, each restart starts from the state 
+ * returned by core.Problem#initial(), which should then be a random generated state
+ * <i>(as explained in the description of the extended.HillClimbingProblem)</i>.<br>
+ * The random values should be drawn from the given random value generator,
+ * so the restarts can be replayed and several threads create initial states without contention.
+ * 
+ * @see extended.RestartingHillClimbing
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements in the search domain
+ */
+public interface RandomInitialProblem<T> extends HillClimbingProblem<T> {
+	/**
+	 * Creates a new random initial state.
+	 * 
+	 * @param random the random value generator to be used
+	 * @return a random initial state, which is never null
+	 */
+	public T randomInitial(Random random);
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.Random;
+
+/**
+ * This is an optional extension of the simulated annealing problem,
+ * which draws a single random successor of a state without building the whole list of successors.<br>
+ * <br>
+ * A successor is described by a move, which is a non negative <code>long</code> value 
+ * chosen by the problem (like the index of the successor in the list of successors).
+ * The simulated annealing draws a move with sample(), 
+ * evaluates it with difference(state,move) and creates the successor with apply() 
+ * only if the move has been accepted.
+ * So the costs of each step depend on the costs of sampling and evaluating a single move,
+ * instead of the number of successors of the current state.<br>
+ * The moves drawn by sample() must lead to the same successors as the list returned by expand.
+ * 
+ * @see extended.SimulatedAnnealing
+ * 
+ * @author eden06
+ *
+ * @param <T> the specific type of all elements in the search domain
+ */
+public interface RandomNeighborProblem<T> extends SimulatedAnnealingProblem<T> {
+	/**
+	 * Draws a random move leading from the given state to one of its successors.
+	 * 
+	 * @param state the current state
+	 * @param random the random value generator to be used
+	 * @return a non negative move or -1 if the state has no successors
+	 */
+	public long sample(T state, Random random);
+	/**
+	 * Computes the difference between the given state and the successor reached by the given move,
+	 * which must be equal to <code>difference(state,apply(state,move))</code>, 
+	 * but should not create the successor.
+	 * 
+	 * @param state the current state
+	 * @param move drawn by sample(state,random)
+	 * @return the difference of the state to its successor
+	 */
+	public double difference(T state, long move);
+	/**
+	 * Creates the successor reached from the given state by the given move.
+	 * 
+	 * @param state the current state
+	 * @param move drawn by sample(state,random)
+	 * @return the successor of the state
+	 */
+	public T apply(T state, long move);
+}
@@ -0,0 +1,534 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package extended;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import util.SplitRandom;
+import core.UndirectedSearch;
+import extended.HillClimbing.EStrategy;
+
+/**
+ * The restarting hill climbing runs the extended.HillClimbing several times from random initial states
+ * on a pool of threads and keeps the best result of all restarts.<br>
+ * <br>
+ * Each thread owns a hill climbing search, which is restarted from a new initial state 
+ * until the maximum number of restarts (see getMaxRestarts()) has been reached.
+ * The initial states are created by extended.RandomInitialProblem#randomInitial(java.util.Random) 
+ * if the problem implements this interface, or by core.Problem#initial() otherwise.
+ * So the restarts are independent and each additional thread shortens the time until a good state has been found.<br>
+ * The search terminates as soon as the result of one restart is a goal state (see core.Problem#isGoal(java.lang.Object)),
+ * all restarts are finished, the time limit has been exceeded or the search has been stopped.
+ * The running restarts of the other threads are stopped then.
+ * The result of the search is the best result of all restarts
+ * and the statistics of each restart can be obtained by calling getRestarts().<br>
+ * <br>
+ * Each thread draws its random values from its own util.SplitRandom, 
+ * which is split from the random value generator of the search (see core.UndirectedSearch#getRandom()).
+ * The following constraints hold for the problem:
+ * <ul>
+ * <li>The isGoal method must be implemented in a proper way, because it is called for the result of each restart.</li>
+ * <li>The methods of the problem must be thread safe, because they are called from all threads.</li>
+ * <li>The strategy must be thread safe, because it is shared by all threads (like the default strategies).</li>
+ * </ul>
+ * <b>Note:</b> The order in which the threads take the restarts depends on the scheduling of the threads, 
+ * so the search is only reproducible with a single thread and a fixed seed.
+ * 
+ * @param <T> the specific type of all elements in the search domain
+ * 
+ * @see extended.HillClimbing
+ * @see extended.RandomInitialProblem
+ * 
+ * @author eden06
+ *
+ */
+public class RestartingHillClimbing<T> extends UndirectedSearch<T> {
+	
+	/**
+	 * This class holds the statistics of a single restart.
+	 * 
+	 * @param <T> the specific type of all elements in the search domain
+	 */
+	public static final class Restart<T> {
+		private final int index;
+		private final T result;
+		private final boolean solved;
+		private final int neededSteps;
+		private final int neededSideSteps;
+		private final long elapsed;
+		
+		private Restart(int index, T result, boolean solved, int neededSteps, int neededSideSteps, long elapsed) {
+			this.index=index;
+			this.result=result;
+			this.solved=solved;
+			this.neededSteps=neededSteps;
+			this.neededSideSteps=neededSideSteps;
+			this.elapsed=elapsed;
+		}
+		
+		/**
+		 * This method returns the number of the restart, starting with 0.
+		 * 
+		 * @return the number of the restart
+		 */
+		public int getIndex() {
+			return index;
+		}
+		
+		/**
+		 * This method returns the result of the restart or null if it has been stopped.
+		 * 
+		 * @return the result of the restart
+		 */
+		public T getResult() {
+			return result;
+		}
+		
+		/**
+		 * This method returns true if the result of the restart is a goal state.
+		 * 
+		 * @return true if the restart has found a goal
+		 */
+		public boolean isSolved() {
+			return solved;
+		}
+		
+		/**
+		 * This method returns the number of steps the restart needed.
+		 * 
+		 * @return the number of steps
+		 * @see extended.HillClimbing#neededSteps()
+		 */
+		public int getNeededSteps() {
+			return neededSteps;
+		}
+		
+		/**
+		 * This method returns the number of side steps the restart needed.
+		 * 
+		 * @return the number of side steps
+		 * @see extended.HillClimbing#neededSideSteps()
+		 */
+		public int getNeededSideSteps() {
+			return neededSideSteps;
+		}
+		
+		/**
+		 * This method returns the nano seconds the restart needed.
+		 * 
+		 * @return the elapsed time in nano seconds
+		 */
+		public long getElapsedNanos() {
+			return elapsed;
+		}
+		
+		@Override
+		public String toString() {
+			return "restart "+index+(solved?" solved":"")+" after "+neededSteps+" steps: "+result;
+		}
+	}
+	
+	/**
+	 * This class is the hill climbing search of a thread,
+	 * which starts from the initial state of its current restart.
+	 */
+	private class Climber extends HillClimbing<T> {
+		private T start=null;
+		
+		public Climber(long seed) {
+			super(RestartingHillClimbing.this.problem,RestartingHillClimbing.this.minimum(),
+					RestartingHillClimbing.this.strategy,RestartingHillClimbing.this.sideSteps,seed);
+		}
+		
+		@Override
+		protected T initial() {
+			//the restart might have been started after all restarts were stopped
+			if (done) stop();
+			return start;
+		}
+		
+		@Override
+		protected boolean canPrepare() {
+			return start!=null;
+		}
+	}
+	
+	/**
+	 * This class represents a thread, which takes restarts until all restarts are taken or the search is done.
+	 */
+	private class Worker implements Callable<Void> {
+		private final SplitRandom random;
+		private final Climber climber;
+		private long expanded=0, generated=0;
+		
+		public Worker(SplitRandom random) {
+			this.random=random;
+			this.climber=new Climber(random.nextLong());
+		}
+		
+		@Override
+		public Void call() {
+			int index;
+			while (!done && running() && ((index=started.getAndIncrement())<maxRestarts)){
+				climber.start=initial(random);
+				long time=System.nanoTime();
+				climber.run();
+				time=System.nanoTime()-time;
+				expanded+=climber.getStatistics().getExpansions();
+				generated+=climber.getStatistics().getGenerated();
+				T state=climber.getResult();
+				offer(new Restart<T>(index,state,(state!=null) && problem.isGoal(state),
+						climber.neededSteps(),climber.neededSideSteps(),time));
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * holds a reference to the problem to be solved
+	 */
+	protected HillClimbingProblem<T> problem=null;
+	/**
+	 * holds the strategy used by all hill climbing searches
+	 */
+	protected HillClimbingStrategy<T> strategy=null;
+	/**
+	 * the amount of side steps allowed during each restart
+	 */
+	private int sideSteps=0;
+	/**
+	 * holds the number of threads used during the search
+	 */
+	private int threads=Runtime.getRuntime().availableProcessors();
+	/**
+	 * holds the maximum number of restarts
+	 */
+	private int maxRestarts=100;
+	/**
+	 * holds the time limit of a search run in milliseconds or zero if there is no limit
+	 */
+	private long timeLimit=0;
+	
+	private ExecutorService pool=null;
+	private List<Worker> workers=null;
+	private final AtomicInteger started=new AtomicInteger();
+	private volatile boolean done=false;
+	private final List<Restart<T>> restarts=new ArrayList<Restart<T>>();
+	private T best=null;
+	private boolean solved=false;
+	
+	/**
+	 * Creates a new restarting hill climbing search, with the given problem.
+	 * The search will look for a global minimum with a best choice strategy and
+	 * no allowed side steps.
+	 * 
+	 * @param problem the HillClimbingProblem to be solved
+	 * 
+	 * @throws IllegalArgumentException if the problem is null
+	 */
+	public RestartingHillClimbing(HillClimbingProblem<T> problem) {
+		this(problem,true,new BestChoiceStrategy<T>(),0);
+	}
+	
+	/**
+	 * Creates a new restarting hill climbing search, with the given problem, 
+	 * the direction given by the minimum flag and the allowed number of sideSteps of each restart.
+	 * The search will use the selected strategy.
+	 * 
+	 * @param problem the HillClimbingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @param strategy enumeration indicating which of the default strategies to use
+	 * @param sideSteps the number of allowed side steps during each restart
+	 * 
+	 * @throws IllegalArgumentException if problem or strategy is null and if sideSteps is smaller than zero
+	 */
+	public RestartingHillClimbing(HillClimbingProblem<T> problem, boolean minimum, EStrategy strategy, int sideSteps) {
+		this(problem,minimum,(strategy==EStrategy.FIRST_CHOICE ? new FirstChoiceStrategy<T>() : 
+			(strategy==null ? null : new BestChoiceStrategy<T>())),sideSteps);
+	}
+	
+	/**
+	 * Creates a new restarting hill climbing search, with the given problem, 
+	 * the direction given by the minimum flag and the allowed number of sideSteps of each restart.
+	 * The search will use the given HillClimbingStrategy, which is shared by all threads.
+	 * 
+	 * @param problem the HillClimbingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @param strategy a thread safe HillClimbingStrategy instance for the search
+	 * @param sideSteps the number of allowed side steps during each restart
+	 * 
+	 * @throws IllegalArgumentException if problem or strategy is null and if sideSteps is smaller than zero
+	 */
+	public RestartingHillClimbing(HillClimbingProblem<T> problem, boolean minimum, HillClimbingStrategy<T> strategy, int sideSteps) {
+		super(minimum);
+		if (problem!=null) this.problem=problem; 
+		else throw new IllegalArgumentException("problem should never be null!");
+		if (strategy!=null) this.strategy=strategy;
+		else throw new IllegalArgumentException("strategy should never be null");
+		if (sideSteps>=0) this.sideSteps=sideSteps;
+		else throw new IllegalArgumentException("sidesSteps must be greater or equal zero");
+	}
+	
+	/**
+	 * This method delegates the compare operation to the comparator of the problem and
+	 * then inverts the value if necessary (if minimum search is used).
+	 * 
+	 * @param x
+	 *  left side of the comparison
+	 * @param y
+	 *  right side of the comparison
+	 * @return -1,0 or 1 in respect to the comparator and search direction
+	 * @see extended.HillClimbing#compare(Object, Object)
+	 */
+	public final int compare(T x,T y){
+		int result=problem.compare(x,y);
+		return (minimum() ? -result : result);
+	}
+	
+	/**
+	 * This method returns the problem, with which this search has been created.
+	 * 
+	 * @return the problem to be solved
+	 */
+	public final HillClimbingProblem<T> getProblem(){
+		return problem;
+	}
+	
+	/**
+	 * This method returns the HillClimbingStrategy used by all restarts.
+	 * 
+	 * @return the strategy used during the hill climbing search
+	 */
+	public final HillClimbingStrategy<T> getStrategy() {
+		return strategy;
+	}
+	
+	/**
+	 * Returns the number of side steps allowed during each restart.
+	 * 
+	 * @return the number of allowed side steps
+	 */
+	public int getSideSteps() {
+		return sideSteps;
+	}
+	
+	/**
+	 * Returns the number of threads used during the search.
+	 * The default value is the number of available processors.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+	
+	/**
+	 * This method sets the number of threads used during the search.
+	 * This operation has only effect if the given value is greater then 0.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param threads the number of threads
+	 */
+	public void setThreads(int threads) {
+		if ((threads>0) && (! initialized())) this.threads=threads;
+	}
+	
+	/**
+	 * Returns the maximum number of restarts of a search run.
+	 * The default value is 100.
+	 * 
+	 * @return the maximum number of restarts
+	 */
+	public int getMaxRestarts() {
+		return maxRestarts;
+	}
+	
+	/**
+	 * This method sets the maximum number of restarts of a search run.
+	 * This operation has only effect if the given value is greater then 0.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param maxRestarts the maximum number of restarts
+	 */
+	public void setMaxRestarts(int maxRestarts) {
+		if ((maxRestarts>0) && (! initialized())) this.maxRestarts=maxRestarts;
+	}
+	
+	/**
+	 * Returns the time limit of a search run in milliseconds.
+	 * The default value is 0, which means that there is no time limit.
+	 * 
+	 * @return the time limit in milliseconds
+	 */
+	public long getTimeLimit() {
+		return timeLimit;
+	}
+	
+	/**
+	 * This method sets the time limit of a search run in milliseconds.
+	 * When the time limit has been exceeded the running restarts are stopped 
+	 * and the search terminates with the best result found so far.
+	 * A value of 0 removes the time limit.<br>
+	 * <b>Note:</b> This method has only effect if the search has not been initialized.
+	 * 
+	 * @param timeLimit the time limit in milliseconds or 0
+	 */
+	public void setTimeLimit(long timeLimit) {
+		if ((timeLimit>=0) && (! initialized())) this.timeLimit=timeLimit;
+	}
+	
+	/**
+	 * Returns the statistics of the restarts of the last search run in the order they have been finished.
+	 * Restarts which have been stopped have no result.
+	 * 
+	 * @return the list of restarts
+	 */
+	public synchronized List<Restart<T>> getRestarts() {
+		return Collections.unmodifiableList(new ArrayList<Restart<T>>(restarts));
+	}
+	
+	/**
+	 * Creates the initial state of a restart.
+	 */
+	@SuppressWarnings("unchecked")
+	private T initial(SplitRandom random){
+		if (problem instanceof RandomInitialProblem<?>) return ((RandomInitialProblem<T>) problem).randomInitial(random);
+		return problem.initial();
+	}
+	
+	/**
+	 * This method checks if the given problem creates random initial states or returns a valid initial state.
+	 * 
+	 * @see core.Search#canPrepare()
+	 */
+	@Override
+	protected final boolean canPrepare() {
+		return (problem instanceof RandomInitialProblem<?>) || (problem.initial()!=null);
+	}
+	
+	/**
+	 * This method creates the pool of threads and a hill climbing search for each thread.
+	 * 
+	 * @see core.Search#prepare()
+	 */
+	@Override
+	protected final void prepare() {
+		int size=Math.min(threads,maxRestarts);
+		pool=Executors.newFixedThreadPool(size);
+		workers=new ArrayList<Worker>(size);
+		for (int i=0;i<size;i++) workers.add(new Worker(getRandom().split()));
+		started.set(0);
+		done=false;
+		synchronized (this) {
+			restarts.clear();
+			best=null;
+			solved=false;
+		}
+	}
+	
+	/**
+	 * This method starts a thread for each hill climbing search and waits until all restarts are finished,
+	 * one restart found a goal, the time limit has been exceeded or the search has been stopped.
+	 * 
+	 * @see core.Search#search()
+	 */
+	@Override
+	protected void search() {
+		long deadline=System.nanoTime()+(timeLimit>0 ? timeLimit*1000000L : Long.MAX_VALUE/2);
+		List<Future<Void>> futures=new ArrayList<Future<Void>>(workers.size());
+		try{
+			for (Worker worker: workers) futures.add(pool.submit(worker));
+			for (Future<Void> future: futures){
+				while (true){
+					try{
+						future.get(10,TimeUnit.MILLISECONDS);
+						break;
+					}catch (TimeoutException e){
+						if ((!running()) || (System.nanoTime()-deadline>=0)) halt();
+					}
+				}
+			}
+		}catch (InterruptedException e){
+			halt();
+			Thread.currentThread().interrupt();
+		}catch (ExecutionException e){
+			halt();
+			throw new IllegalStateException("a thread of the search failed",e.getCause());
+		}finally{
+			pool.shutdownNow();
+			long steps=0, expanded=0, generated=0;
+			synchronized (this) {
+				for (Restart<T> restart: restarts) steps+=restart.getNeededSteps();
+				result=best;
+			}
+			for (Worker worker: workers){
+				expanded+=worker.expanded;
+				generated+=worker.generated;
+			}
+			neededSteps=(int)Math.min(steps,Integer.MAX_VALUE);
+			countExpansions(expanded);
+			countGenerated(generated);
+		}
+	}
+	
+	/**
+	 * Saves the statistics of the given restart and stops all threads if the restart found a goal.
+	 */
+	private synchronized void offer(Restart<T> restart){
+		restarts.add(restart);
+		T state=restart.getResult();
+		if ((state==null) || solved) return;
+		if (restart.isSolved()){
+			best=state;
+			solved=true;
+			halt();
+		}else if ((best==null) || (compare(best,state)<0)) best=state;
+	}
+	
+	/**
+	 * Stops the running restarts of all threads.
+	 */
+	private void halt(){
+		done=true;
+		for (Worker worker: workers) worker.climber.stop();
+	}
+	
+}
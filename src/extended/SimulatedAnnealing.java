@@ -31,6 +31,7 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package extended;
 
 import java.util.List;
+import java.util.Random;
 
 import core.UndirectedSearch;
 
@@ -68,7 +69,13 @@ import core.UndirectedSearch;
  * If you want to improve the time needed for solving your problem,
  * you have to change the way in which the successor states are generated.
  * <i>(For a further discussion look into the description of the
- * extended.SimulatedAnnealingProblem.)</i>  
+ * extended.SimulatedAnnealingProblem.)</i>
+ * If the problem implements the extended.NeighborhoodProblem interface, 
+ * the random successor is taken from the lazy neighborhood of the current state,
+ * so only the selected successors are created.
+ * If the problem implements the extended.RandomNeighborProblem interface,
+ * a single random move is drawn and evaluated in each step instead
+ * and the successor is only created if the move has been accepted.  
  *   
  * @param <T> the specific type of all elements in the search domain
  * 
@@ -164,6 +171,28 @@ public class SimulatedAnnealing<T> extends UndirectedSearch<T> {
   else throw new IllegalArgumentException("The given maximum number of steps (maxSame) must be greater 0");
 	}
 	
+	/**
+	 * Creates a new simulated annealing search, with the given problem, 
+	 * the direction given by the minimum flag, the initial temperature,
+	 * the cooling factor, the maximal number of steps without improvements
+	 * and the seed of its random value generator, so the search runs can be replayed.
+	 * 
+	 * @param problem the SimulatedAnnleaingProblem to be solved
+	 * @param minimum flag indicating whether the search looks for minimum values or not
+	 * @param temperature a value greater 0 by which the annealing process starts
+	 * @param factor a value between 0 and 1 by which the temperature will be lowered at each iteration
+	 * @param maxSame the maximum amount of steps without improvements before the search terminates <i>(Must be a positive value)</i>
+	 * @param seed the seed of the random value generator
+	 * 
+	 * @throws IllegalArgumentException if the problem is null or one parameter is out of is boundaries
+	 * 
+	 * @see core.UndirectedSearch#setSeed(long)
+	 */
+	public SimulatedAnnealing(SimulatedAnnealingProblem<T> problem,boolean minimum,double temperature, double factor,int maxSame,long seed){
+		this(problem,minimum,temperature,factor,maxSame);
+		setSeed(seed);
+	}
+	
 	
  /**
   * Creates a new simulated annealing search, with the given problem, 
@@ -223,7 +252,7 @@ public class SimulatedAnnealing<T> extends UndirectedSearch<T> {
 	 */
 	private T select(List<T> expand) {
 		if (expand.isEmpty()) return null;
-		return expand.get(random.nextInt(expand.size()));
+		return expand.get(getRandom().nextInt(expand.size()));
 	}
 	
 	/**
@@ -323,15 +352,23 @@ public class SimulatedAnnealing<T> extends UndirectedSearch<T> {
 	 * 
 	 * @see core.Search#search()
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	protected void search() {
+		if (problem instanceof RandomNeighborProblem<?>){
+			sample((RandomNeighborProblem<T>) problem);
+			return;
+		}
   T current=problem.initial();
   result=current;
 		T next;
 		int same=0;
 		double temp=temperature;
 		double delta;
-		List<T> expanded=problem.expand(current);
+		Random random=getRandom();
+		List<T> expanded=NeighborhoodProblem.successors(problem,current);
+		countExpansion();
+		countGenerated(expanded.size());
 		while(same<maxSame && running()){
 			next=select(expanded);
 			if (next==null) break;
@@ -339,7 +376,45 @@ public class SimulatedAnnealing<T> extends UndirectedSearch<T> {
   	delta=difference(current,next);
   	if ((delta>0) || (random.nextDouble()<Math.exp(delta/temp))){
   		current=next;	
-  		expanded=problem.expand(current);
+  		expanded=NeighborhoodProblem.successors(problem,current);
+  		countExpansion();
+  		countGenerated(expanded.size());
+  	}
+ 		if (difference(result,current)>0){
+ 			result=current;
+ 			same=0;
+ 		}else{
+ 			same++;
+ 			temp=temp*factor;
+ 			notifyTemperatureChange(temp);
+ 		}
+		}		
+	}
+
+	/**
+	 * This is the same algorithm as search(), which draws a single random move in each step
+	 * and creates the successor only if the move has been accepted.
+	 * 
+	 * @param sampler the problem drawing the random moves
+	 */
+	private void sample(RandomNeighborProblem<T> sampler) {
+  T current=sampler.initial();
+  result=current;
+		long move;
+		int same=0;
+		double temp=temperature;
+		double delta;
+		Random random=getRandom();
+		while(same<maxSame && running()){
+			move=sampler.sample(current,random);
+			if (move<0) break;
+			countGenerated(1);
+  	neededSteps++;
+  	delta=sampler.difference(current,move);
+  	if (!minimum()) delta=-delta;
+  	if ((delta>0) || (random.nextDouble()<Math.exp(delta/temp))){
+  		current=sampler.apply(current,move);
+  		countExpansion();
   	}
  		if (difference(result,current)>0){
  			result=current;
@@ -347,6 +422,7 @@ public class SimulatedAnnealing<T> extends UndirectedSearch<T> {
  		}else{
  			same++;
  			temp=temp*factor;
+ 			notifyTemperatureChange(temp);
  		}
 		}		
 	}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package implementation.dijkstra;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import util.SortedQueue;
+import basic.UniformCostSearch;
+import core.HeuristicProblem;
+import core.Search;
+
+/**
+ * Compares the running time of Dijkstra's algorithm 
+ * using the util.IndexedHeap (default queue for updating searches) and the util.SortedQueue.<br>
+ * <br>
+ * Usage: <code>Benchmark [nodes] [degree] [sortedLimit]</code><br>
+ * The benchmark creates random graphs with 10^3 up to the given number of nodes (default 100000),
+ * where each node has the given number of outgoing edges (default 4).
+ * Because the util.SortedQueue needs quadratic time, 
+ * it is only measured on graphs with at most sortedLimit nodes (default 20000).
+ * 
+ * @author eden06
+ */
+public class Benchmark {
+	
+	private static class SortedQueueSearch extends UniformCostSearch<DijkstraState>{
+		public SortedQueueSearch(HeuristicProblem<DijkstraState> problem) {
+			super(problem,true,true);
+			queue=new SortedQueue<DijkstraState>(new Comparator<DijkstraState>() {
+				@Override
+				public int compare(DijkstraState a, DijkstraState b) {
+					return f(a).compareTo(f(b));
+				}
+			});
+		}
+	}
+
+	public static Graph randomGraph(int nodes,int degree,long seed){
+		Random random=new Random(seed);
+		Graph graph=new Graph();
+		for (int i=0;i<nodes;i++){
+			graph.addNode(i);
+			// ensure that each node is reachable from node 0
+			if (i>0) graph.addEdge(random.nextInt(i),1.0+random.nextInt(100),i);
+			for (int j=1;j<degree;j++){
+				graph.addEdge(i,1.0+random.nextInt(100),random.nextInt(nodes));
+			}
+		}
+		return graph;
+	}
+	
+	private static long measure(Search<DijkstraState> search){
+		long time=System.nanoTime();
+		search.run();
+		return (System.nanoTime()-time)/1000000;
+	}
+
+	public static void main(String[] args) {
+		int nodes=(args.length>0 ? Integer.parseInt(args[0]) : 100000);
+		int degree=(args.length>1 ? Integer.parseInt(args[1]) : 4);
+		int sortedLimit=(args.length>2 ? Integer.parseInt(args[2]) : 20000);
+		
+		System.out.format("%10s %10s %15s %15s\n","nodes","steps","IndexedHeap","SortedQueue");
+		for (int n=Math.min(1000,nodes);n<=nodes;n=(n*10>nodes && n<nodes ? nodes : n*10)){
+			Graph graph=randomGraph(n,degree,n);
+			
+			Search<DijkstraState> indexed=new UniformCostSearch<DijkstraState>(new DijkstraProblem(graph,0),true,true);
+			long indexedTime=measure(indexed);
+			
+			String sortedTime="skipped";
+			if (n<=sortedLimit){
+				Search<DijkstraState> sorted=new SortedQueueSearch(new DijkstraProblem(graph,0));
+				sortedTime=measure(sorted)+" ms";
+			}
+			System.out.format("%10d %10d %15s %15s\n",n,indexed.neededSteps(),indexedTime+" ms",sortedTime);
+		}
+	}
+
+}
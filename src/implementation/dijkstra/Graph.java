@@ -30,9 +30,11 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package implementation.dijkstra;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class Graph {
@@ -45,56 +47,71 @@ public class Graph {
 		}				
 	}
 	
-	private Set<Integer> nodes=new HashSet<Integer>();
-	private List<Edge> edges=new LinkedList<Edge>();
+	// adjacency lists of the outgoing and incoming edges of each node 
+	private Map<Integer,List<Edge>> out=new HashMap<Integer,List<Edge>>();
+	private Map<Integer,List<Edge>> in=new HashMap<Integer,List<Edge>>();
 	
 	public Graph(){
 		
 	}
 	
-	protected Graph(Set<Integer> nodes, List<Edge> edges) {
-  this.nodes=new HashSet<Integer>(nodes);
-  this.edges=new LinkedList<Edge>(edges);
+	protected Graph(Graph graph) {
+		for (Integer node : graph.getNodes()) addNode(node);
+		for (List<Edge> edges : graph.out.values()){
+			for (Edge e : edges) addEdge(e.start,e.cost,e.end);
+		}
 	}
 
-	public void addNode(Integer node) { nodes.add(node);	}
+	public void addNode(Integer node) { 
+		if (!out.containsKey(node)){
+			out.put(node,new ArrayList<Edge>(2));
+			in.put(node,new ArrayList<Edge>(2));
+		}
+	}
 
 	public void addEdge(int start,double cost,int end) { 
-		edges.add(new Edge(start,cost,end)); 
-		nodes.add(start); 
-		nodes.add(end); 
+		Edge e=new Edge(start,cost,end);
+		addNode(start); 
+		addNode(end); 
+		out.get(start).add(e);
+		in.get(end).add(e);
 	}
 	
 	public void clear(){ 
-		nodes.clear(); 
-		edges.clear(); 
+		out.clear(); 
+		in.clear(); 
 	}
 	
 	public Double getCost(int start,int end){
-		for (Edge e : edges){
-			if ((e.start==start) && (e.end==end))		return e.cost;
+		List<Edge> edges=out.get(start);
+		if (edges!=null){
+			for (Edge e : edges){
+				if (e.end==end)		return e.cost;
+			}
 		}
 		return Double.POSITIVE_INFINITY;
 	}
 	
 	public List<Integer> successors(Integer node){
 		List<Integer> result=new LinkedList<Integer>();
-		for (Edge e : edges){
-			if (e.start==node)	result.add(e.end);
+		List<Edge> edges=out.get(node);
+		if (edges!=null){
+			for (Edge e : edges)	result.add(e.end);
 		}
 		return result;
 	}
 	
 	public List<Integer> predeccessors(Integer node){
 		List<Integer> result=new LinkedList<Integer>();
-		for (Edge e : edges){
-			if (e.end==node)	result.add(e.start);
+		List<Edge> edges=in.get(node);
+		if (edges!=null){
+			for (Edge e : edges)	result.add(e.start);
 		}
 		return result;
 	}
 	
-	public Set<Integer> getNodes() { return nodes; }
+	public Set<Integer> getNodes() { return out.keySet(); }
 	
-	public Graph copy() { return new Graph(nodes,edges); }	
+	public Graph copy() { return new Graph(this); }	
 	
 }
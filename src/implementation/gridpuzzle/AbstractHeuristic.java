@@ -49,4 +49,23 @@ public abstract class AbstractHeuristic {
 	}
 		
 	public abstract double get(GameGrid current, GameGrid target);
+	
+	/**
+	 * Computes the value of the current grid, which results from a grid with the given value
+	 * by moving the given tile from the cell <code>from</code> into the empty cell <code>to</code>
+	 * (cells are indexed by <code>y*width+x</code>).<br>
+	 * Subclasses should override this method if they can update the previous value 
+	 * from the changed cells only. This implementation simply calls get(current,target).
+	 * 
+	 * @param current the grid after the move
+	 * @param target the goal grid
+	 * @param previous the value of the grid before the move
+	 * @param tile the moved tile
+	 * @param from the cell of the tile before the move
+	 * @param to the cell of the tile after the move
+	 * @return the value of the current grid
+	 */
+	public double update(GameGrid current, GameGrid target, double previous, int tile, int from, int to){
+		return get(current,target);
+	}
 }
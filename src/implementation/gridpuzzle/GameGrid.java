@@ -38,40 +38,88 @@ import java.util.LinkedList;
 import java.util.List;
 
 import util.PackedArray;
+import util.PackedLong;
+import util.Zobrist;
+import core.LongHashable;
 
 /**
+ * Grids with at most 16 cells (like the 4x4 puzzle) are stored in a single long value 
+ * (see PackedLong), so copying, comparing and hashing them are single word operations.
+ * Larger grids are stored in a PackedArray.<br>
+ * Legal grids additionally maintain the inverse permutation (the cell of each tile), 
+ * which is updated by each move, so the position of a tile is found in constant time.<br>
+ * The Zobrist hash of the grid (see hash64()) is updated with each changed cell as well.
+ * 
  * @author Eden_06
  *
  */
-public class GameGrid{
+public class GameGrid implements LongHashable{
 	private boolean legal=false;
 	private PackedArray grid;
+	private long board;
+	private PackedArray positions;
+	private long inverse;
+	private long hash;
 	private int height;
 	private int width;
-	private Point zero;
+	private int zero;
 	
 	public GameGrid(int width, int height){
 		this.width=width;
 		this.height=height;
-		grid=new PackedArray(new int[width*height],width*height);
+		if (width*height>PackedLong.LENGTH){
+			grid=new PackedArray(new int[width*height],width*height);
+			positions=new PackedArray(new int[width*height],width*height);
+		}
+		hash=Zobrist.hash(new int[width*height]);
 	}
 	
 	public GameGrid(GameGrid game){
 		this.width=game.width;
 		this.height=game.height;
 		this.legal=game.legal;
-		if (legal)
-		 this.zero=new Point(game.zero);
-  grid=new PackedArray(game.grid);
+		this.zero=game.zero;
+		this.board=game.board;
+		this.inverse=game.inverse;
+		this.hash=game.hash;
+		if (game.grid!=null){
+			grid=new PackedArray(game.grid);
+			positions=new PackedArray(game.positions);
+		}
 	}
 	
 	public static int distance(int x1, int y1,int x2, int y2){
 		return Math.abs(x1-x2)+Math.abs(y1-y2);
 	}
 	
+	private int cell(int index){
+		return (grid==null) ? PackedLong.get(board,index) : grid.get(index);
+	}
+	
+	private void cell(int index,int value){
+		hash^=Zobrist.key(cell(index),index) ^ Zobrist.key(value,index);
+		if (grid==null) board=PackedLong.set(board,index,value);
+		else grid.set(index,value);
+	}
+	
+	private void position(int value,int index){
+		if (grid==null) inverse=PackedLong.set(inverse,value,index);
+		else positions.set(value,index);
+	}
+	
+	/**
+	 * Rebuilds the inverse permutation and the position of the empty cell of a legal grid.
+	 */
+	private void index(){
+		for (int i=0;i<width*height;i++){
+			position(cell(i),i);
+		}
+		zero=(grid==null) ? PackedLong.get(inverse,0) : positions.get(0);
+	}
+	
 	public int get(int x,int y){
 		if ((x>=0) && (y>=0) && (x<width) && (y<height)){
-			return grid.get(y*width+x);
+			return cell(y*width+x);
 		}else{
 			return -1;
 		}
@@ -80,7 +128,7 @@ public class GameGrid{
 	public void set(int x,int y,int value){
 		if ((x>=0) && (y>=0) && (x<width) && (y<height)){
 			if ((value>-1) && (value<width*height)){
-				grid.set(y*width+x,value);
+				cell(y*width+x,value);
 				legal=false;
 			}
 		}			
@@ -88,7 +136,7 @@ public class GameGrid{
 
 	public boolean isLegal(){
 		if (! legal){
-			int[] a=grid.unpack();
+			int[] a=toArray();
 			Arrays.sort(a);
 			legal=true;
 			for (int i=0;i<width*height;i++){
@@ -98,12 +146,7 @@ public class GameGrid{
 				}
 			}
 			if (legal){
-			 for (int i=0;i<width*height;i++){
-		   if (grid.get(i)==0){
-		   	zero=new Point(i%width,i/width);
-		   	break;
-		   }
- 		 }
+				index();
 			}
 		}
 		return legal;
@@ -123,50 +166,95 @@ public class GameGrid{
 	
 	public Point positionOf(int value){
 	 Point result=null;
-		if (isLegal()){
-	 	if (value==0){
-	 		result=new Point(zero);
-	 	}else{
-	 		for (int i=0;i<width*height;i++){
-	 			if (grid.get(i)==value){
-	 				result=new Point(i%width,i/width);
-	 				break;
-	 			}
-	 		}
-	 	}
+	 int index=positionIndexOf(value);
+	 if (index>=0){
+	 	result=new Point(index%width,index/width);
 	 }
 	 return result;
 	}	
 	
+	/**
+	 * Returns the index <code>y*width+x</code> of the cell holding the given value
+	 * without allocating a Point like positionOf(int).
+	 * 
+	 * @param value to search for
+	 * @return the index of the cell or -1 if the grid is not legal or does not contain the value 
+	 */
+	public int positionIndexOf(int value){
+		if ((value<0) || (value>=width*height) || !isLegal()) return -1;
+		return (grid==null) ? PackedLong.get(inverse,value) : positions.get(value);
+	}
+	
+	/**
+	 * Moves the tile at the given position into the adjacent empty cell.
+	 * A move keeps the grid a legal permutation, so in contrast to set(int,int,int)
+	 * the grid is not validated again, but only the position of the empty cell is updated.
+	 * 
+	 * @param x the column of the tile to be moved
+	 * @param y the row of the tile to be moved
+	 * @return true if the tile has been moved
+	 */
 	public boolean move(int x,int y){
 		boolean result=false;
 		if (isLegal()){
 			int value=get(x,y);
-			if ((value>=0) && (GameGridX.distance(x,y,zero.x,zero.y)==1)){
-				set(x,y,0);
-				set(zero.x,zero.y,value);
-			 zero.x=x;
-			 zero.y=y;
+			if ((value>=0) && (GameGridX.distance(x,y,zero%width,zero/width)==1)){
+				slide(y*width+x);
 			 result=true;
 			}
 		}
 		return result;
 	}
 	
+	/**
+	 * Returns the index <code>y*width+x</code> of the empty cell.
+	 * 
+	 * @return the index of the empty cell or -1 if the grid is not legal
+	 */
+	public int blank(){
+		return (isLegal() ? zero : -1);
+	}
+	
+	/**
+	 * Moves the tile of the given cell into the empty cell in place and returns the moved tile.
+	 * In contrast to move(int,int) the grid is not checked at all,
+	 * so the grid must be legal and the given cell must be adjacent to the empty cell.
+	 * 
+	 * @param cell the index <code>y*width+x</code> of the tile to be moved
+	 * @return the moved tile
+	 */
+	public int slide(int cell){
+		int value;
+		if (grid==null){
+			value=PackedLong.get(board,cell);
+			board=PackedLong.move(board,cell,zero);
+		}else{
+			value=grid.get(cell);
+			grid.set(zero,value);
+			grid.set(cell,0);
+		}
+		position(value,zero);
+		position(0,cell);
+		hash^=Zobrist.key(value,cell) ^ Zobrist.key(0,cell) ^ Zobrist.key(0,zero) ^ Zobrist.key(value,zero);
+		zero=cell;
+		return value;
+	}
+	
 	public List<Point> movements(){
 		List<Point> result=new LinkedList<Point>();
 		if (isLegal()){
-			if (zero.x+1<width){
-				result.add(new Point(zero.x+1,zero.y));
+			int x=zero%width, y=zero/width;
+			if (x+1<width){
+				result.add(new Point(x+1,y));
 			}				
-			if (zero.x-1>=0){
-				result.add(new Point(zero.x-1,zero.y));
+			if (x-1>=0){
+				result.add(new Point(x-1,y));
 			}
-			if (zero.y+1<height){
-				result.add(new Point(zero.x,zero.y+1));
+			if (y+1<height){
+				result.add(new Point(x,y+1));
 			}
-			if (zero.y-1>=0){
-				result.add(new Point(zero.x,zero.y-1));
+			if (y-1>=0){
+				result.add(new Point(x,y-1));
 			}
 		}
 		return result;
@@ -179,24 +267,19 @@ public class GameGrid{
 		}
 		Collections.shuffle(a);
 		for (int i=0;i<width*height;i++){
-			grid.set(i,a.get(i));
+			cell(i,a.get(i));
 		}
 		legal=true;
-	 for (int i=0;i<width*height;i++){
-   if (grid.get(i)==0){
-   	zero=new Point(i%width,i/width);
-   	break;
-   }
-	 }
+		index();
 	}
 	
 	public void initialize(){
 		for (int i=0;i<width*height-1;i++){
-			grid.set(i,i+1);
+			cell(i,i+1);
 		}
-		grid.set(width*height-1,0);
+		cell(width*height-1,0);
 		legal=true;
-		zero=new Point(width-1,height-1);
+		index();
 	}
 	
 	public boolean comparable(GameGrid g){
@@ -205,6 +288,7 @@ public class GameGrid{
 	
 	public boolean equals(GameGrid g){
 		if ((g.width==width) && (g.height==height)){
+			if (grid==null) return board==g.board;
 			return Arrays.equals(grid.packed(), g.grid.packed());
 		}else{
 			return false;
@@ -230,6 +314,7 @@ public class GameGrid{
 	protected void finalize() throws Throwable {
 		//grid=null;
 		grid=null;
+		positions=null;
 		super.finalize();
 	}
 
@@ -238,11 +323,80 @@ public class GameGrid{
 	 */
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(grid.packed());
+		return Long.hashCode(hash);
+	}
+	
+	/**
+	 * Returns the Zobrist hash of this grid, which is the exclusive or of 
+	 * <code>Zobrist.key(value,index)</code> for each cell.
+	 * The hash is maintained incrementally, so this method needs constant time.
+	 * 
+	 * @see core.LongHashable#hash64()
+	 */
+	@Override
+	public long hash64(){
+		return hash;
 	}
 	
 	protected int[] toArray(){
-		return grid.unpack();
+		return (grid==null) ? PackedLong.unpack(board,width*height) : grid.unpack();
+	}
+	
+	/**
+	 * Returns true if this grid is stored in a single long value,
+	 * which is the case for grids with at most 16 cells.
+	 * 
+	 * @return true if the grid is packed into a long value
+	 */
+	public boolean isCompact(){
+		return grid==null;
+	}
+	
+	/**
+	 * Returns the long value holding all cells of a compact grid,
+	 * where the cell <code>y*width+x</code> is stored at the index of the same number (see PackedLong).
+	 * 
+	 * @return the packed cells of this grid
+	 * @throws IllegalStateException if the grid is not compact
+	 */
+	public long compact(){
+		if (grid!=null) throw new IllegalStateException("the grid is not compact");
+		return board;
+	}
+	
+	/**
+	 * Returns the number of long values needed by encode(long[],int).
+	 * 
+	 * @return the number of long values of the encoded grid
+	 */
+	public int encodedLength(){
+		int l=Long.SIZE/PackedArray.ld(width*height);
+		return (width*height+l-1)/l;
+	}
+	
+	/**
+	 * Encodes this grid into encodedLength() long values of the target array,
+	 * by packing each cell into <code>PackedArray.ld(width*height)</code> bits.
+	 * (A compact grid is encoded as its long value.)
+	 * 
+	 * @param target the array where the encoded grid is stored
+	 * @param offset the index of the first long value in the target array
+	 */
+	public void encode(long[] target,int offset){
+		if (grid==null){
+			target[offset]=board;
+			return;
+		}
+		int bits=PackedArray.ld(width*height);
+		int l=Long.SIZE/bits;
+		int n=width*height;
+		for (int j=0;j*l<n;j++){
+			long code=0;
+			for (int i=j*l;i<Math.min(n,(j+1)*l);i++){
+				code=(code<<bits) | cell(i);
+			}
+			target[offset+j]=code;
+		}
 	}
 
 	/* (non-Javadoc)
@@ -253,7 +407,7 @@ public class GameGrid{
 		String result="";
 		for (int y=0;y<height;y++){
 			for (int x=0;x<width;x++){
-				result+=String.format("%3d",grid.get(y*width+x));
+				result+=String.format("%3d",cell(y*width+x));
 			}
 			if (y!=height-1) result+="\n";			
 		}
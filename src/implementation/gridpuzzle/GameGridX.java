@@ -136,13 +136,22 @@ public class GameGridX{
 	 return result;
 	}	
 	
+	/**
+	 * Moves the tile at the given position into the adjacent empty cell
+	 * and only updates the position of the empty cell.
+	 * 
+	 * @param x the column of the tile to be moved
+	 * @param y the row of the tile to be moved
+	 * @return true if the tile has been moved
+	 * @see implementation.gridpuzzle.GameGrid#move(int, int)
+	 */
 	public boolean move(int x,int y){
 		boolean result=false;
 		if (isLegal()){
 			int value=get(x,y);
 			if ((value>=0) && (GameGrid.distance(x,y,zero.x,zero.y)==1)){
-				set(x,y,0);
-				set(zero.x,zero.y,value);
+				grid[y*width+x]=0;
+				grid[zero.y*width+zero.x]=value;
 			 zero.x=x;
 			 zero.y=y;
 			 result=true;
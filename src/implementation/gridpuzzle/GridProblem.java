@@ -34,11 +34,12 @@ import java.awt.Point;
 import java.util.LinkedList;
 import java.util.List;
 
-import core.HeuristicProblem;
+import core.IntegralHeuristicProblem;
+import core.StateCodec;
 
 
 
-public class GridProblem implements HeuristicProblem<GridState>{
+public class GridProblem implements IntegralHeuristicProblem<GridState>, StateCodec<GridState>{
  
 	private GridState initial=null;
 	private GameGrid goal=null;
@@ -55,8 +56,26 @@ public class GridProblem implements HeuristicProblem<GridState>{
 	}
 	@Override
 	public double g(GridState state) {	return state.getDepth(); }
+	/**
+	 * Returns the heuristic value of the given state, which is cached by the state.
+	 * If the value of the parent state is known, the value is updated by the moved tile only
+	 * (see AbstractHeuristic#update).
+	 */
 	@Override
-	public double h(GridState state) {	return heuristic.get(state.getGrid(),goal);	}
+	public double h(GridState state) {
+		if (Double.isNaN(state.getHeuristic())){
+			GridState parent=state.getParent();
+			GameGrid grid=state.getGrid();
+			if (parent!=null && !Double.isNaN(parent.getHeuristic())){
+				int width=grid.getWidth();
+				int from=state.getMove().y*width+state.getMove().x, to=parent.getGrid().blank();
+				state.setHeuristic(heuristic.update(grid,goal,parent.getHeuristic(),grid.get(to%width,to/width),from,to));
+			}else{
+				state.setHeuristic(heuristic.get(grid,goal));
+			}
+		}
+		return state.getHeuristic();
+	}
 	@Override
 	public int depth(GridState state) {	return state.getDepth(); }
 	@Override
@@ -77,6 +96,11 @@ public class GridProblem implements HeuristicProblem<GridState>{
 
 	@Override
 	public boolean isGoal(GridState state) {	return goal.equals(state.getGrid()); }
+	
+	@Override
+	public int words() {	return goal.encodedLength(); }
+	@Override
+	public void encode(GridState state, long[] target) {	state.getGrid().encode(target,0); }
 
 	
 }
@@ -34,12 +34,15 @@ import java.awt.Point;
 import java.util.LinkedList;
 import java.util.List;
 
-public class GridState {
+import core.LongHashable;
+
+public class GridState implements LongHashable {
  private GameGrid current=null;
  private GridState parent=null;
  private int depth=0;
  private Point move=null;
  private int hash=0;
+ private double heuristic=Double.NaN;
   
  public GridState(GameGrid current, Point move, GridState parent) {
 		super();
@@ -64,6 +67,19 @@ public class GridState {
 	public GridState getParent() {	return parent;	}
 	public int getDepth() {	return depth; }
 	public Point getMove() {	return move;	}
+	/**
+	 * Returns the heuristic value of this state or NaN if it has not been computed yet.
+	 * 
+	 * @return the cached heuristic value
+	 */
+	public double getHeuristic() {	return heuristic;	}
+	/**
+	 * Caches the heuristic value of this state, 
+	 * so the values of the successors can be updated from this value. 
+	 * 
+	 * @param heuristic the heuristic value of this state
+	 */
+	public void setHeuristic(double heuristic) {	this.heuristic = heuristic;	}
 
 	public List<Point> getPath(){
  	LinkedList<Point> result=new LinkedList<Point>();
@@ -79,6 +95,11 @@ public class GridState {
 	public int hashCode() {	
 		return hash;	
 	}
+	
+	@Override
+	public long hash64() {	
+		return current.hash64();	
+	}
 
 	public boolean equals(GridState g) {
 		return current.equals(g.getGrid());
@@ -0,0 +1,115 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package implementation.gridpuzzle;
+
+/**
+ * The sum of the manhattan distances of all tiles plus their linear conflicts.
+ * Two tiles are in linear conflict, if both are in their goal row (or column), 
+ * but in reversed order. At least all tiles of a row, which are not part of the longest
+ * correctly ordered sequence, must leave the row and come back, which costs two additional moves each.<br>
+ * A move of a tile only changes the conflicts of the two rows (or columns) the tile moves between,
+ * so the value of a grid after a move is updated from these lines only.
+ * The lines are read directly from the grid, and the conflicts are counted in a scratch array,
+ * which is created once for each thread (because a heuristic may be shared by the threads of a parallel search).
+ * 
+ * @author Eden_06
+ *
+ */
+public class HeuristicFour extends HeuristicThree {
+	
+	private final ThreadLocal<int[]> scratch=new ThreadLocal<int[]>();
+
+	@Override
+	public double get(GameGrid current, GameGrid target) {
+		if (! isCompatible(current,target)) return Double.POSITIVE_INFINITY;
+		ManhattanTable t=table(target);
+		int result=t.sum(current);
+		for (int y=0;y<t.height();y++) result+=conflicts(t,current,y,true,-1,0,-1);
+		for (int x=0;x<t.width();x++) result+=conflicts(t,current,x,false,-1,0,-1);
+		return result;
+	}
+	
+	@Override
+	public double update(GameGrid current, GameGrid target, double previous, int tile, int from, int to) {
+		if (! isCompatible(current,target)) return Double.POSITIVE_INFINITY;
+		ManhattanTable t=table(target);
+		int width=t.width();
+		int result=(int)previous+t.distance(tile,to)-t.distance(tile,from);
+		// a horizontal move changes the conflicts of two columns, a vertical move those of two rows
+		boolean row=(from/width!=to/width);
+		int first=(row ? from/width : from%width), second=(row ? to/width : to%width);
+		result+=conflicts(t,current,first,row,-1,0,-1)-conflicts(t,current,first,row,from,tile,to);
+		result+=conflicts(t,current,second,row,-1,0,-1)-conflicts(t,current,second,row,from,tile,to);
+		return result;
+	}
+	
+	/**
+	 * Returns the scratch array of the current thread, which holds at least the given number of values.
+	 */
+	private int[] scratch(int length){
+		int[] result=scratch.get();
+		if (result==null || result.length<length) scratch.set(result=new int[length]);
+		return result;
+	}
+	
+	/**
+	 * Returns the additional moves needed by the tiles of the given row (or column) of the grid,
+	 * which is twice the number of tiles in their goal line, that are not part of the longest 
+	 * increasing sequence of goal cells.
+	 * If the cell <code>from</code> is not negative, the line is read as it has been
+	 * before the given tile has been moved from the cell <code>from</code> to the cell <code>to</code>.
+	 */
+	private int conflicts(ManhattanTable t,GameGrid grid,int index,boolean row,int from,int tile,int to){
+		int width=grid.getWidth(), length=(row ? width : grid.getHeight());
+		// holds the goal cells of the tiles of this line followed by the length of their longest sequence
+		int[] goal=scratch(2*length);
+		int n=0, best=0;
+		for (int i=0;i<length;i++){
+			int x=(row ? i : index), y=(row ? index : i), cell=y*width+x;
+			int value=(cell==from ? tile : (cell==to && from>=0 ? 0 : grid.get(x,y)));
+			if (value==0) continue;
+			int g=t.goalCell(value);
+			// the tile belongs to this line
+			if (row ? g/t.width()==index : g%t.width()==index){
+				goal[n]=g;
+				int longest=1;
+				for (int j=0;j<n;j++){
+					if (goal[j]<g) longest=Math.max(longest,goal[length+j]+1);
+				}
+				goal[length+n]=longest;
+				best=Math.max(best,longest);
+				n++;
+			}
+		}
+		return 2*(n-best);
+	}
+
+}
@@ -30,25 +30,38 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package implementation.gridpuzzle;
 
-import java.awt.Point;
-
 /**
+ * The sum of the manhattan distances of all tiles to their cells in the target grid.
+ * The distances are looked up in a table, which is created once for each target,
+ * so the value of a grid after a move is updated from the distances of the moved tile only.
+ * 
  * @author Eden_06
  *
  */
 public class HeuristicThree extends AbstractHeuristic {
+	
+	private volatile ManhattanTable table=null;
+	
+	/**
+	 * Returns the table of manhattan distances for the given target.
+	 */
+	ManhattanTable table(GameGrid target){
+		ManhattanTable result=table;
+		if (result==null || !result.matches(target)) table=result=new ManhattanTable(target);
+		return result;
+	}
 
 	@Override
 	public double get(GameGrid current, GameGrid target) {
 		if (! isCompatible(current,target)) return Double.POSITIVE_INFINITY;
-		double result=0.0;
-  Point a,b;
-  for (int i=1; i<=current.highestNumber();i++){
-  	a=current.positionOf(i);
-  	b=target.positionOf(i);
-  	result+=GameGrid.distance(a.x, a.y, b.x, b.y);
-  }
-  return result;
+		return table(target).sum(current);
+	}
+	
+	@Override
+	public double update(GameGrid current, GameGrid target, double previous, int tile, int from, int to) {
+		if (! isCompatible(current,target)) return Double.POSITIVE_INFINITY;
+		ManhattanTable t=table(target);
+		return previous+t.distance(tile,to)-t.distance(tile,from);
 	}
 
 }
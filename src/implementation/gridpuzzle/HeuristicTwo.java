@@ -30,10 +30,6 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package implementation.gridpuzzle;
 
-import java.awt.Point;
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * @author Eden_06
  *
@@ -44,19 +40,20 @@ public class HeuristicTwo  extends AbstractHeuristic{
 	public double get(GameGrid current, GameGrid target) {
 		if (! isCompatible(current,target)) throw new IllegalArgumentException();
 		int result=0;
-  Set<Integer> set=new HashSet<Integer>();
-  int value;
-  Point p;
+		int width=current.getWidth();
+  boolean[] visited=new boolean[current.highestNumber()+1];
+  int value, cell;
   boolean shift;
   for (int i=0;i<=current.highestNumber();i++){
   	shift=false;
   	value=i;
-  	while (set.add(value)){
-  		p=current.positionOf(value);
-  		if (! isCorrect(current,target,p.x,p.y)){
+  	while (! visited[value]){
+  		visited[value]=true;
+  		cell=current.positionIndexOf(value);
+  		if (! isCorrect(current,target,cell%width,cell/width)){
   			result++;
   			shift=true;
-  			value=target.get(p.x,p.y);
+  			value=target.get(cell%width,cell/width);
   		}
   		// insert break; command for more performance
   	}
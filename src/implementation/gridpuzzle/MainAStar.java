@@ -134,6 +134,7 @@ public class MainAStar {
 			System.out.println("1 - Number of incorrect blocks");
 			System.out.println("2 - Number of movements by direct exchange");
 			System.out.println("3 - Sum of all block distances [default]");	
+			System.out.println("4 - Sum of all block distances with linear conflicts");
 			while(true){
 				ask=SystemInput.readLn();
 				try{
@@ -145,7 +146,7 @@ public class MainAStar {
 				}catch(Exception e){
 					sel=0;
 				}
-				if ((sel<1) || (sel>3)){
+				if ((sel<1) || (sel>4)){
 					System.out.println("Illegal number format");
 				}else{
 					break;
@@ -157,6 +158,7 @@ public class MainAStar {
 			switch (sel){
 		  case 1 :	heuristic=new HeuristicOne(); break;
 		  case 2 : heuristic=new HeuristicTwo(); break;
+		  case 4 : heuristic=new HeuristicFour(); break;
 		  default: heuristic=new HeuristicThree();
 		 }		
 		 System.out.println("Trying to solve this Puzzle:");
@@ -0,0 +1,96 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package implementation.gridpuzzle;
+
+/**
+ * Holds the manhattan distance of each tile in each cell to its cell in a target grid.
+ * The table is immutable, so it can be shared by several threads.
+ * 
+ * @author Eden_06
+ *
+ */
+class ManhattanTable {
+	
+	private GameGrid target;
+	private int width, height, cells;
+	private int[] goalCell;
+	private int[] distance;
+	
+	public ManhattanTable(GameGrid target){
+		this.target=new GameGrid(target);
+		this.width=target.getWidth();
+		this.height=target.getHeight();
+		this.cells=width*height;
+		goalCell=new int[cells];
+		for (int tile=0;tile<cells;tile++) goalCell[tile]=target.positionIndexOf(tile);
+		distance=new int[cells*cells];
+		for (int tile=1;tile<cells;tile++){
+			for (int cell=0;cell<cells;cell++){
+				distance[tile*cells+cell]=GameGrid.distance(cell%width,cell/width,goalCell[tile]%width,goalCell[tile]/width);
+			}
+		}
+	}
+	
+	/**
+	 * Returns true if this table has been created for the given target.
+	 */
+	public boolean matches(GameGrid target){
+		return this.target.equals(target);
+	}
+	
+	public int width(){	return width; }
+	public int height(){	return height; }
+	public int cells(){	return cells; }
+	
+	/**
+	 * Returns the index of the cell of the given tile in the target grid.
+	 */
+	public int goalCell(int tile){
+		return goalCell[tile];
+	}
+	
+	/**
+	 * Returns the manhattan distance of the given tile in the given cell (zero for the empty cell).
+	 */
+	public int distance(int tile,int cell){
+		return distance[tile*cells+cell];
+	}
+	
+	/**
+	 * Returns the sum of the manhattan distances of all tiles in the given grid.
+	 */
+	public int sum(GameGrid current){
+		int result=0;
+		for (int tile=1;tile<cells;tile++) result+=distance[tile*cells+current.positionIndexOf(tile)];
+		return result;
+	}
+
+}
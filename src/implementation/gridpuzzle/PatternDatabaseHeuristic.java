@@ -0,0 +1,434 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package implementation.gridpuzzle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * This is a disjoint additive pattern database heuristic for the sliding tile puzzle.
+ * <br><br>
+ * The tiles are partitioned into disjoint patterns. For each pattern a table holds
+ * the number of moves of pattern tiles needed to bring the pattern tiles to their goal cells,
+ * for each placement of the pattern tiles (all other tiles are indistinguishable).
+ * Because each move moves exactly one tile, the values of disjoint patterns 
+ * and the manhattan distances of the remaining tiles can be added and the heuristic stays optimistic.
+ * <b>Note:</b> The heuristic is not monotone, because each entry is the minimum over all positions of the empty cell,
+ * so it should be used with searches which do not rely on monotony (like basic.IterativeDeepeningAStar).<br>
+ * <br>
+ * The tables are built by a backward breadth first search from the goal, 
+ * where the empty cell moves freely between the cells not covered by pattern tiles.
+ * Each entry only stores the difference to the manhattan distance of the pattern tiles
+ * (divided by two, because both values have the same parity) in 4 bits,
+ * so the heuristic is <code>manhattan + 2 * sum of all entries</code>.<br>
+ * <br>
+ * The tables can be saved to a file with save(java.io.File).
+ * load(java.io.File) maps this file into memory with java.nio.channels.FileChannel#map,
+ * so a saved database is available without rebuilding or copying it.<br>
+ * <br>
+ * Building the FIVE_FIVE_FIVE partition takes a few seconds and the SIX_SIX_THREE partition about half a minute.
+ * The SEVEN_EIGHT partition needs a table of 259 megabytes and several gigabytes of memory during the build.
+ * 
+ * @author Eden_06
+ *
+ */
+public class PatternDatabaseHeuristic extends AbstractHeuristic {
+	
+	/** A 5-5-5 partition of the 4x4 puzzle with the tiles in reading order. */
+	public static final int[][] FIVE_FIVE_FIVE={{1,2,3,4,7},{5,6,9,10,13},{8,11,12,14,15}};
+	/** A 6-6-3 partition of the 4x4 puzzle with the tiles in reading order. */
+	public static final int[][] SIX_SIX_THREE={{1,5,6,9,10,13},{7,8,11,12,14,15},{2,3,4}};
+	/** A 7-8 partition of the 4x4 puzzle with the tiles in reading order. */
+	public static final int[][] SEVEN_EIGHT={{1,2,3,4,5,6,7},{8,9,10,11,12,13,14,15}};
+	
+	private static final int MAGIC=0x50444231;
+	
+	private GameGrid goal;
+	private int width, cells;
+	private int[][] patterns;
+	private int[] goalCell;
+	private ByteBuffer[] tables;
+	private final ThreadLocal<int[]> scratch=new ThreadLocal<int[]>();
+	
+	/**
+	 * Creates a new pattern database for the given goal by building the tables of the given patterns.
+	 * 
+	 * @param goal the target grid the heuristic is used with
+	 * @param patterns disjoint sets of tiles
+	 * @throws IllegalArgumentException if the goal is illegal or the patterns are not disjoint
+	 */
+	public PatternDatabaseHeuristic(GameGrid goal, int[][] patterns) {
+		this(goal,patterns,null);
+		for (int i=0;i<patterns.length;i++){
+			tables[i]=ByteBuffer.wrap(build(patterns[i]));
+		}
+	}
+	
+	private PatternDatabaseHeuristic(GameGrid goal, int[][] patterns, ByteBuffer[] tables) {
+		if (goal==null || !goal.isLegal()) throw new IllegalArgumentException("goal must be a legal grid!");
+		if (patterns==null) throw new IllegalArgumentException("patterns should never be null!");
+		this.goal=new GameGrid(goal);
+		this.width=goal.getWidth();
+		this.cells=width*goal.getHeight();
+		this.goalCell=new int[cells];
+		int[] grid=goal.toArray();
+		for (int cell=0;cell<cells;cell++) goalCell[grid[cell]]=cell;
+		boolean[] used=new boolean[cells];
+		this.patterns=new int[patterns.length][];
+		for (int i=0;i<patterns.length;i++){
+			for (int tile : patterns[i]){
+				if (tile<1 || tile>=cells || used[tile]) throw new IllegalArgumentException("patterns must be disjoint sets of tiles!");
+				used[tile]=true;
+			}
+			this.patterns[i]=patterns[i].clone();
+		}
+		this.tables=(tables==null ? new ByteBuffer[patterns.length] : tables);
+	}
+	
+	/**
+	 * Returns the number of placements of k tiles on the grid.
+	 */
+	private long entries(int k){
+		long result=1;
+		for (int i=0;i<k;i++) result*=cells-i;
+		return result;
+	}
+	
+	/**
+	 * Returns the index of the given placement of tiles.
+	 */
+	private long rank(int[] position){
+		return rank(position,position.length);
+	}
+	
+	/**
+	 * Returns the index of the placement of tiles given by the first length positions.
+	 */
+	private long rank(int[] position,int length){
+		long result=0;
+		for (int i=0;i<length;i++){
+			int digit=position[i];
+			for (int j=0;j<i;j++){
+				if (position[j]<position[i]) digit--;
+			}
+			result=result*(cells-i)+digit;
+		}
+		return result;
+	}
+	
+	/**
+	 * Computes the placement of tiles with the given index.
+	 */
+	private void unrank(long rank,int[] position,boolean[] used){
+		for (int i=position.length-1;i>=0;i--){
+			position[i]=(int)(rank%(cells-i));
+			rank/=cells-i;
+		}
+		Arrays.fill(used,false);
+		for (int i=0;i<position.length;i++){
+			int cell=0;
+			for (int digit=position[i];used[cell] || digit>0;cell++){
+				if (!used[cell]) digit--;
+			}
+			used[cell]=true;
+			position[i]=cell;
+		}
+	}
+	
+	private int manhattan(int cell,int tile){
+		return GameGrid.distance(cell%width,cell/width,goalCell[tile]%width,goalCell[tile]/width);
+	}
+	
+	private int[][] neighbors(){
+		int[][] result=new int[cells][];
+		for (int cell=0;cell<cells;cell++){
+			int x=cell%width, n=0;
+			int[] buffer=new int[4];
+			if (x+1<width) buffer[n++]=cell+1;
+			if (x-1>=0) buffer[n++]=cell-1;
+			if (cell+width<cells) buffer[n++]=cell+width;
+			if (cell-width>=0) buffer[n++]=cell-width;
+			result[cell]=Arrays.copyOf(buffer,n);
+		}
+		return result;
+	}
+	
+	/**
+	 * Builds the table of the given pattern by a breadth first search over all pairs 
+	 * of placements and empty cells, starting with the goal.
+	 * The empty cell moves freely (without costs) within its region of cells not covered by pattern tiles.
+	 */
+	private byte[] build(int[] pattern){
+		int k=pattern.length;
+		long entries=entries(k);
+		byte[] table=new byte[(int)((entries+1)/2)];
+		long[] seen=new long[(int)((entries+63)>>>6)];
+		long[] visited=new long[(int)((entries*cells+63)>>>6)];
+		int[] position=new int[k], occupant=new int[cells], region=new int[cells];
+		boolean[] used=new boolean[cells];
+		int[][] neighbors=neighbors();
+		for (int i=0;i<k;i++) position[i]=goalCell[pattern[i]];
+		long[] queue=new long[1024];
+		int head=0, tail=0, size=0;
+		queue[tail++]=rank(position)*cells+goalCell[0]; size++;
+		for (int depth=0;size>0;depth++){
+			for (int layer=size;layer>0;layer--){
+				long state=queue[head];
+				head=(head+1)%queue.length; size--;
+				if ((visited[(int)(state>>>6)] & (1L<<state))!=0) continue;
+				long rank=state/cells;
+				unrank(rank,position,used);
+				if ((seen[(int)(rank>>>6)] & (1L<<rank))==0){
+					seen[(int)(rank>>>6)]|=1L<<rank;
+					int manhattan=0;
+					for (int i=0;i<k;i++) manhattan+=manhattan(position[i],pattern[i]);
+					int value=Math.min(15,(depth-manhattan)/2);
+					table[(int)(rank>>>1)]|=value<<(4*(int)(rank&1));
+				}
+				// mark the region of the empty cell
+				Arrays.fill(occupant,-1);
+				for (int i=0;i<k;i++) occupant[position[i]]=i;
+				int regions=0;
+				region[regions++]=(int)(state%cells);
+				visited[(int)(state>>>6)]|=1L<<state;
+				for (int r=0;r<regions;r++){
+					for (int cell : neighbors[region[r]]){
+						if (occupant[cell]!=-1) continue;
+						long next=rank*cells+cell;
+						if ((visited[(int)(next>>>6)] & (1L<<next))!=0) continue;
+						visited[(int)(next>>>6)]|=1L<<next;
+						region[regions++]=cell;
+					}
+				}
+				// move the pattern tiles next to the region into the region
+				for (int r=0;r<regions;r++){
+					for (int cell : neighbors[region[r]]){
+						int i=occupant[cell];
+						if (i==-1) continue;
+						position[i]=region[r];
+						long next=rank(position)*cells+cell;
+						position[i]=cell;
+						if ((visited[(int)(next>>>6)] & (1L<<next))!=0) continue;
+						if (size==queue.length){
+							long[] grown=new long[2*queue.length];
+							for (int j=0;j<size;j++) grown[j]=queue[(head+j)%queue.length];
+							queue=grown;	head=0;	tail=size;
+						}
+						queue[tail]=next;
+						tail=(tail+1)%queue.length; size++;
+					}
+				}
+			}
+		}
+		return table;
+	}
+	
+	/**
+	 * Returns the scratch array of the current thread, which holds the positions of the longest pattern.
+	 */
+	private int[] scratch(){
+		int[] result=scratch.get();
+		if (result==null){
+			int length=0;
+			for (int[] pattern : patterns) length=Math.max(length,pattern.length);
+			scratch.set(result=new int[length]);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the heuristic value of the given grid.
+	 * The cells of the tiles are read from the grid by GameGrid#positionIndexOf(int) 
+	 * and the positions of each pattern are collected in a scratch array (created once for each thread),
+	 * so no arrays are created for each evaluation.
+	 */
+	@Override
+	public double get(GameGrid current, GameGrid target) {
+		if (! isCompatible(current,target) || ! current.isLegal()) return Double.POSITIVE_INFINITY;
+		if (target!=goal && !goal.equals(target)) throw new IllegalArgumentException("the pattern database has been built for an other goal!");
+		int result=0;
+		for (int tile=1;tile<cells;tile++) result+=manhattan(current.positionIndexOf(tile),tile);
+		int[] position=scratch();
+		for (int p=0;p<patterns.length;p++){
+			int[] pattern=patterns[p];
+			for (int i=0;i<pattern.length;i++) position[i]=current.positionIndexOf(pattern[i]);
+			long rank=rank(position,pattern.length);
+			result+=2*((tables[p].get((int)(rank>>>1))>>(4*(int)(rank&1))) & 15);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the goal this pattern database has been built for.
+	 * 
+	 * @return a copy of the goal
+	 */
+	public GameGrid getGoal(){
+		return new GameGrid(goal);
+	}
+	
+	/**
+	 * Returns true if this pattern database has been built for the given goal and patterns.
+	 * 
+	 * @param goal the target grid
+	 * @param patterns the sets of tiles
+	 * @return true if the goal and the patterns are equal
+	 */
+	public boolean matches(GameGrid goal, int[][] patterns){
+		return this.goal.equals(goal) && Arrays.deepEquals(this.patterns,patterns);
+	}
+	
+	/**
+	 * Writes the goal, the patterns and all tables into the given file.
+	 * 
+	 * @param file to be written
+	 * @throws IOException if the file could not be written
+	 */
+	public void save(File file) throws IOException{
+		ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+		DataOutputStream header=new DataOutputStream(bytes);
+		header.writeInt(MAGIC);
+		header.writeInt(width);
+		header.writeInt(cells/width);
+		for (int value : goal.toArray()) header.writeInt(value);
+		header.writeInt(patterns.length);
+		for (int[] pattern : patterns){
+			header.writeInt(pattern.length);
+			for (int tile : pattern) header.writeInt(tile);
+		}
+		header.flush();
+		RandomAccessFile out=new RandomAccessFile(file,"rw");
+		try{
+			out.setLength(0);
+			FileChannel channel=out.getChannel();
+			channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+			for (ByteBuffer table : tables){
+				ByteBuffer data=table.duplicate();
+				data.clear();
+				while (data.hasRemaining()) channel.write(data);
+			}
+		}finally{
+			out.close();
+		}
+	}
+	
+	/**
+	 * Checks that the given buffer holds at least the given number of int values.
+	 */
+	private static void require(ByteBuffer buffer,long ints,File file) throws IOException{
+		if (ints<0 || buffer.remaining()<4*ints) throw new IOException("truncated pattern database: "+file);
+	}
+	
+	/**
+	 * Maps the pattern database saved in the given file into memory.
+	 * The tables are read directly from the mapped file.
+	 * All lengths in the header are checked before they are used,
+	 * so a truncated or otherwise corrupt file causes an IOException.
+	 * 
+	 * @param file to be mapped
+	 * @return the pattern database
+	 * @throws IOException if the file could not be read or is not a pattern database
+	 */
+	public static PatternDatabaseHeuristic load(File file) throws IOException{
+		RandomAccessFile in=new RandomAccessFile(file,"r");
+		try{
+			MappedByteBuffer buffer=in.getChannel().map(FileChannel.MapMode.READ_ONLY,0,in.length());
+			if (buffer.remaining()<12 || buffer.getInt()!=MAGIC) throw new IOException("not a pattern database: "+file);
+			int width=buffer.getInt(), height=buffer.getInt();
+			if (width<1 || height<1) throw new IOException("corrupt pattern database: "+file);
+			long cells=(long)width*height;
+			require(buffer,cells+1,file);
+			GameGrid goal=new GameGrid(width,height);
+			for (int cell=0;cell<cells;cell++) goal.set(cell%width,cell/width,buffer.getInt());
+			int count=buffer.getInt();
+			if (count<0 || count>=cells) throw new IOException("corrupt pattern database: "+file);
+			int[][] patterns=new int[count][];
+			for (int i=0;i<patterns.length;i++){
+				require(buffer,1,file);
+				int length=buffer.getInt();
+				if (length<0 || length>=cells) throw new IOException("corrupt pattern database: "+file);
+				require(buffer,length,file);
+				patterns[i]=new int[length];
+				for (int j=0;j<patterns[i].length;j++) patterns[i][j]=buffer.getInt();
+			}
+			PatternDatabaseHeuristic result=new PatternDatabaseHeuristic(goal,patterns,new ByteBuffer[patterns.length]);
+			int offset=buffer.position();
+			for (int i=0;i<patterns.length;i++){
+				long length=(result.entries(patterns[i].length)+1)/2;
+				if (length<1 || offset+length>buffer.capacity()) throw new IOException("truncated pattern database: "+file);
+				ByteBuffer table=buffer.duplicate();
+				table.position(offset);
+				table.limit((int)(offset+length));
+				result.tables[i]=table.slice();
+				offset+=length;
+			}
+			return result;
+		}catch(RuntimeException e){
+			// e.g. an illegal goal or tiles which are not disjoint
+			throw new IOException("corrupt pattern database: "+file,e);
+		}finally{
+			in.close();
+		}
+	}
+	
+	/**
+	 * Maps the pattern database saved in the given file into memory,
+	 * if it has been built for the given goal and patterns.
+	 * Otherwise the pattern database is built and saved in the given file.
+	 * 
+	 * @param file where the pattern database is saved
+	 * @param goal the target grid the heuristic is used with
+	 * @param patterns disjoint sets of tiles
+	 * @return the pattern database
+	 * @throws IOException if the file could not be written
+	 */
+	public static PatternDatabaseHeuristic loadOrBuild(File file, GameGrid goal, int[][] patterns) throws IOException{
+		if (file.isFile()){
+			try{
+				PatternDatabaseHeuristic result=load(file);
+				if (result.matches(goal,patterns)) return result;
+			}catch(IOException e){
+				// rebuild the broken file
+			}
+		}
+		PatternDatabaseHeuristic result=new PatternDatabaseHeuristic(goal,patterns);
+		result.save(file);
+		return result;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package implementation.gridpuzzle;
+
+import java.awt.Point;
+
+import core.ReversibleProblem;
+
+/**
+ * This is the sliding tile puzzle as core.ReversibleProblem.
+ * A move is the direction the empty cell is moved to (right, left, down or up)
+ * and the heuristic is the sum of the manhattan distances of all tiles (like the HeuristicThree),
+ * which is updated with the distance of the moved tile only.
+ * 
+ * @author Eden_06
+ *
+ */
+public class ReversibleGridProblem implements ReversibleProblem<GameGrid,Point> {
+	
+	private static final int RIGHT=0, LEFT=1, DOWN=2, UP=3;
+	
+	private GameGrid initial=null;
+	private GameGrid goal=null;
+	private int width, cells;
+	private int[] distance;
+	
+	public ReversibleGridProblem(GameGrid initial, GameGrid goal) {
+		super();
+		if (initial==null || !initial.isLegal()) throw new IllegalArgumentException();
+		else this.initial = new GameGrid(initial);
+		if (goal==null || !goal.isLegal() || !goal.comparable(initial)) throw new IllegalArgumentException();
+		else this.goal = goal;
+		width=goal.getWidth();
+		cells=width*goal.getHeight();
+		// manhattan distance of each tile in each cell to its cell in the goal
+		distance=new int[cells*cells];
+		for (int tile=1;tile<cells;tile++){
+			Point p=goal.positionOf(tile);
+			for (int cell=0;cell<cells;cell++){
+				distance[tile*cells+cell]=GameGrid.distance(cell%width,cell/width,p.x,p.y);
+			}
+		}
+	}
+	
+	private int offset(int move){
+		switch (move){
+			case RIGHT: return 1;
+			case LEFT: return -1;
+			case DOWN: return width;
+			default: return -width;
+		}
+	}
+	
+	@Override
+	public GameGrid initial() {	return new GameGrid(initial);	}
+	@Override
+	public boolean isGoal(GameGrid state) {	return goal.equals(state); }
+	@Override
+	public int h(GameGrid state) {
+		int result=0;
+		for (int y=0;y<state.getHeight();y++){
+			for (int x=0;x<width;x++){
+				result+=distance[state.get(x,y)*cells+y*width+x];
+			}
+		}
+		return result;
+	}
+	@Override
+	public int maxMoves() {	return 4; }
+	@Override
+	public int moves(GameGrid state, int[] buffer) {
+		int blank=state.blank(), x=blank%width, n=0;
+		if (x+1<width) buffer[n++]=RIGHT;
+		if (x-1>=0) buffer[n++]=LEFT;
+		if (blank+width<cells) buffer[n++]=DOWN;
+		if (blank-width>=0) buffer[n++]=UP;
+		return n;
+	}
+	@Override
+	public int apply(GameGrid state, int move) {
+		int blank=state.blank(), cell=blank+offset(move);
+		int tile=state.slide(cell);
+		return distance[tile*cells+blank]-distance[tile*cells+cell];
+	}
+	@Override
+	public void undo(GameGrid state, int move) {	apply(state,inverse(move));	}
+	@Override
+	public int inverse(int move) {	return move^1;	}
+	@Override
+	public Point decode(GameGrid state, int move) {
+		int cell=state.blank()+offset(move);
+		return new Point(cell%width,cell/width);
+	}
+	
+}
@@ -30,7 +30,9 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package implementation.queenproblem;
 
-public interface IQueenGame extends Comparable<IQueenGame>{
+import core.LongHashable;
+
+public interface IQueenGame extends Comparable<IQueenGame>, LongHashable{
 
 	public void initialize();
 
@@ -45,6 +47,16 @@ public interface IQueenGame extends Comparable<IQueenGame>{
 	public boolean hasQueen(int x, int y);
 
 	public int collisions();
+	
+	/**
+	 * Returns the change of the number of collisions, if the queen in the given column
+	 * would be placed in the given row, without changing the game.
+	 * 
+	 * @param x the column of the queen
+	 * @param y the new row of the queen
+	 * @return the number of collisions after the move minus the number of collisions before the move
+	 */
+	public int collisionDelta(int x, int y);
 
 	public boolean isSolved();
 
@@ -32,6 +32,7 @@ package implementation.queenproblem;
 
 import core.UndirectedSearch;
 import extended.HillClimbing;
+import extended.RestartingHillClimbing;
 import extended.SimulatedAnnealing;
 import extended.HillClimbing.EStrategy;
 import util.SystemInput;
@@ -43,7 +44,7 @@ public class Main {
 	 */
 		public static void main(String[] args) {
 			String ask;
-			int sel;
+			int sel, algorithm;
 			long time;
 			QueenProblem problem;
 			UndirectedSearch<IQueenGame> search;
@@ -75,6 +76,7 @@ public class Main {
 				System.out.println("Which Algorithm should be used");
 				System.out.println("1 - Simulated Annealing");
 				System.out.println("2 - Hill Climbing [default]");
+				System.out.println("3 - Hill Climbing with random restarts on all processors");
 				while(true){
 					ask=SystemInput.readLn();
 					try{
@@ -86,13 +88,14 @@ public class Main {
 					}catch(Exception e){
 						sel=0;
 					}
-					if ((sel<1) || (sel>2)){
+					if ((sel<1) || (sel>3)){
 						System.out.println("Illegal number format! Try again...");
 					}else{
 						break;
 					}
 				}	
-				if (sel==1){ //Simulated Annealing
+				algorithm=sel;
+				if (algorithm==1){ //Simulated Annealing
 					
 					double temp,fact;
 					int max;
@@ -207,8 +210,13 @@ public class Main {
 							break;
 						}
 					}					
-					search=new HillClimbing<IQueenGame>(problem,true,strategy,sel);
-					System.out.println("Starting Hillclimbing");					
+					if (algorithm==3){
+						search=new RestartingHillClimbing<IQueenGame>(problem,true,strategy,sel);
+						System.out.println("Starting Hillclimbing with random restarts");
+					}else{
+						search=new HillClimbing<IQueenGame>(problem,true,strategy,sel);
+						System.out.println("Starting Hillclimbing");
+					}
 				}
 				
 				search.initialize();
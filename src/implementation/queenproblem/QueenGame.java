@@ -36,25 +36,109 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
+import util.Zobrist;
+
 
 /**
+ * The Zobrist hash of the game (the exclusive or of <code>Zobrist.key(y,x)</code> for each queen)
+ * is updated with each placed queen, so hashCode() and hash64() need constant time.<br>
+ * The game also counts the queens in each row, diagonal and anti diagonal.
+ * The number of collisions is the number of pairs of queens sharing one of these lines,
+ * so it is counted in linear time and updated in constant time with each placed queen.
+ * The same counters allow to compute the change of the collisions caused by a move
+ * without changing the game at all (see collisionDelta(int,int)),
+ * and to keep the number of occupied lines of each direction up to date (see lowerBound()).
+ * 
  * @author Eden_06
  *
  */
 public class QueenGame implements IQueenGame {
  private int[] grid;
 	private int size=1;
-	private int collisions=-1;
+	private int collisions;
+	private long hash;
+	private int[] rows, diagonals, antidiagonals;
+	private int occupiedRows, occupiedDiagonals, occupiedAntidiagonals;
 	
 	public QueenGame(int n){
 		if (n>1)	size=n;
 	 grid=new int[size];	 
+	 count();
 	}
 	
 	public QueenGame(IQueenGame game){
 		size=game.size();
 		grid=Arrays.copyOf(game.getGrid(),game.size());
-		collisions=game.collisions();
+		if (game instanceof QueenGame){
+			QueenGame g=(QueenGame) game;
+			rows=Arrays.copyOf(g.rows,g.rows.length);
+			diagonals=Arrays.copyOf(g.diagonals,g.diagonals.length);
+			antidiagonals=Arrays.copyOf(g.antidiagonals,g.antidiagonals.length);
+			collisions=g.collisions;
+			occupiedRows=g.occupiedRows;
+			occupiedDiagonals=g.occupiedDiagonals;
+			occupiedAntidiagonals=g.occupiedAntidiagonals;
+			hash=g.hash;
+		}else{
+			count();
+		}
+	}
+	
+	/**
+	 * Counts the queens in each line, the collisions and the hash of the current grid.
+	 */
+	private void count(){
+		rows=new int[size];
+		diagonals=new int[2*size-1];
+		antidiagonals=new int[2*size-1];
+		collisions=0;
+		occupiedRows=occupiedDiagonals=occupiedAntidiagonals=0;
+		for (int x=0;x<size;x++) add(x,grid[x]);
+		hash=Zobrist.hash(grid);
+	}
+	
+	private void add(int x,int y){
+		int r=rows[y]++, d=diagonals[x+y]++, a=antidiagonals[x-y+size-1]++;
+		collisions+=r+d+a;
+		if (r==0) occupiedRows++;
+		if (d==0) occupiedDiagonals++;
+		if (a==0) occupiedAntidiagonals++;
+	}
+	
+	private void remove(int x,int y){
+		int r=--rows[y], d=--diagonals[x+y], a=--antidiagonals[x-y+size-1];
+		collisions-=r+d+a;
+		if (r==0) occupiedRows--;
+		if (d==0) occupiedDiagonals--;
+		if (a==0) occupiedAntidiagonals--;
+	}
+	
+	/**
+	 * Returns the change of the number of collisions, if the queen in the given column
+	 * would be placed in the given row. The game itself is not changed.
+	 * 
+	 * @param x the column of the queen
+	 * @param y the new row of the queen
+	 * @return the number of collisions after the move minus the number of collisions before the move
+	 */
+	public int collisionDelta(int x,int y){
+		if ((x<0) || (y<0) || (x>=size) || (y>=size) || (grid[x]==y)) return 0;
+		int from=grid[x];
+		// the old and the new position never share a line
+		return (rows[y] + diagonals[x+y] + antidiagonals[x-y+size-1])
+		      -(rows[from]-1 + diagonals[x+from]-1 + antidiagonals[x-from+size-1]-1);
+	}
+	
+	/**
+	 * Returns a lower bound of the number of queens, which must be moved to solve the game.
+	 * This is the largest number of queens sharing a row, a diagonal or an anti diagonal with an other queen
+	 * (<code>size</code> minus the number of occupied rows, diagonals or anti diagonals),
+	 * which changes by one at most with each placed queen.
+	 * 
+	 * @return the lower bound of the moves needed
+	 */
+	public int lowerBound(){
+		return size-Math.min(occupiedRows,Math.min(occupiedDiagonals,occupiedAntidiagonals));
 	}
 	
 	/* (non-Javadoc)
@@ -62,7 +146,7 @@ public class QueenGame implements IQueenGame {
 	 */
 	public void initialize(){
 	 Arrays.fill(grid,0);
-	 collisions=(size*(size-1)) / 2;
+	 count();
 	}
 	
 	/* (non-Javadoc)
@@ -73,7 +157,7 @@ public class QueenGame implements IQueenGame {
 		for(int i=0;i<size;i++){
 			grid[i]=rand.nextInt(size);			
 		}
-		collisions=-1;
+		count();
 	}
 	
 	/* (non-Javadoc)
@@ -90,7 +174,22 @@ public class QueenGame implements IQueenGame {
 		for(Integer j: a){
 			grid[i++]=j.intValue();
 		}
-		collisions=-1;
+		count();
+	}
+	
+	/**
+	 * Places the queens on a random permutation of the rows, 
+	 * which is drawn from the given random value generator.
+	 * 
+	 * @param random the random value generator to be used
+	 */
+	public void random(Random random){
+		for (int i=0;i<size;i++){
+			int j=random.nextInt(i+1);
+			grid[i]=grid[j];
+			grid[j]=i;
+		}
+		count();
 	}
 	
 	/* (non-Javadoc)
@@ -98,8 +197,10 @@ public class QueenGame implements IQueenGame {
 	 */
 	public void setQueen(int x,int y){
 		if ((x>=0) && (y>=0) && (x<size) && (y<size)){
+			hash^=Zobrist.key(grid[x],x) ^ Zobrist.key(y,x);
+			remove(x,grid[x]);
+			add(x,y);
 			grid[x]=y;
-			collisions=-1;
 		}
 	}
 	
@@ -125,17 +226,6 @@ public class QueenGame implements IQueenGame {
 	 * @see implementation.queenproblem.IQueenGame#collisions()
 	 */
 	public int collisions(){
-		if (collisions==-1){
-		 collisions=0;
-		 for(int i=0;i<size;i++){
-		 	for(int j=0;j<size;j++){
-		 		if (i==j) continue;
-		 		if (grid[i]==grid[j]) collisions++;
-		 		if (Math.abs(grid[i]-grid[j])==Math.abs(i-j)) collisions++; 
-		 	}
-		 }
-		 collisions=collisions/2;
-		}
 		return collisions;
 	}
 
@@ -177,7 +267,12 @@ public class QueenGame implements IQueenGame {
 	 */
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(grid);
+		return Long.hashCode(hash);
+	}
+	
+	@Override
+	public long hash64() {
+		return hash;
 	}
 
 	/* (non-Javadoc)
@@ -32,13 +32,21 @@ package implementation.queenproblem;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
+import util.PackedArray;
+import core.StateCodec;
 import extended.HillClimbingProblem;
+import extended.Neighborhood;
+import extended.NeighborhoodProblem;
+import extended.RandomInitialProblem;
+import extended.RandomNeighborProblem;
 import extended.SimulatedAnnealingProblem;
 
 
 public class QueenProblem implements HillClimbingProblem<IQueenGame>,
-		SimulatedAnnealingProblem<IQueenGame> {
+		SimulatedAnnealingProblem<IQueenGame>, NeighborhoodProblem<IQueenGame>, RandomNeighborProblem<IQueenGame>, 
+		RandomInitialProblem<IQueenGame>, StateCodec<IQueenGame> {
 
 	private int size;
 	private IQueenGame initial;
@@ -69,6 +77,56 @@ public class QueenProblem implements HillClimbingProblem<IQueenGame>,
 		return result;
 	}
 
+	/**
+	 * Returns the same successors as expand, but creates the proxy of the successor
+	 * with the index <code>x*(size-1)+k</code> only on demand
+	 * (where k is the new row of the queen in the column x, skipping its current row).
+	 */
+	@Override
+	public Neighborhood<IQueenGame> neighborhood(final IQueenGame state) {
+		return new Neighborhood<IQueenGame>(){
+			@Override
+			public int size() {	return size*(size-1);	}
+			@Override
+			public IQueenGame neighbor(int index) {
+				int x=index/(size-1), y=index%(size-1);
+				if (y>=state.positionOf(x)) y++;
+				return new QueenProxy(state,x,y);
+			}
+		};
+	}
+
+	/**
+	 * Draws a random queen and a random new row, encoded as <code>x*size+y</code>.
+	 */
+	@Override
+	public long sample(IQueenGame state, Random random) {
+		int x=random.nextInt(size), y=random.nextInt(size-1);
+		if (y>=state.positionOf(x)) y++;
+		return (long)x*size+y;
+	}
+	/**
+	 * Returns the negated change of the collisions caused by the move, without creating the successor.
+	 */
+	@Override
+	public double difference(IQueenGame state, long move) {	
+		return -state.collisionDelta((int)(move/size),(int)(move%size));	
+	}
+	@Override
+	public IQueenGame apply(IQueenGame state, long move) {
+		return new QueenProxy(state,(int)(move/size),(int)(move%size));
+	}
+
+	/**
+	 * Returns a new game with the queens placed on a random permutation of the rows.
+	 */
+	@Override
+	public IQueenGame randomInitial(Random random) {
+		QueenGame game=new QueenGame(size);
+		game.random(random);
+		return game;
+	}
+
 	@Override
 	public IQueenGame initial() {	return initial; }
 	@Override
@@ -77,5 +135,22 @@ public class QueenProblem implements HillClimbingProblem<IQueenGame>,
 	public int compare(IQueenGame a, IQueenGame b) {	return a.compareTo(b);	}
 	@Override
 	public double difference(IQueenGame a, IQueenGame b) {	return a.collisions()-b.collisions();	}
+	@Override
+	public int words() {	
+		int l=Long.SIZE/PackedArray.ld(size);
+		return (size+l-1)/l;	
+	}
+	@Override
+	public void encode(IQueenGame state, long[] target) {
+		// packs the row of each queen into ld(size) bits
+		int bits=PackedArray.ld(size), l=Long.SIZE/bits;
+		for (int j=0;j*l<size;j++){
+			long code=0;
+			for (int x=j*l;x<Math.min(size,(j+1)*l);x++){
+				code=(code<<bits) | state.positionOf(x);
+			}
+			target[j]=code;
+		}
+	}
 
 }
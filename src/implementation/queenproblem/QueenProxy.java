@@ -30,64 +30,95 @@ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package implementation.queenproblem;
 
+import util.Zobrist;
+
 public class QueenProxy implements IQueenGame {
 
 	private QueenGame proxy=null;
 	private IQueenGame source=null;
 	private int x,y=-1;
+	private int size;
+	private int collisions=-1;
 		
 	public QueenProxy(IQueenGame state,int x, int y) {
 		if (state==null) throw new IllegalArgumentException("source may never be null");
 		if (x<0 || x>state.size()) throw new IllegalArgumentException("x is out of bound");
 		if (y<0 || y>state.size()) throw new IllegalArgumentException("y is out of bound");		
 		this.source=state;
+		this.size=state.size();
 		this.x=x;
 		this.y=y;		
 	}
 
+	/**
+	 * Creates the proxied game on demand and releases the source afterwards,
+	 * so a chain of proxies does not keep all its predecessors reachable.
+	 */
 	private QueenGame getProxy(){
 		if (proxy==null){
 			proxy=new QueenGame(source);
 			proxy.setQueen(x,y);
+			source=null;
 		}
 		return proxy;
 	}
 	
+	/**
+	 * Returns the collisions of the source changed by the moved queen, without creating the proxy.
+	 * The result is remembered, so it is computed only once.
+	 */
+	@Override
+	public int collisions() {	
+		if (proxy!=null || x>=size || y>=size) return getProxy().collisions();
+		if (collisions<0) collisions=source.collisions()+source.collisionDelta(x,y);
+		return collisions;
+	}
 	@Override
-	public int collisions() {	return getProxy().collisions();	}
+	public int collisionDelta(int x, int y) {	return getProxy().collisionDelta(x, y);	}
 	@Override
 	public boolean hasQueen(int x, int y) {	return getProxy().hasQueen(x, y);	}
 	@Override
 	public void initialize() {
-		if (proxy==null) proxy=new QueenGame(source.size());
+		if (proxy==null) proxy=new QueenGame(size);
+		source=null;
 		proxy.initialize();
 	}
 	@Override
-	public boolean isSolved() {	return getProxy().isSolved(); }
+	public boolean isSolved() {	return collisions()==0; }
 	@Override
 	public int positionOf(int x) {	return getProxy().positionOf(x);	}
 	@Override
  public void random() {
-		if (proxy==null) proxy=new QueenGame(source.size());
+		if (proxy==null) proxy=new QueenGame(size);
+		source=null;
 		proxy.random();
 	}
  @Override
 	public void randomFull() {
-		if (proxy==null) proxy=new QueenGame(source.size());
+		if (proxy==null) proxy=new QueenGame(size);
+		source=null;
 		proxy.randomFull();
 	}
 	@Override
 	public void setQueen(int x, int y) {	getProxy().setQueen(x, y); }
 	@Override
-	public int size() {	return source.size(); }
+	public int size() {	return size; }
 	@Override
 	public int[] getGrid() {	return getProxy().getGrid();	}
 	@Override
-	public int compareTo(IQueenGame o) {	return getProxy().compareTo(o); }
+	public int compareTo(IQueenGame o) {	return Integer.compare(collisions(),o.collisions()); }
 	@Override
 	public String toString() {	return getProxy().toString();	}
 	@Override
-	public int hashCode() {	return getProxy().hashCode(); }	
+	public int hashCode() {	return Long.hashCode(hash64()); }	
+	/**
+	 * Returns the hash of the source with the moved queen, without creating the proxy.
+	 */
+	@Override
+	public long hash64() {	
+		if (proxy!=null || x>=size || y>=size) return getProxy().hash64();
+		return source.hash64() ^ Zobrist.key(source.positionOf(x),x) ^ Zobrist.key(y,x); 
+	}
 	public boolean equals(QueenGame g) {	return getProxy().equals(g); }
 	@Override
 	public boolean equals(Object o) {	return getProxy().equals(o);	}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package implementation.queenproblem;
+
+import java.awt.Point;
+
+import core.ReversibleProblem;
+
+/**
+ * This is the n queens problem as core.ReversibleProblem.
+ * A move places the queen of one column into an other row
+ * and is encoded as <code>(x*size+from)*size+to</code>,
+ * so the size of the board is limited to MAX_SIZE, where the moves still fit into an int.<br>
+ * The heuristic is the largest number of queens sharing a row or diagonal with an other queen
+ * (see QueenGame#lowerBound()), because each move changes this number by one at most.
+ * The occupied rows and diagonals are counted by the game itself,
+ * so the heuristic and its change caused by a move need constant time.
+ * 
+ * @author Eden_06
+ *
+ */
+public class ReversibleQueenProblem implements ReversibleProblem<QueenGame,Point> {
+
+	/** The largest size whose moves can be encoded, because <code>size*size*size</code> must fit into an int. */
+	public static final int MAX_SIZE=1290;
+	
+	private int size;
+	private QueenGame initial;
+	
+	public ReversibleQueenProblem(int size) {
+		if (size<3) throw new IllegalArgumentException();
+		if (size>MAX_SIZE) throw new IllegalArgumentException("size must not be greater than "+MAX_SIZE+"!");
+		else	this.size = size;
+		initial=new QueenGame(size); 
+		initial.initialize();
+	}
+	
+	public ReversibleQueenProblem(IQueenGame initial) {
+		if (initial==null || initial.size()<3) throw new IllegalArgumentException();
+		if (initial.size()>MAX_SIZE) throw new IllegalArgumentException("size must not be greater than "+MAX_SIZE+"!");
+		this.size=initial.size();
+		this.initial=new QueenGame(initial);
+	}
+	
+	@Override
+	public QueenGame initial() {	return new QueenGame(initial);	}
+	@Override
+	public boolean isGoal(QueenGame state) {	return state.isSolved();	}
+	@Override
+	public int h(QueenGame state) {	return state.lowerBound();	}
+	@Override
+	public int maxMoves() {	return size*(size-1);	}
+	@Override
+	public int moves(QueenGame state, int[] buffer) {
+		int n=0;
+		for (int x=0;x<size;x++){
+			int from=state.positionOf(x);
+			for (int to=0;to<size;to++){
+				if (to!=from) buffer[n++]=(x*size+from)*size+to;
+			}
+		}
+		return n;
+	}
+	@Override
+	public int apply(QueenGame state, int move) {
+		int to=move%size, x=move/size/size;
+		int before=state.lowerBound();
+		state.setQueen(x,to);
+		return state.lowerBound()-before;
+	}
+	@Override
+	public void undo(QueenGame state, int move) {	apply(state,inverse(move));	}
+	@Override
+	public int inverse(int move) {
+		int to=move%size, from=move/size%size, x=move/size/size;
+		return (x*size+to)*size+from;
+	}
+	@Override
+	public Point decode(QueenGame state, int move) {	return new Point(move/size/size,move%size);	}
+
+}
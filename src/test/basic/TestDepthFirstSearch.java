@@ -36,11 +36,25 @@ import java.util.List;
 
 import junit.framework.TestCase;
 import core.Problem;
+import core.TreeProblem;
 import core.Search;
 import basic.DepthFirstSearch;
 
 public class TestDepthFirstSearch extends TestCase {
 
+	private class ChainProblem implements TreeProblem<Integer>{
+		private int g;
+		public ChainProblem(int g) {	this.g=g;	}
+		@Override
+		public Integer initial() {	return 0;	}
+		@Override
+		public List<Integer> expand(Integer state) {	List<Integer> r=new LinkedList<Integer>();r.add(state+1);return r;	}
+		@Override
+		public boolean isGoal(Integer state) {	return state==g;	}
+		@Override
+		public int depth(Integer state) {	return state;	}
+	}
+
 	private class GProblem implements Problem<Integer>{
 		/*
 		 * 5 x 5 Feld
@@ -189,4 +203,12 @@ public class TestDepthFirstSearch extends TestCase {
 		assertTrue(nohashSearch.getProblem()==nohash);
 	}
 
+	public void testDeepSearch() {
+		// the search must not be limited by the size of the call stack
+		DepthFirstSearch<Integer> deep=new DepthFirstSearch<Integer>(new ChainProblem(100000));
+		deep.run();
+		assertTrue(deep.getResult()==100000);
+		assertTrue(deep.neededSteps()==100000);
+	}
+
 }
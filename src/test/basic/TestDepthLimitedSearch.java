@@ -41,6 +41,19 @@ import junit.framework.TestCase;
 
 public class TestDepthLimitedSearch extends TestCase {
 
+	private class ChainProblem implements TreeProblem<Integer>{
+		private int g;
+		public ChainProblem(int g) {	this.g=g;	}
+		@Override
+		public Integer initial() {	return 0;	}
+		@Override
+		public List<Integer> expand(Integer state) {	List<Integer> r=new LinkedList<Integer>();r.add(state+1);return r;	}
+		@Override
+		public boolean isGoal(Integer state) {	return state==g;	}
+		@Override
+		public int depth(Integer state) {	return state;	}
+	}
+
 
 	private class GProblem implements TreeProblem<Integer>{
 		/*
@@ -205,4 +218,16 @@ public class TestDepthLimitedSearch extends TestCase {
 		assertTrue(limitedSearch.depthLimit()==5);		
 	}
 
+	public void testDeepSearch() {
+		// the search must not be limited by the size of the call stack
+		DepthLimitedSearch<Integer> deep=new DepthLimitedSearch<Integer>(new ChainProblem(100000),200000);
+		deep.run();
+		assertTrue(deep.getResult()==100000);
+		assertTrue(deep.neededSteps()==100000);
+		deep=new DepthLimitedSearch<Integer>(new ChainProblem(100000),50000);
+		deep.run();
+		assertTrue(deep.getResult()==null);
+		assertTrue(deep.neededSteps()==50000);
+	}
+
 }
@@ -229,4 +229,24 @@ public class TestIterativeDeepeningAStar extends TestCase {
 		assertTrue(nohashSearch.getProblem()==nohash);
 	}
 
+	public void testTableSize() {
+		assertTrue(walkSearch.getTableSize()==32);
+		try{
+			walkSearch.setTableSize(0);
+			fail("tableSize must be greater than zero");
+		}catch(IllegalArgumentException e){	}
+		// a smaller table must not change the result
+		walkSearch.setTableSize(1);
+		assertTrue(walkSearch.getTableSize()==1);
+		walkSearch.run();
+		assertTrue(String.format("%d != 357",walkSearch.neededSteps()),walkSearch.neededSteps()==357);
+		// the size can not be changed after initialization
+		assertTrue(walkSearch.initialize());
+		walkSearch.setTableSize(8);
+		assertTrue(walkSearch.getTableSize()==1);
+		runSearch.setTableSize(1);
+		runSearch.run();
+		assertTrue(runSearch.getResult().getPath().equals( Arrays.asList(24, 19, 18, 13, 12, 7, 2, 1, 0) ));
+	}
+
 }
@@ -42,6 +42,19 @@ import basic.IterativeDeepeningSearch;
 
 public class TestIterativeDeepeningSearch extends TestCase {
 
+	private class ChainProblem implements TreeProblem<Integer>{
+		private int g;
+		public ChainProblem(int g) {	this.g=g;	}
+		@Override
+		public Integer initial() {	return 0;	}
+		@Override
+		public List<Integer> expand(Integer state) {	List<Integer> r=new LinkedList<Integer>();r.add(state+1);return r;	}
+		@Override
+		public boolean isGoal(Integer state) {	return state==g;	}
+		@Override
+		public int depth(Integer state) {	return state;	}
+	}
+
 	 //TODO: detect hashing bug!
 	
 	private class GState{
@@ -278,4 +291,29 @@ public class TestIterativeDeepeningSearch extends TestCase {
   subtest(stopSearch);
   subtest(nohashSearch);
 	}
+	public void testDeepSearch() {
+		// the search must not be limited by the size of the call stack
+		IterativeDeepeningSearch<Integer> deep=new IterativeDeepeningSearch<Integer>(new ChainProblem(2000),3000);
+		deep.run();
+		assertTrue(deep.getResult()==2000);
+		assertTrue(deep.neededSteps()==2000*2001/2+2000);
+	}
+
+	public void testTableSize() {
+		assertTrue(walkSearch.getTableSize()==32);
+		try{
+			walkSearch.setTableSize(0);
+			fail("tableSize must be greater than zero");
+		}catch(IllegalArgumentException e){	}
+		// a smaller table must not change the result
+		walkSearch.setTableSize(1);
+		assertTrue(walkSearch.getTableSize()==1);
+		walkSearch.run();
+		assertTrue(String.format("%d != 6798",walkSearch.neededSteps()),walkSearch.neededSteps()==6798);
+		// the size can not be changed after initialization
+		assertTrue(walkSearch.initialize());
+		walkSearch.setTableSize(8);
+		assertTrue(walkSearch.getTableSize()==1);
+	}
+
 }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.basic;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import basic.ReversibleIterativeDeepeningAStar;
+
+import core.ReversibleProblem;
+import core.Search;
+import junit.framework.TestCase;
+
+public class TestReversibleIterativeDeepeningAStar extends TestCase {
+
+	private class RState{
+		public int id;
+		public RState(int id){ this.id=id;	}		
+	}
+	
+	private class RProblem implements ReversibleProblem<RState,Integer>{
+		/*
+		 * 5 x 5 Feld, moves right, left, down and up (or only right and down)
+		 * 0  1  2  3  4
+		 * 5  6  7  8  9 
+		 *10 11 12 13 14
+		 *15 16 17 18 19
+		 *20 21 22 23 24
+		 */		
+		private List<Integer> order=new LinkedList<Integer>();
+		private Integer i,g;
+		private boolean back;
+  private Search<RState> search=null;		
+  public RProblem(Integer i, Integer g, boolean back) {	super(); this.i=i;	this.g=g; this.back=back;	}
+		private int dist(int id){ return Math.abs(g%5-id%5) + Math.abs(g/5-id/5); }
+		private int offset(int move){ return (move==0?1:(move==1?5:(move==2?-1:-5))); }
+  @Override
+		public RState initial() {	return (i==null ? null : new RState(i));	}
+		@Override
+		public boolean isGoal(RState state) {	return state.id==g;	}
+		@Override
+		public int h(RState state) {	return dist(state.id);	}
+		@Override
+		public int maxMoves() {	return 4;	}
+		@Override
+		public int moves(RState state, int[] buffer) {
+			if (state.id==i) order.clear();
+			order.add(state.id);
+			int x = state.id % 5, y = state.id / 5, n=0;
+			if (x+1<5) buffer[n++]=0;
+			if (y+1<5) buffer[n++]=1;
+			if (back && x-1>=0) buffer[n++]=2;
+			if (back && y-1>=0) buffer[n++]=3;
+			if (search!=null && search.neededSteps()==5)	search.stop();
+			return n;
+		}
+		@Override
+		public int apply(RState state, int move) {
+			int h=dist(state.id);
+			state.id+=offset(move);
+			return dist(state.id)-h;
+		}
+		@Override
+		public void undo(RState state, int move) {	state.id-=offset(move);	}
+		@Override
+		public int inverse(int move) {	return (back ? (move+2)%4 : -1);	}
+		@Override
+		public Integer decode(RState state, int move) {	return state.id+offset(move);	}
+		public void setSearch(Search<RState> search) {	this.search = search;	}
+		public List<Integer> getOrder() { return order; }
+	}
+	
+	private RProblem                                          empty,       walk,        run,       stop;
+	private ReversibleIterativeDeepeningAStar<RState,Integer> emptySearch, walkSearch,  runSearch, stopSearch;
+	
+	public TestReversibleIterativeDeepeningAStar() {
+		super("test case for the reversible iterative deepening a star search");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		empty=new RProblem(null,null,true);
+		emptySearch=new ReversibleIterativeDeepeningAStar<RState,Integer>(empty);
+		walk=new RProblem(0,25,false);
+		walkSearch=new ReversibleIterativeDeepeningAStar<RState,Integer>(walk);
+		run=new RProblem(4,20,true);
+		runSearch=new ReversibleIterativeDeepeningAStar<RState,Integer>(run);
+		stop=new RProblem(0,24,true);
+		stopSearch=new ReversibleIterativeDeepeningAStar<RState,Integer>(stop);
+		stop.setSearch(stopSearch);
+	}
+
+	protected void tearDown() throws Exception {
+		empty=null;       walk=null;       run=null;       stop=null;
+		emptySearch=null; walkSearch=null; runSearch=null; stopSearch=null;
+		super.tearDown();
+	}
+
+	public void testReversibleIterativeDeepeningAStar() {
+		try{
+			ReversibleIterativeDeepeningAStar<RState,Integer> test=new ReversibleIterativeDeepeningAStar<RState,Integer>(null);
+			fail("creating a search without a problem should fail!");
+			test.run();
+		}catch(Exception e){
+			
+		}
+	}
+
+	public void testInitialize() {
+		assertFalse(emptySearch.initialize());
+		assertTrue(walkSearch.initialize());
+		assertTrue(runSearch.initialize());
+		assertTrue(stopSearch.initialize());
+	}
+	
+	public void testRun() {
+		emptySearch.run();
+		assertTrue(emptySearch.getResult()==null);
+		assertTrue(emptySearch.neededSteps()==0);
+		assertTrue(emptySearch.getPath().isEmpty());
+		
+		walkSearch.run();
+		assertTrue(walkSearch.getResult()==null);
+		assertTrue(walkSearch.getPath().isEmpty());
+		long steps=walkSearch.neededSteps();
+		assertTrue(steps>=25);
+		//secound try to show that its deterministic
+		walkSearch.run();
+		assertTrue(walkSearch.getResult()==null);
+		assertTrue(walkSearch.neededSteps()==steps);
+		
+		runSearch.run();
+		assertFalse(runSearch.getResult()==null);
+		assertTrue(runSearch.getResult().id==20);
+		assertTrue(runSearch.getPath().size()==8);
+		// the moves are tried in the order right, down, left, up 
+		assertTrue(runSearch.getPath().equals( Arrays.asList(9, 14, 19, 24, 23, 22, 21, 20) ));
+		assertTrue(String.format("%d != 8",runSearch.neededSteps()),runSearch.neededSteps()==8);
+		assertTrue(run.getOrder().equals( Arrays.asList(4, 9, 14, 19, 24, 23, 22, 21) ));
+		//secound try to show that its deterministic
+		runSearch.run();
+		assertTrue(runSearch.getResult().id==20);
+		assertTrue(runSearch.getPath().equals( Arrays.asList(9, 14, 19, 24, 23, 22, 21, 20) ));
+		assertTrue(runSearch.neededSteps()==8);
+		
+		stopSearch.run();
+		assertTrue(stopSearch.getResult()==null);
+		assertTrue(String.format("%d != 5",stopSearch.neededSteps()),stopSearch.neededSteps()==5);
+		assertTrue(stopSearch.getPath().isEmpty());
+	}
+	
+	public void testGetProblem() {
+		assertTrue(emptySearch.getProblem()==empty);
+		assertTrue(walkSearch.getProblem()==walk);
+		assertTrue(runSearch.getProblem()==run);
+		assertTrue(stopSearch.getProblem()==stop);
+	}
+
+}
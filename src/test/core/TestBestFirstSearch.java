@@ -36,6 +36,7 @@ import java.util.Random;
 
 import core.BestFirstSearch;
 import core.HeuristicProblem;
+import core.IntegralHeuristicProblem;
 import junit.framework.TestCase;
 
 public class TestBestFirstSearch extends TestCase {
@@ -77,10 +78,42 @@ public class TestBestFirstSearch extends TestCase {
 		public boolean add(Integer state){
 			boolean r=super.add(state);
 			heuristicProblem.h(state);
+			update(state);
 			return r;
 		}
 	}
 	
+	/**
+	 * a line of states 0..20 with integral costs, which claims to be integral
+	 */
+	private class LineProblem implements IntegralHeuristicProblem<Integer>{
+		@Override
+		public double g(Integer state) { return state; }
+		@Override
+		public double h(Integer state) {	return 20-state;	}
+		@Override
+		public int depth(Integer state) {	return state;	}
+		@Override
+		public List<Integer> expand(Integer state) {
+   List<Integer> r=new LinkedList<Integer>();
+   if (state<20) r.add(state+1);
+			return r;
+		}
+		@Override
+		public Integer initial() {	return 0;	}
+		@Override
+		public boolean isGoal(Integer state) {	return state==20;	}
+	}
+	
+	/**
+	 * weights the heuristic, so that the evaluations are not integral after the first state
+	 */
+	private class WeightedSearch extends BestFirstSearch<Integer>{
+		public WeightedSearch(HeuristicProblem<Integer> problem) {	super(problem);	}
+		@Override
+		public Double f(Integer state) {	return heuristicProblem.g(state)+1.5*heuristicProblem.h(state);	}
+	}
+	
 	private ElemProblem fixed, update, random;
 	private BinSearch   fixedSearch,  updateSearch,  randomSearch;
 	
@@ -129,8 +162,9 @@ public class TestBestFirstSearch extends TestCase {
 	public void testRun() {
   fixedSearch.run();
   assertTrue(fixedSearch.getResult()==9);
-  assertTrue(fixedSearch.neededSteps()==4);
-  assertTrue(fixedSearch.branchedNodes()==4);
+  // the fixed queue evaluates state 4 on insertion, so it never notices its improvement
+  assertTrue(fixedSearch.neededSteps()==9);
+  assertTrue(fixedSearch.branchedNodes()==9);
   
   updateSearch.run();
   assertTrue(updateSearch.getResult()==9);
@@ -142,6 +176,15 @@ public class TestBestFirstSearch extends TestCase {
   assertTrue(randomSearch.neededSteps()<10);
   assertTrue(randomSearch.branchedNodes()==randomSearch.neededSteps());  
 	}
+	
+	public void testFallback() {
+		WeightedSearch weighted=new WeightedSearch(new LineProblem());
+		weighted.run();
+		assertTrue(weighted.getResult()==20);
+		assertTrue(weighted.neededSteps()==20);
+		weighted.run();
+		assertTrue(weighted.getResult()==20);
+	}
 
 
 }
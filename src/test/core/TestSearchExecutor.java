@@ -0,0 +1,153 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.core;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import basic.BreadthFirstSearch;
+import core.Problem;
+import core.Search;
+import core.SearchExecutor;
+import core.SearchOutcome;
+import core.SearchOutcome.Status;
+import junit.framework.TestCase;
+
+public class TestSearchExecutor extends TestCase {
+
+	private class IntProblem implements Problem<Integer>{
+		private final int goal;
+		public IntProblem(int goal) {	this.goal=goal;	}
+		@Override
+		public List<Integer> expand(Integer state) {	List<Integer> r=new LinkedList<Integer>();if (goal<0 || state<goal) r.add(state+1);return r;	}
+		@Override
+		public Integer initial() {	return 1;	}
+		@Override
+		public boolean isGoal(Integer state) {	return state==goal;	}
+	}
+	
+	private class LoopSearch extends Search<Integer>{
+		@Override
+		protected boolean canPrepare() {	return true;	}
+		@Override
+		protected void prepare() {	}
+		@Override
+		protected void search() {	while (running()) neededSteps++;	}
+	}
+	
+	private class EmptySearch extends Search<Integer>{
+		@Override
+		protected boolean canPrepare() {	return false;	}
+		@Override
+		protected void prepare() { fail("prepare should never be called!");	}
+		@Override
+		protected void search() { fail("search should never be called!");	}
+	}
+	
+	private class FailSearch extends Search<Integer>{
+		@Override
+		protected boolean canPrepare() {	return true;	}
+		@Override
+		protected void prepare() {	}
+		@Override
+		protected void search() {	throw new IllegalStateException("fail");	}
+	}
+	
+	private SearchExecutor executor;
+	
+	public TestSearchExecutor() {
+		super("Test case for the SearchExecutor");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		executor=new SearchExecutor();
+	}
+
+	protected void tearDown() throws Exception {
+		executor.shutdown();
+		executor=null;
+		super.tearDown();
+	}
+	
+	public void testSolved() {
+		SearchOutcome<Integer> outcome=executor.submit(new BreadthFirstSearch<Integer>(new IntProblem(10))).join();
+		assertEquals("search should be solved",Status.Solved,outcome.getStatus());
+		assertTrue("search should be solved",outcome.isSolved());
+		assertEquals("result should be 10",Integer.valueOf(10),outcome.getResult());
+		assertEquals("search should expand 9 states",9,outcome.getStatistics().getExpansions());
+	}
+	
+	public void testNoSolution() {
+		assertEquals("search should not be initialized",Status.NotInitialized,executor.submit(new EmptySearch()).join().getStatus());
+		assertEquals("search should have no solution",Status.NoSolution,
+				executor.submit(new BreadthFirstSearch<Integer>(new IntProblem(0)),1,TimeUnit.SECONDS,10).join().getStatus());
+	}
+	
+	public void testDeadline() {
+		LoopSearch search=new LoopSearch();
+		SearchOutcome<Integer> outcome=executor.submit(search,50,TimeUnit.MILLISECONDS).join();
+		assertEquals("search should exceed the deadline",Status.DeadlineExceeded,outcome.getStatus());
+		assertTrue("search should have been running",outcome.getNeededSteps()>0);
+		assertTrue("search should take at least the timeout",outcome.getElapsedNanos()>=TimeUnit.MILLISECONDS.toNanos(50));
+		assertFalse("search should not be running",search.running());
+	}
+	
+	public void testBudget() {
+		SearchOutcome<Integer> outcome=executor.submit(new BreadthFirstSearch<Integer>(new IntProblem(-1)),0,TimeUnit.SECONDS,100).join();
+		assertEquals("search should exhaust the budget",Status.BudgetExhausted,outcome.getStatus());
+		assertEquals("search should expand 100 states",100,outcome.getStatistics().getExpansions());
+	}
+	
+	public void testCancel() throws Exception {
+		LoopSearch search=new LoopSearch();
+		CompletableFuture<SearchOutcome<Integer>> future=executor.submit(search);
+		while (!search.running() && !future.isDone()) Thread.sleep(1);
+		assertTrue("future should be cancelled",future.cancel(true));
+		for (int i=0;i<1000 && search.running();i++) Thread.sleep(1);
+		assertFalse("search should not be running",search.running());
+	}
+	
+	public void testFailure() {
+		SearchOutcome<Integer> outcome=executor.submit(new FailSearch()).join();
+		assertEquals("search should fail",Status.Failed,outcome.getStatus());
+		assertTrue("failure should be kept",outcome.getFailure() instanceof IllegalStateException);
+	}
+	
+	public void testShutdown() {
+		executor.shutdown();
+		assertTrue("executor should be shut down",executor.isShutdown());
+		assertTrue("submit should fail",executor.submit(new LoopSearch()).isCompletedExceptionally());
+	}
+
+}
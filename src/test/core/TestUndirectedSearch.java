@@ -37,6 +37,7 @@ public class TestUndirectedSearch extends TestCase {
  
 	private class IntSearch extends UndirectedSearch<Integer>{
 		public IntSearch(boolean m) {	super(m);	}
+		public IntSearch(boolean m,long seed) {	super(m,seed);	}
 		@Override
 		protected boolean canPrepare() {	return true;	}
 		@Override
@@ -91,6 +92,24 @@ public class TestUndirectedSearch extends TestCase {
 		minSearch.searchMinimum();
 	}
 
+	public void testGetRandom() {
+		assertNotNull(minSearch.getRandom());
+		assertFalse("each search should own a random value generator",minSearch.getRandom()==maxSearch.getRandom());
+		IntSearch a=new IntSearch(true,42L), b=new IntSearch(false,42L);
+		for (int i=0;i<10;i++)	assertEquals(a.getRandom().nextLong(),b.getRandom().nextLong());
+		a.setSeed(7L);
+		long x=a.getRandom().nextLong();
+		a.setSeed(7L);
+		assertEquals("setSeed should reset the generator",x,a.getRandom().nextLong());
+		UndirectedSearch.setMasterSeed(13L);
+		a=new IntSearch(true);
+		UndirectedSearch.setMasterSeed(13L);
+		b=new IntSearch(true);
+		assertEquals("searches split from the same master seed should draw the same values",
+				a.getRandom().nextLong(),b.getRandom().nextLong());
+		UndirectedSearch.setMasterSeed(System.currentTimeMillis());
+	}
+
 	public void testMinimum() {
 		assertTrue(minSearch.m());
 		minSearch.initialize();
@@ -40,6 +40,8 @@ import extended.FirstChoiceStrategy;
 import extended.HillClimbing;
 import extended.HillClimbingProblem;
 import extended.HillClimbingStrategy;
+import extended.Neighborhood;
+import extended.NeighborhoodProblem;
 
 
 public class TestHillClimbing extends TestCase {
@@ -75,6 +77,22 @@ public class TestHillClimbing extends TestCase {
 
 	}
 	
+	private class NProblem extends PProblem implements NeighborhoodProblem<Double>{
+		private int created=0;
+		public NProblem(Double i,Foo f) {	super(i,f);	}
+		@Override
+		public List<Double> expand(Double state) {	fail("expand should never get called");	return null;	}
+		@Override
+		public Neighborhood<Double> neighborhood(final Double state) {
+			return new Neighborhood<Double>(){
+				@Override
+				public int size() {	return 2;	}
+				@Override
+				public Double neighbor(int index) {	created++;	return (index==0 ? state-1.0 : state+1.0);	}
+			};
+		}
+	}
+	
 	private class Dat{
 		public double init,max;
 		public int steps;
@@ -276,6 +294,41 @@ public class TestHillClimbing extends TestCase {
 		cmax.setStrategy(hcBestFirst);
 	}
 	
+	public void testNeighborhood(){
+		NProblem n=new NProblem(0.0,c.f);
+		HillClimbing<Double> best=new HillClimbing<Double>(n,false,hcBestFirst,0);
+		HillClimbing<Double> first=new HillClimbing<Double>(n,false,hcFirstBest,0);
+		for (int i=0;i<cases.length-1;i++){
+			n.setI(cases[i].init);
+			n.created=0;
+			best.run();
+			assertFalse("Maximum search with a neighborhood should not return null",best.getResult()==null);
+			assertTrue("Maximum search with a neighborhood neededSteps() should be "+cases[i].steps+" but was "+best.neededSteps(),best.neededSteps()==cases[i].steps);
+			assertTrue("Maximum search with a neighborhood should be "+cases[i].max+" but was "+c.f.of(best.getResult()),cmp(c.f.of(best.getResult()),cases[i].max));
+			assertTrue("best choice should create each neighbor once",n.created==2*best.neededSteps());
+			n.created=0;
+			first.run();
+			assertFalse("Maximum search with a neighborhood should not return null",first.getResult()==null);
+			assertTrue("first choice should create each neighbor at most once",n.created<=2*first.neededSteps());
+		}
+	}
+	
+	public void testSeed(){
+		//all states of l are equal, so the search walks randomly until the side steps run out
+		l.setI(0.0);
+		HillClimbing<Double> a=new HillClimbing<Double>(l,true,hcFirstBest,50,42L);
+		HillClimbing<Double> b=new HillClimbing<Double>(l,true,hcFirstBest,50,42L);
+		a.run();
+		b.run();
+		assertEquals("searches with the same seed should take the same walk",a.getResult(),b.getResult());
+		a.setSeed(7L);
+		a.run();
+		double x=a.getResult();
+		a.setSeed(7L);
+		a.run();
+		assertEquals("a seeded search run should be replayed",x,a.getResult(),0.0);
+	}
+	
 	public void testInitialized() {
 		
 		l.setI(null);
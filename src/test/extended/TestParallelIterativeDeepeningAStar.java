@@ -0,0 +1,191 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.extended;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import basic.IterativeDeepeningAStar;
+import core.HeuristicProblem;
+import core.Search;
+import extended.ParallelIterativeDeepeningAStar;
+import junit.framework.TestCase;
+
+public class TestParallelIterativeDeepeningAStar extends TestCase {
+
+	private static class HState{
+		public int id;
+		public HState parent=null;
+		public int depth=0;
+		public double cost=0.0;
+		public HState(int id,HState parent,double cost) {
+			this.id=id;	this.parent=parent;	this.depth=parent.depth+1;	this.cost=parent.cost+cost;
+		}
+		public HState(int id){ this.id=id;	}
+		@Override
+		public int hashCode() {	return id;	}
+		@Override
+		public boolean equals(Object obj) {	return (obj instanceof HState) && ((HState)obj).id==id;	}
+	}
+	
+	private static class HProblem implements HeuristicProblem<HState>{
+		/*
+		 * 10 x 10 Feld, moves in all four directions
+		 * 
+		 * i mod 10 = x    cost = 0.5*|x-y|+1.0
+		 * i div 10 = y
+		 */
+		private Integer i,g;
+  private Search<HState> search=null;		
+  public HProblem(Integer i, Integer g) {	super(); this.i=i;	this.g=g;	}
+  private void mayAdd(List<HState> l,HState parent,int x,int y){	
+  	if (x>=0 && x<10 && y>=0 && y<10)	l.add( new HState( x+(10*y), parent, 0.5*Math.abs(x-y)+1.0 ) );	
+  }
+		private int dist(int x1, int y1, int x2, int y2){ return Math.abs(x1-x2) + Math.abs(y1-y2); }
+  @Override
+		public HState initial() {	return (i==null ? null : new HState(i));	}
+		@Override
+		public List<HState> expand(HState state) {
+			int x = state.id % 10, y = state.id / 10;			
+			List<HState> r=new LinkedList<HState>();
+			mayAdd(r,state,x+1,y);	mayAdd(r,state,x,y+1);
+			mayAdd(r,state,x-1,y);	mayAdd(r,state,x,y-1);
+			if (search!=null)	search.stop();
+			return r;
+		}
+		@Override
+		public boolean isGoal(HState state) {	return state.id==g;	}
+		public void setSearch(Search<HState> search) {	this.search = search;	}
+		@Override
+		public int depth(HState state) {return state.depth; }		
+		@Override
+		public double g(HState state) {	return state.cost;	}
+		@Override
+		public double h(HState state) {	return dist(g%10,g/10,state.id%10,state.id/10); }
+	}
+	
+	private HProblem                                empty,       walk,        run,       stop;
+	private ParallelIterativeDeepeningAStar<HState> emptySearch, walkSearch,  runSearch, stopSearch;
+	
+	public TestParallelIterativeDeepeningAStar() {
+		super("test case for the parallel iterative deepening a star search");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		empty=new HProblem(null,null);
+		emptySearch=new ParallelIterativeDeepeningAStar<HState>(empty,false,2);
+		walk=new HProblem(0,100);
+		walkSearch=new ParallelIterativeDeepeningAStar<HState>(walk,false,3);
+		run=new HProblem(9,90);
+		runSearch=new ParallelIterativeDeepeningAStar<HState>(run,false,4);
+		stop=new HProblem(0,99);
+		stopSearch=new ParallelIterativeDeepeningAStar<HState>(stop,true,2);
+		stop.setSearch(stopSearch);
+	}
+
+	protected void tearDown() throws Exception {
+		empty=null;       walk=null;       run=null;       stop=null;
+		emptySearch=null; walkSearch=null; runSearch=null; stopSearch=null;
+		super.tearDown();
+	}
+
+	public void testParallelIterativeDeepeningAStar() {
+		try{
+			ParallelIterativeDeepeningAStar<HState> test=new ParallelIterativeDeepeningAStar<HState>(null);
+			fail("creating a search without a problem should fail!");
+			test.run();
+		}catch(Exception e){
+			
+		}
+		try{
+			ParallelIterativeDeepeningAStar<HState> test=new ParallelIterativeDeepeningAStar<HState>(run,false,0);
+			fail("creating a search without threads should fail!");
+			test.run();
+		}catch(Exception e){
+			
+		}
+		assertTrue(runSearch.getProblem()==run);
+		assertTrue(runSearch.getThreads()==4);
+		runSearch.setSplitDepth(3);
+		assertTrue(runSearch.getSplitDepth()==3);
+	}
+
+	public void testRun() {
+		emptySearch.run();
+		assertTrue(emptySearch.getResult()==null);
+		assertTrue(emptySearch.neededSteps()==0);
+		
+		walkSearch.run();
+		assertTrue(walkSearch.getResult()==null);
+		assertTrue(walkSearch.neededSteps()>=100);
+		
+		IterativeDeepeningAStar<HState> reference=new IterativeDeepeningAStar<HState>(run);
+		reference.run();
+		for (int i=0;i<5;i++){
+			runSearch.run();
+			assertFalse(runSearch.getResult()==null);
+			assertTrue(runSearch.getResult().id==90);
+			assertEquals(reference.getResult().cost,runSearch.getResult().cost,1e-9);
+		}
+		for (int split=0;split<=8;split+=4){
+			for (int threads=1;threads<=8;threads*=2){
+				ParallelIterativeDeepeningAStar<HState> search=new ParallelIterativeDeepeningAStar<HState>(run,false,threads);
+				search.setSplitDepth(split);
+				search.run();
+				assertEquals(reference.getResult().cost,search.getResult().cost,1e-9);
+			}
+		}
+		
+		stopSearch.run();
+		assertTrue(stopSearch.getResult()==null);
+	}
+
+	public void testTableSize() {
+		assertTrue(runSearch.getTableSize()==32);
+		try{
+			runSearch.setTableSize(0);
+			fail("tableSize must be greater than zero");
+		}catch(IllegalArgumentException e){	}
+		// a smaller table must not change the result
+		IterativeDeepeningAStar<HState> reference=new IterativeDeepeningAStar<HState>(run);
+		reference.run();
+		runSearch.setTableSize(1);
+		assertTrue(runSearch.getTableSize()==1);
+		runSearch.run();
+		assertEquals(reference.getResult().cost,runSearch.getResult().cost,1e-9);
+		// the size can not be changed after initialization
+		assertTrue(runSearch.initialize());
+		runSearch.setTableSize(8);
+		assertTrue(runSearch.getTableSize()==1);
+	}
+
+}
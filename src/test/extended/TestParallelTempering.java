@@ -0,0 +1,206 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.extended;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import extended.ParallelTempering;
+import extended.RandomNeighborProblem;
+import extended.SimulatedAnnealingProblem;
+
+import junit.framework.TestCase;
+
+public class TestParallelTempering extends TestCase {
+	private static class Foo{
+		private double p[];
+		public Foo(double p[]){this.p=p;}
+		public double of(double x){ //Horner shema
+		 double y=0, u=0; 
+		 for(int i=0;i<p.length;i++){y=u+p[i];u=x*y;}
+			return y;
+		}
+	}
+	
+	private static class PProblem implements SimulatedAnnealingProblem<Double>{
+  private Double i=null;
+  private Foo f=null;
+  private Double g=null;
+ 	public PProblem(Double i,Foo f,Double g) {		super();	this.i=i;	this.f=f;	this.g=g;	}
+		@Override
+		public List<Double> expand(Double state) {
+			List<Double> r=new ArrayList<Double>();
+			if(Math.abs(state)<10000.0){	r.add(state-1.0);	r.add(state+1.0);	}
+			return r;
+		}
+		@Override
+		public Double initial() {	return i;	}
+		public void setI(Double i) { this.i=i;	}
+		@Override
+		public boolean isGoal(Double state) {	return state.equals(g);	}
+		@Override
+		public double difference(Double a, Double b) {	return f.of(a)-f.of(b);	}
+	}
+	
+	private static class RProblem extends PProblem implements RandomNeighborProblem<Double>{
+ 	public RProblem(Double i,Foo f,Double g) {		super(i,f,g);	}
+		@Override
+		public List<Double> expand(Double state) {	fail("expand should never get called");	return null;	}
+		@Override
+		public long sample(Double state, Random random) {	return (Math.abs(state)<10000.0 ? random.nextInt(2) : -1);	}
+		@Override
+		public double difference(Double state, long move) {	return difference(state,move==0 ? state-1.0 : state+1.0);	}
+		@Override
+		public Double apply(Double state, long move) {	return (move==0 ? state-1.0 : state+1.0);	}
+	}
+	
+	//f(x)=1/6 x^6 - 5/4 x^4 + 2 x^2 + 0.5 x with local minima near -2.33, -0.33 and 2.33 (integers -2, 0 and 2)
+	private static final double[] POLY={1/6.0,0.0,-1.25,0.0,2.0,0.5,0.0};
+	
+	private PProblem p;
+	private ParallelTempering<Double> s;
+	
+	protected void setUp() throws Exception {
+		super.setUp();
+		p=new PProblem(0.0,new Foo(POLY),null);
+		s=new ParallelTempering<Double>(p);
+	}
+	
+	protected void tearDown() throws Exception {
+		p=null;
+		s=null;
+		super.tearDown();
+	}
+	
+	public void testParallelTempering() {
+		try{
+			new ParallelTempering<Double>(null);
+			fail("creating a search without a problem should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new ParallelTempering<Double>(p,true,0,0.1,10);
+			fail("creating a search without chains should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new ParallelTempering<Double>(p,true,4,0,10);
+			fail("creating a search with a minimum temperature of 0 should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new ParallelTempering<Double>(p,true,4,10,1);
+			fail("creating a search with a maximum temperature below the minimum should fail!");
+		}catch(IllegalArgumentException e){ }
+		ParallelTempering<Double> t=new ParallelTempering<Double>(p,false,5,0.5,8);
+		assertTrue(t.getProblem()==p);
+		assertFalse(t.minimum());
+		assertTrue(t.getChains()==5);
+		assertEquals(0.5,t.getTemperature(0),1e-9);
+		assertEquals(1.0,t.getTemperature(1),1e-9);
+		assertEquals(8.0,t.getTemperature(4),1e-9);
+		assertTrue(s.minimum());
+		assertTrue(s.getChains()>=2);
+		assertTrue(s.getInterval()==100);
+		assertTrue(s.getMaxSame()==100);
+		assertTrue(s.getTimeLimit()==0);
+	}
+	
+	public void testSetters() {
+		s.setThreads(0);
+		assertTrue(s.getThreads()>0);
+		s.setThreads(3);
+		assertTrue(s.getThreads()==3);
+		s.setInterval(-1);
+		assertTrue(s.getInterval()==100);
+		s.setInterval(10);
+		assertTrue(s.getInterval()==10);
+		s.setMaxSame(0);
+		assertTrue(s.getMaxSame()==100);
+		s.setMaxSame(20);
+		assertTrue(s.getMaxSame()==20);
+		s.setTimeLimit(-1);
+		assertTrue(s.getTimeLimit()==0);
+		s.setTimeLimit(1000);
+		assertTrue(s.getTimeLimit()==1000);
+		s.initialize();
+		s.setInterval(50);
+		assertTrue("setInterval should have no effect after initialization",s.getInterval()==10);
+	}
+	
+	public void testInitialize(){
+		p.setI(null);
+		assertFalse("initialize should fail if the inital value is null",s.initialize());
+		p.setI(0.0);
+		assertTrue(s.initialize());
+	}
+	
+	public void testSearch() {
+		//the global minimum of f is at -2, which the chains reach from every initial state
+		for(double x=-10.0;x<10.0;x+=2.0){
+			p.setI(x);
+			s=new ParallelTempering<Double>(p,true,4,0.1,10);
+			s.run();
+			assertFalse("The search should have found a result",s.getResult()==null);
+			assertEquals(-2.0,s.getResult(),0.0);
+		}
+		//maximum search of -f
+		double[] ipoly=new double[POLY.length];
+		for (int i=0;i<POLY.length;i++) ipoly[i]=-POLY[i];
+		PProblem q=new PProblem(9.0,new Foo(ipoly),null);
+		s=new ParallelTempering<Double>(q,false,4,0.1,10);
+		s.run();
+		assertEquals(-2.0,s.getResult(),0.0);
+		assertTrue(s.neededSteps()>0);
+	}
+	
+	public void testGoal() {
+		RProblem r=new RProblem(8.0,new Foo(POLY),2.0);
+		s=new ParallelTempering<Double>(r,true,3,1,100);
+		s.setMaxSame(Integer.MAX_VALUE);
+		s.setTimeLimit(10000);
+		long start=System.currentTimeMillis();
+		s.run();
+		assertEquals("the search should stop at the goal",2.0,s.getResult(),0.0);
+		assertTrue(System.currentTimeMillis()-start<10000);
+	}
+	
+	public void testTimeLimit() {
+		//no goal, no termination by maxSame
+		p.setI(0.0);
+		s.setMaxSame(Integer.MAX_VALUE);
+		s.setTimeLimit(200);
+		long start=System.currentTimeMillis();
+		s.run();
+		long time=System.currentTimeMillis()-start;
+		assertTrue("the search should stop after the time limit but took "+time,time<5000);
+		assertEquals(-2.0,s.getResult(),0.0);
+	}
+	
+}
@@ -0,0 +1,209 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.extended;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import basic.AStarSearch;
+import core.HeuristicProblem;
+import core.Search;
+import extended.PortfolioSearch;
+import junit.framework.TestCase;
+
+public class TestPortfolioSearch extends TestCase {
+
+	private static class HState{
+		public int id;
+		public HState parent=null;
+		public int depth=0;
+		public double cost=0.0;
+		public HState(int id,HState parent,double cost) {
+			this.id=id;	this.parent=parent;	this.depth=parent.depth+1;	this.cost=parent.cost+cost;
+		}
+		public HState(int id){ this.id=id;	}
+		@Override
+		public int hashCode() {	return id;	}
+		@Override
+		public boolean equals(Object obj) {	return (obj instanceof HState) && ((HState)obj).id==id;	}
+	}
+	
+	private static class HProblem implements HeuristicProblem<HState>{
+		/*
+		 * 10 x 10 Feld, moves in all four directions
+		 * 
+		 * i mod 10 = x    cost = 0.5*|x-y|+1.0
+		 * i div 10 = y
+		 */
+		private Integer i,g;
+  public HProblem(Integer i, Integer g) {	super(); this.i=i;	this.g=g;	}
+  private void mayAdd(List<HState> l,HState parent,int x,int y){	
+  	if (x>=0 && x<10 && y>=0 && y<10)	l.add( new HState( x+(10*y), parent, 0.5*Math.abs(x-y)+1.0 ) );	
+  }
+		private int dist(int x1, int y1, int x2, int y2){ return Math.abs(x1-x2) + Math.abs(y1-y2); }
+  @Override
+		public HState initial() {	return (i==null ? null : new HState(i));	}
+		@Override
+		public List<HState> expand(HState state) {
+			int x = state.id % 10, y = state.id / 10;			
+			List<HState> r=new LinkedList<HState>();
+			mayAdd(r,state,x+1,y);	mayAdd(r,state,x,y+1);
+			mayAdd(r,state,x-1,y);	mayAdd(r,state,x,y-1);
+			return r;
+		}
+		@Override
+		public boolean isGoal(HState state) {	return state.id==g;	}
+		@Override
+		public int depth(HState state) {return state.depth; }		
+		@Override
+		public double g(HState state) {	return state.cost;	}
+		@Override
+		public double h(HState state) {	return dist(g%10,g/10,state.id%10,state.id/10); }
+	}
+	
+	private static class LoopSearch extends Search<HState>{
+		@Override
+		protected boolean canPrepare() {	return true;	}
+		@Override
+		protected void prepare() {	}
+		@Override
+		protected void search() {	while (running()) neededSteps++;	}
+	}
+	
+	private static class FailSearch extends Search<HState>{
+		@Override
+		protected boolean canPrepare() {	return true;	}
+		@Override
+		protected void prepare() {	}
+		@Override
+		protected void search() {	throw new IllegalStateException("fail");	}
+	}
+	
+	private HProblem                 run;
+	private PortfolioSearch<HState> emptySearch, runSearch;
+	
+	public TestPortfolioSearch() {
+		super("test case for the portfolio search");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		emptySearch=new PortfolioSearch<HState>();
+		run=new HProblem(9,90);
+		runSearch=new PortfolioSearch<HState>(run);
+	}
+
+	protected void tearDown() throws Exception {
+		run=null;
+		emptySearch=null; runSearch=null;
+		super.tearDown();
+	}
+
+	public void testPortfolioSearch() {
+		try{
+			PortfolioSearch<HState> test=new PortfolioSearch<HState>(null);
+			fail("creating a search without a problem should fail!");
+			test.run();
+		}catch(IllegalArgumentException e){
+			
+		}
+		try{
+			runSearch.addStrategy(null,true);
+			fail("adding no strategy should fail!");
+		}catch(IllegalArgumentException e){
+			
+		}
+		try{
+			runSearch.addStrategy(runSearch.getStrategies().get(0),true);
+			fail("adding a strategy twice should fail!");
+		}catch(IllegalArgumentException e){
+			
+		}
+		assertTrue(runSearch.getStrategies().size()==3);
+		assertTrue(runSearch.isOptimal(runSearch.getStrategies().get(0)));
+		assertTrue(runSearch.isOptimal(runSearch.getStrategies().get(1)));
+		assertFalse(runSearch.isOptimal(runSearch.getStrategies().get(2)));
+		assertFalse(runSearch.isRequireOptimal());
+	}
+	
+	public void testInitialize() {
+		assertFalse("an empty portfolio should not be initialized",emptySearch.initialize());
+		emptySearch.addStrategy(new LoopSearch(),false);
+		emptySearch.setRequireOptimal(true);
+		assertFalse("a portfolio without optimal strategies should not be initialized",emptySearch.initialize());
+		emptySearch.setRequireOptimal(false);
+		assertTrue(emptySearch.initialize());
+	}
+
+	public void testRun() {
+		AStarSearch<HState> reference=new AStarSearch<HState>(run);
+		reference.run();
+		for (int i=0;i<5;i++){
+			runSearch.run();
+			assertFalse(runSearch.getResult()==null);
+			assertTrue(runSearch.getResult().id==90);
+			assertTrue(runSearch.getStrategies().contains(runSearch.getWinner()));
+			assertTrue(runSearch.getWinner().getResult()==runSearch.getResult());
+			for (Search<HState> s : runSearch.getStrategies()) assertFalse(s.running());
+		}
+		runSearch.setRequireOptimal(true);
+		for (int i=0;i<5;i++){
+			runSearch.run();
+			assertTrue(runSearch.isOptimal(runSearch.getWinner()));
+			assertEquals(reference.getResult().cost,runSearch.getResult().cost,1e-9);
+		}
+	}
+	
+	public void testCancel() {
+		LoopSearch loop=new LoopSearch();
+		emptySearch.addStrategy(loop,true);
+		emptySearch.addStrategy(new AStarSearch<HState>(run),false);
+		emptySearch.run();
+		assertFalse(emptySearch.getResult()==null);
+		assertTrue(emptySearch.getWinner()!=loop);
+		assertFalse(loop.running());
+	}
+	
+	public void testFailure() {
+		emptySearch.addStrategy(new FailSearch(),true);
+		try{
+			emptySearch.run();
+			fail("a portfolio of failing strategies should fail!");
+		}catch(IllegalStateException e){
+			
+		}
+		assertTrue(emptySearch.getWinner()==null);
+		emptySearch.addStrategy(new AStarSearch<HState>(run),true);
+		emptySearch.run();
+		assertFalse(emptySearch.getResult()==null);
+	}
+
+}
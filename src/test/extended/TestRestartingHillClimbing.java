@@ -0,0 +1,208 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.extended;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import extended.FirstChoiceStrategy;
+import extended.HillClimbing.EStrategy;
+import extended.HillClimbingProblem;
+import extended.HillClimbingStrategy;
+import extended.RandomInitialProblem;
+import extended.RestartingHillClimbing;
+import extended.RestartingHillClimbing.Restart;
+
+import junit.framework.TestCase;
+
+public class TestRestartingHillClimbing extends TestCase {
+	
+	private static class DProblem implements HillClimbingProblem<Integer>{
+		/*
+		 * numbers from 0 to 99, moves to the left and right neighbor
+		 * 
+		 * f(x) = 10 * (x mod 10) + x div 10
+		 * 
+		 * each multiple of ten is a local minimum and 0 is the global minimum
+		 */
+		private Integer i;
+		private boolean goal;
+		public DProblem(Integer i, boolean goal) {	this.i=i;	this.goal=goal;	}
+		public int f(int x){ return 10*(x%10)+x/10;	}
+		@Override
+		public List<Integer> expand(Integer state) {
+			List<Integer> r=new ArrayList<Integer>(2);
+			if (state>0) r.add(state-1);
+			if (state<99) r.add(state+1);
+			return r;
+		}
+		@Override
+		public Integer initial() {	return i;	}
+		@Override
+		public boolean isGoal(Integer state) {	return goal && state==0;	}
+		@Override
+		public int compare(Integer a, Integer b) {	return f(a)-f(b);	}
+	}
+	
+	private static class RProblem extends DProblem implements RandomInitialProblem<Integer>{
+		public RProblem(boolean goal) {	super(null,goal);	}
+		@Override
+		public Integer randomInitial(Random random) {	return random.nextInt(100);	}
+	}
+	
+	private RProblem solvable, unsolvable;
+	
+	protected void setUp() throws Exception {
+		super.setUp();
+		solvable=new RProblem(true);
+		unsolvable=new RProblem(false);
+	}
+	
+	protected void tearDown() throws Exception {
+		solvable=null;
+		unsolvable=null;
+		super.tearDown();
+	}
+	
+	public void testRestartingHillClimbing() {
+		try{
+			new RestartingHillClimbing<Integer>(null);
+			fail("creating a search without a problem should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new RestartingHillClimbing<Integer>(solvable,true,(EStrategy)null,0);
+			fail("creating a search without a strategy should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new RestartingHillClimbing<Integer>(solvable,true,(HillClimbingStrategy<Integer>)null,0);
+			fail("creating a search without a strategy should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new RestartingHillClimbing<Integer>(solvable,true,EStrategy.BEST_CHOICE,-1);
+			fail("creating a search with negative side steps should fail!");
+		}catch(IllegalArgumentException e){ }
+		RestartingHillClimbing<Integer> s=new RestartingHillClimbing<Integer>(solvable,false,EStrategy.FIRST_CHOICE,5);
+		assertTrue(s.getProblem()==solvable);
+		assertFalse(s.minimum());
+		assertTrue(s.getStrategy() instanceof FirstChoiceStrategy<?>);
+		assertTrue(s.getSideSteps()==5);
+		s=new RestartingHillClimbing<Integer>(solvable);
+		assertTrue(s.minimum());
+		assertTrue(s.getSideSteps()==0);
+		assertTrue(s.getMaxRestarts()==100);
+		assertTrue(s.getTimeLimit()==0);
+		assertTrue(s.getThreads()>0);
+	}
+	
+	public void testSetters() {
+		RestartingHillClimbing<Integer> s=new RestartingHillClimbing<Integer>(solvable);
+		s.setThreads(0);
+		assertTrue(s.getThreads()>0);
+		s.setThreads(3);
+		assertTrue(s.getThreads()==3);
+		s.setMaxRestarts(0);
+		assertTrue(s.getMaxRestarts()==100);
+		s.setMaxRestarts(10);
+		assertTrue(s.getMaxRestarts()==10);
+		s.setTimeLimit(-1);
+		assertTrue(s.getTimeLimit()==0);
+		s.setTimeLimit(100);
+		assertTrue(s.getTimeLimit()==100);
+		s.initialize();
+		s.setMaxRestarts(20);
+		assertTrue("setMaxRestarts should have no effect after initialization",s.getMaxRestarts()==10);
+	}
+	
+	public void testInitialize() {
+		DProblem empty=new DProblem(null,true);
+		assertFalse("initialize should fail if the inital value is null",new RestartingHillClimbing<Integer>(empty).initialize());
+		assertTrue("a random initial problem needs no initial value",new RestartingHillClimbing<Integer>(solvable).initialize());
+	}
+	
+	public void testSearch() {
+		RestartingHillClimbing<Integer> s=new RestartingHillClimbing<Integer>(solvable);
+		s.setThreads(3);
+		s.setMaxRestarts(100000);
+		s.run();
+		assertTrue("the search should find the global minimum",s.getResult()==0);
+		List<Restart<Integer>> restarts=s.getRestarts();
+		assertFalse(restarts.isEmpty());
+		int solved=0, steps=0;
+		for (Restart<Integer> restart: restarts){
+			if (restart.isSolved()) solved++;
+			steps+=restart.getNeededSteps();
+			assertTrue(restart.getIndex()>=0);
+		}
+		assertTrue("at least one restart should have found the goal",solved>0);
+		assertTrue(steps==s.neededSteps());
+		assertTrue("the search should stop after the goal has been found",restarts.size()<100000);
+	}
+	
+	public void testBest() {
+		RestartingHillClimbing<Integer> s=new RestartingHillClimbing<Integer>(unsolvable);
+		s.setThreads(2);
+		s.setMaxRestarts(20);
+		s.run();
+		List<Restart<Integer>> restarts=s.getRestarts();
+		assertTrue("all restarts should have been run",restarts.size()==20);
+		int best=Integer.MAX_VALUE;
+		for (Restart<Integer> restart: restarts){
+			assertFalse(restart.isSolved());
+			assertTrue("each restart should end in a local minimum",restart.getResult()%10==0);
+			best=Math.min(best,unsolvable.f(restart.getResult()));
+		}
+		assertTrue("the result should be the best of all restarts",unsolvable.f(s.getResult())==best);
+	}
+	
+	public void testInitial() {
+		//without random initial states each restart starts from the same state
+		DProblem fixed=new DProblem(37,false);
+		RestartingHillClimbing<Integer> s=new RestartingHillClimbing<Integer>(fixed);
+		s.setMaxRestarts(5);
+		s.run();
+		assertTrue(s.getRestarts().size()==5);
+		for (Restart<Integer> restart: s.getRestarts())
+			assertTrue(restart.getResult()==30);
+	}
+	
+	public void testTimeLimit() {
+		RestartingHillClimbing<Integer> s=new RestartingHillClimbing<Integer>(unsolvable);
+		s.setMaxRestarts(Integer.MAX_VALUE);
+		s.setTimeLimit(200);
+		long start=System.currentTimeMillis();
+		s.run();
+		long time=System.currentTimeMillis()-start;
+		assertTrue("the search should stop after the time limit but took "+time,time<5000);
+		assertTrue(s.getResult()!=null);
+	}
+	
+}
@@ -33,7 +33,9 @@ package test.extended;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+import extended.RandomNeighborProblem;
 import extended.SimulatedAnnealing;
 import extended.SimulatedAnnealingProblem;
 
@@ -70,6 +72,19 @@ public class TestSimulatedAnnealing extends TestCase {
 
 	}
 		
+	private class RProblem extends PProblem implements RandomNeighborProblem<Double>{
+		private int applied=0;
+ 	public RProblem(Double i,Foo f) {		super(i,f);	}
+		@Override
+		public List<Double> expand(Double state) {	fail("expand should never get called");	return null;	}
+		@Override
+		public long sample(Double state, Random random) {	return (Math.abs(state)<10000.0 ? random.nextInt(2) : -1);	}
+		@Override
+		public double difference(Double state, long move) {	return difference(state,move==0 ? state-1.0 : state+1.0);	}
+		@Override
+		public Double apply(Double state, long move) {	applied++;	return (move==0 ? state-1.0 : state+1.0);	}
+	}
+	
 	PProblem l;
 
 	SimulatedAnnealing<Double> smin, smax;
@@ -204,6 +219,35 @@ public class TestSimulatedAnnealing extends TestCase {
 //		assertTrue(Double.isNaN(a*0.5));
 //	}
 	
+	public void testRandomNeighbor(){
+		double[] results={-(7.0/3.0),0.0,-(1.0/3.0)};
+		double[] poly={1/6.0,0.0,-1.25,0.0,2.0,0.5,0.0};
+		RProblem r=new RProblem(0.0, new Foo(poly));
+		subSearch(true,r,results);
+		SimulatedAnnealing<Double> s=new SimulatedAnnealing<Double>(r);
+		r.setI(5.0);
+		r.applied=0;
+		s.run();
+		assertTrue("only accepted moves should be applied",r.applied<=s.neededSteps());
+	}
+	
+	public void testSeed(){
+		double[] poly={1/6.0,0.0,-1.25,0.0,2.0,0.5,0.0};
+		PProblem p=new PProblem(5.0, new Foo(poly));
+		RProblem r=new RProblem(5.0, new Foo(poly));
+		for (PProblem q: new PProblem[]{p,r}){
+			SimulatedAnnealing<Double> a=new SimulatedAnnealing<Double>(q,true,10,0.95,100,42L);
+			SimulatedAnnealing<Double> b=new SimulatedAnnealing<Double>(q,true,10,0.95,100,42L);
+			a.run();
+			b.run();
+			assertEquals("searches with the same seed should find the same result",a.getResult(),b.getResult());
+			assertEquals("searches with the same seed should need the same steps",a.neededSteps(),b.neededSteps());
+			b.setSeed(42L);
+			b.run();
+			assertEquals("a seeded search run should be replayed",a.neededSteps(),b.neededSteps());
+		}
+	}
+	
 	public void testInitialize(){
 		l.setI(null);
 		assertFalse("initialize should fail if the inital value is null",smin.initialize());
@@ -0,0 +1,278 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.implementation.gridpuzzle;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import implementation.gridpuzzle.GameGrid;
+import implementation.gridpuzzle.GameGridX;
+import junit.framework.TestCase;
+import util.PackedLong;
+import util.Zobrist;
+
+public class TestGameGrid extends TestCase {
+	
+	/**
+	 * the sizes of the tested grids, compact grids (at most 16 cells) first
+	 */
+	private static final int[][] SIZES={{4,4},{3,3},{2,8},{3,5},{5,4},{3,6},{8,8}};
+
+	public TestGameGrid() {
+		super("Test case for the GameGrid");
+	}
+	
+	private static int[] cells(GameGrid grid){
+		int width=grid.getWidth(), cells=width*grid.getHeight();
+		int[] result=new int[cells];
+		for (int i=0;i<cells;i++) result[i]=grid.get(i%width,i/width);
+		return result;
+	}
+	
+	private static void assertSame(GameGridX reference,GameGrid grid){
+		assertEquals(reference.getWidth(),grid.getWidth());
+		assertEquals(reference.getHeight(),grid.getHeight());
+		for (int y=-1;y<=grid.getHeight();y++){
+			for (int x=-1;x<=grid.getWidth();x++){
+				assertEquals(reference.get(x,y),grid.get(x,y));
+			}
+		}
+		assertEquals(reference.isLegal(),grid.isLegal());
+	}
+	
+	/**
+	 * Moves a random tile of both grids into the empty cell.
+	 */
+	private static void step(Random random,GameGridX reference,GameGrid grid){
+		List<Point> movements=reference.movements();
+		Point p=movements.get(random.nextInt(movements.size()));
+		assertTrue(reference.move(p.x,p.y));
+		assertTrue(grid.move(p.x,p.y));
+	}
+
+	public void testCompact() {
+		for (int[] size : SIZES){
+			GameGrid grid=new GameGrid(size[0],size[1]);
+			grid.initialize();
+			boolean compact=(size[0]*size[1]<=PackedLong.LENGTH);
+			assertEquals(compact,grid.isCompact());
+			if (compact){
+				assertEquals(PackedLong.pack(cells(grid)),grid.compact());
+			}else{
+				try{
+					grid.compact();
+					fail("a grid with more than 16 cells is not compact!");
+				}catch(IllegalStateException e){ }
+			}
+		}
+	}
+
+	public void testStorage() {
+		Random random=new Random(16);
+		for (int[] size : SIZES){
+			GameGridX reference=new GameGridX(size[0],size[1]);
+			GameGrid grid=new GameGrid(size[0],size[1]);
+			assertSame(reference,grid);
+			reference.initialize();
+			grid.initialize();
+			assertSame(reference,grid);
+			for (int n=0;n<500;n++){
+				step(random,reference,grid);
+				assertSame(reference,grid);
+				if (grid.isCompact()) assertEquals(PackedLong.pack(cells(grid)),grid.compact());
+			}
+			// values out of range are ignored
+			grid.set(0,0,size[0]*size[1]);
+			grid.set(0,0,-1);
+			grid.set(-1,0,1);
+			assertSame(reference,grid);
+			for (int n=0;n<100;n++){
+				int x=random.nextInt(size[0]), y=random.nextInt(size[1]), value=random.nextInt(size[0]*size[1]);
+				reference.set(x,y,value);
+				grid.set(x,y,value);
+				assertSame(reference,grid);
+			}
+		}
+	}
+
+	public void testMove() {
+		Random random=new Random(18);
+		for (int[] size : SIZES){
+			GameGridX reference=new GameGridX(size[0],size[1]);
+			GameGrid grid=new GameGrid(size[0],size[1]);
+			// an empty grid is not legal and can not be moved
+			assertFalse(grid.move(0,0));
+			assertTrue(grid.movements().isEmpty());
+			reference.initialize();
+			grid.initialize();
+			for (int n=0;n<500;n++){
+				step(random,reference,grid);
+				assertTrue(grid.isLegal());
+				Point blank=grid.positionOf(0);
+				assertEquals(blank.y*size[0]+blank.x,grid.blank());
+				assertEquals(reference.positionOf(0),blank);
+				assertEquals(reference.movements(),grid.movements());
+				// tiles not adjacent to the empty cell can not be moved
+				int x=random.nextInt(size[0]), y=random.nextInt(size[1]);
+				if (GameGrid.distance(x,y,blank.x,blank.y)!=1){
+					assertFalse(grid.move(x,y));
+					assertSame(reference,grid);
+				}
+			}
+			// a duplicate tile makes the grid illegal, which prohibits moves
+			Point blank=grid.positionOf(0), p=grid.movements().get(0);
+			int value=grid.get(p.x,p.y);
+			grid.set(blank.x,blank.y,value);
+			assertFalse(grid.isLegal());
+			assertEquals(-1,grid.blank());
+			assertFalse(grid.move(p.x,p.y));
+			assertTrue(grid.movements().isEmpty());
+			grid.set(blank.x,blank.y,0);
+			assertTrue(grid.isLegal());
+			assertEquals(blank,grid.positionOf(0));
+			assertTrue(grid.move(p.x,p.y));
+			assertEquals(value,grid.get(blank.x,blank.y));
+			assertEquals(p,grid.positionOf(0));
+		}
+	}
+
+	private static void assertPositions(GameGrid grid){
+		int[] cells=cells(grid);
+		for (int value=0;value<cells.length;value++){
+			int index=-1;
+			for (int i=0;i<cells.length;i++){
+				if (cells[i]==value) index=i;
+			}
+			assertEquals(index,grid.positionIndexOf(value));
+			assertEquals(new Point(index%grid.getWidth(),index/grid.getWidth()),grid.positionOf(value));
+		}
+		assertEquals(-1,grid.positionIndexOf(-1));
+		assertEquals(-1,grid.positionIndexOf(cells.length));
+	}
+
+	public void testPositions() {
+		Random random=new Random(19);
+		for (int[] size : SIZES){
+			GameGrid grid=new GameGrid(size[0],size[1]);
+			assertEquals(-1,grid.positionIndexOf(0));
+			assertNull(grid.positionOf(0));
+			grid.initialize();
+			assertPositions(grid);
+			for (int n=0;n<500;n++){
+				// slide a random tile adjacent to the empty cell
+				int blank=grid.blank(), cell;
+				do{
+					cell=blank+(random.nextBoolean() ? 1 : grid.getWidth())*(random.nextBoolean() ? 1 : -1);
+				}while ((cell<0) || (cell>=size[0]*size[1])
+						|| GameGrid.distance(cell%size[0],cell/size[0],blank%size[0],blank/size[0])!=1);
+				int value=grid.get(cell%size[0],cell/size[0]);
+				assertEquals(value,grid.slide(cell));
+				assertEquals(cell,grid.blank());
+				assertPositions(grid);
+			}
+			assertPositions(new GameGrid(grid));
+			grid.randomize();
+			assertPositions(grid);
+			// the index is rebuilt, when an illegal grid becomes legal again
+			Point p=grid.positionOf(1);
+			grid.set(p.x,p.y,2);
+			assertEquals(-1,grid.positionIndexOf(2));
+			assertNull(grid.positionOf(1));
+			grid.set(p.x,p.y,1);
+			assertPositions(grid);
+		}
+	}
+
+	private static void assertHash(GameGrid grid){
+		assertEquals(Zobrist.hash(cells(grid)),grid.hash64());
+		assertEquals(Long.hashCode(grid.hash64()),grid.hashCode());
+	}
+
+	public void testHash() {
+		Random random=new Random(20);
+		for (int[] size : SIZES){
+			GameGridX reference=new GameGridX(size[0],size[1]);
+			GameGrid grid=new GameGrid(size[0],size[1]);
+			assertHash(grid);
+			reference.initialize();
+			grid.initialize();
+			assertHash(grid);
+			for (int n=0;n<500;n++){
+				step(random,reference,grid);
+				assertHash(grid);
+			}
+			assertHash(new GameGrid(grid));
+			grid.randomize();
+			assertHash(grid);
+			for (int n=0;n<100;n++){
+				grid.set(random.nextInt(size[0]),random.nextInt(size[1]),random.nextInt(size[0]*size[1]));
+				assertHash(grid);
+			}
+		}
+	}
+
+	public void testEquality() {
+		Random random=new Random(17);
+		for (int[] size : SIZES){
+			GameGrid grid=new GameGrid(size[0],size[1]), other=new GameGrid(size[0],size[1]);
+			grid.initialize();
+			other.initialize();
+			assertEquals(grid,other);
+			assertEquals(grid.hashCode(),other.hashCode());
+			GameGridX reference=new GameGridX(size[0],size[1]);
+			reference.initialize();
+			for (int n=0;n<50;n++) step(random,reference,grid);
+			// the copy is equal, but independent of the original
+			GameGrid copy=new GameGrid(grid);
+			assertEquals(grid,copy);
+			assertEquals(grid.hashCode(),copy.hashCode());
+			assertTrue(java.util.Arrays.equals(cells(grid),cells(copy)));
+			Point p=copy.movements().get(0);
+			assertTrue(copy.move(p.x,p.y));
+			assertFalse(grid.equals(copy));
+			assertSame(reference,grid);
+			// the same board reached on an other path is equal
+			for (int y=0;y<size[1];y++){
+				for (int x=0;x<size[0];x++) other.set(x,y,grid.get(x,y));
+			}
+			assertTrue(other.isLegal());
+			assertEquals(grid,other);
+			assertEquals(grid.hashCode(),other.hashCode());
+		}
+		GameGrid wide=new GameGrid(4,2), high=new GameGrid(2,4);
+		wide.initialize();
+		high.initialize();
+		assertFalse(wide.equals(high));
+		assertFalse(wide.equals("no grid"));
+	}
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.implementation.gridpuzzle;
+
+import java.util.Random;
+
+import implementation.gridpuzzle.AbstractHeuristic;
+import implementation.gridpuzzle.GameGrid;
+import implementation.gridpuzzle.HeuristicFour;
+import implementation.gridpuzzle.HeuristicThree;
+import junit.framework.TestCase;
+
+public class TestHeuristicFour extends TestCase {
+
+	public TestHeuristicFour() {
+		super("Test case for the incremental heuristics");
+	}
+	
+	/**
+	 * Checks the incremental value against the full value along a random walk.
+	 */
+	private void walk(AbstractHeuristic heuristic,int width,int height,long seed){
+		Random random=new Random(seed);
+		GameGrid goal=new GameGrid(width,height), grid=new GameGrid(width,height);
+		goal.initialize();
+		grid.initialize();
+		double value=heuristic.get(grid,goal);
+		assertEquals(0.0,value);
+		for (int step=0;step<2000;step++){
+			int blank=grid.blank(), cell;
+			do{
+				int direction=random.nextInt(4);
+				cell=blank+(direction==0 ? 1 : direction==1 ? -1 : direction==2 ? width : -width);
+			}while (cell<0 || cell>=width*height || (cell%width!=blank%width && cell/width!=blank/width));
+			int tile=grid.slide(cell);
+			value=heuristic.update(grid,goal,value,tile,cell,blank);
+			assertEquals(heuristic.get(grid,goal),value);
+		}
+	}
+
+	public void testHeuristicThree() {
+		walk(new HeuristicThree(),3,3,1);
+		walk(new HeuristicThree(),4,4,2);
+		walk(new HeuristicThree(),5,3,3);
+	}
+
+	public void testHeuristicFour() {
+		AbstractHeuristic heuristic=new HeuristicFour();
+		walk(heuristic,3,3,1);
+		walk(heuristic,4,4,2);
+		// the same heuristic with other lengths of the rows and columns
+		walk(heuristic,5,3,3);
+		walk(heuristic,3,6,4);
+		walk(heuristic,8,8,5);
+	}
+
+	public void testConflicts() {
+		GameGrid goal=new GameGrid(3,3), grid=new GameGrid(3,3);
+		goal.initialize();
+		// 2 1 3 / 4 5 6 / 7 8 _ : tiles 1 and 2 are in linear conflict
+		grid.initialize();
+		grid.set(0,0,2);	grid.set(1,0,1);
+		assertTrue(grid.isLegal());
+		assertEquals(2.0,new HeuristicThree().get(grid,goal));
+		assertEquals(4.0,new HeuristicFour().get(grid,goal));
+		// 3 2 1 / 4 5 6 / 7 8 _ : two of the three tiles must leave the row
+		grid.set(0,0,3);	grid.set(1,0,2);	grid.set(2,0,1);
+		assertEquals(4.0,new HeuristicThree().get(grid,goal));
+		assertEquals(8.0,new HeuristicFour().get(grid,goal));
+	}
+
+}
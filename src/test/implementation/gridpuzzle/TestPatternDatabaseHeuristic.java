@@ -0,0 +1,188 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.implementation.gridpuzzle;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import implementation.gridpuzzle.GameGrid;
+import implementation.gridpuzzle.PatternDatabaseHeuristic;
+import junit.framework.TestCase;
+
+public class TestPatternDatabaseHeuristic extends TestCase {
+
+	private static final int[][] PATTERNS={{1,2,3,4},{5,6,7,8}};
+	
+	private GameGrid goal;
+	private PatternDatabaseHeuristic database;
+	private File file;
+
+	public TestPatternDatabaseHeuristic() {
+		super("Test case for the PatternDatabaseHeuristic");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		goal=new GameGrid(3,3);
+		goal.initialize();
+		database=new PatternDatabaseHeuristic(goal,PATTERNS);
+		file=File.createTempFile("pdb",".bin");
+		file.deleteOnExit();
+	}
+
+	protected void tearDown() throws Exception {
+		file.delete();
+		goal=null; database=null; file=null;
+		super.tearDown();
+	}
+	
+	/**
+	 * Computes the distance of each grid reachable from the goal by a breadth first search.
+	 */
+	private Map<GameGrid,Integer> distances(){
+		Map<GameGrid,Integer> result=new HashMap<GameGrid,Integer>();
+		LinkedList<GameGrid> queue=new LinkedList<GameGrid>();
+		result.put(goal,0);
+		queue.add(goal);
+		int width=goal.getWidth(), cells=width*goal.getHeight();
+		while (!queue.isEmpty()){
+			GameGrid grid=queue.removeFirst();
+			int distance=result.get(grid), blank=grid.blank();
+			int[] neighbors={blank-width,blank+width,(blank%width>0?blank-1:-1),(blank%width<width-1?blank+1:-1)};
+			for (int cell : neighbors){
+				if (cell<0 || cell>=cells) continue;
+				GameGrid next=new GameGrid(grid);
+				next.slide(cell);
+				if (!result.containsKey(next)){
+					result.put(next,distance+1);
+					queue.add(next);
+				}
+			}
+		}
+		return result;
+	}
+
+	public void testPatternDatabaseHeuristic() {
+		try{
+			new PatternDatabaseHeuristic(goal,new int[][]{{1,2},{2,3}});
+			fail("patterns which are not disjoint should be rejected!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new PatternDatabaseHeuristic(new GameGrid(3,3),PATTERNS);
+			fail("an illegal goal should be rejected!");
+		}catch(IllegalArgumentException e){ }
+		assertTrue(database.matches(goal,PATTERNS));
+		assertFalse(database.matches(goal,new int[][]{{1,2,3,4}}));
+		assertEquals(goal,database.getGoal());
+		// grids which are illegal or of an other size can not be evaluated
+		assertEquals(Double.POSITIVE_INFINITY,database.get(new GameGrid(3,3),goal));
+		assertEquals(Double.POSITIVE_INFINITY,database.get(new GameGrid(4,4),goal));
+	}
+
+	public void testAdmissible() {
+		Map<GameGrid,Integer> distances=distances();
+		assertEquals(181440,distances.size());
+		int exact=0;
+		for (Map.Entry<GameGrid,Integer> entry : distances.entrySet()){
+			double h=database.get(entry.getKey(),goal);
+			assertTrue(entry.getKey()+"\nh="+h+" > "+entry.getValue(),h<=entry.getValue());
+			// both values have the same parity
+			assertEquals(0,((int)h+entry.getValue())%2);
+			if (h==entry.getValue()) exact++;
+		}
+		assertEquals(0.0,database.get(goal,goal));
+		assertTrue(exact>0);
+	}
+
+	public void testSaveLoad() throws IOException {
+		database.save(file);
+		PatternDatabaseHeuristic loaded=PatternDatabaseHeuristic.load(file);
+		assertTrue(loaded.matches(goal,PATTERNS));
+		for (GameGrid grid : distances().keySet()){
+			assertEquals(database.get(grid,goal),loaded.get(grid,goal));
+		}
+		// an equal file is loaded instead of being built
+		PatternDatabaseHeuristic again=PatternDatabaseHeuristic.loadOrBuild(file,goal,PATTERNS);
+		assertTrue(again.matches(goal,PATTERNS));
+	}
+
+	public void testTruncated() throws IOException {
+		database.save(file);
+		byte[] bytes=Files.readAllBytes(file.toPath());
+		// cut inside the header, inside the patterns and inside the tables
+		for (int length : new int[]{0,3,8,14,20,47,48,52,60,bytes.length/2,bytes.length-1}){
+			RandomAccessFile out=new RandomAccessFile(file,"rw");
+			out.write(bytes,0,length);
+			out.setLength(length);
+			out.close();
+			try{
+				PatternDatabaseHeuristic.load(file);
+				fail("loading a file truncated to "+length+" bytes should fail!");
+			}catch(IOException e){ }
+			PatternDatabaseHeuristic rebuilt=PatternDatabaseHeuristic.loadOrBuild(file,goal,PATTERNS);
+			assertTrue(rebuilt.matches(goal,PATTERNS));
+			assertEquals(bytes.length,file.length());
+		}
+		assertTrue(Arrays.equals(bytes,Files.readAllBytes(file.toPath())));
+	}
+
+	public void testCorrupt() throws IOException {
+		int[][] headers={
+			{0x50444231,-3,3},                              // negative width
+			{0x50444231,3,3, 1,2,3,4,5,6,7,8,0, -1},        // negative number of patterns
+			{0x50444231,3,3, 1,2,3,4,5,6,7,8,0, 1, -2},     // negative pattern length
+			{0x50444231,3,3, 1,2,3,4,5,6,7,8,0, 1, 99, 1},  // pattern longer than the grid
+			{0x50444231,3,3, 1,1,3,4,5,6,7,8,0, 1, 1, 1},   // illegal goal
+			{0x50444231,3,3, 1,2,3,4,5,6,7,8,0, 1, 2, 1,1}, // tiles which are not disjoint
+			{0x12345678,3,3},                               // wrong magic number
+		};
+		for (int[] header : headers){
+			DataOutputStream out=new DataOutputStream(new FileOutputStream(file));
+			for (int value : header) out.writeInt(value);
+			out.write(new byte[4096]);
+			out.close();
+			try{
+				PatternDatabaseHeuristic.load(file);
+				fail("loading the corrupt header "+Arrays.toString(header)+" should fail!");
+			}catch(IOException e){ }
+			assertTrue(PatternDatabaseHeuristic.loadOrBuild(file,goal,PATTERNS).matches(goal,PATTERNS));
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.implementation.queenproblem;
+
+import java.util.Random;
+
+import implementation.queenproblem.IQueenGame;
+import implementation.queenproblem.QueenGame;
+import implementation.queenproblem.QueenProxy;
+import junit.framework.TestCase;
+import util.Zobrist;
+
+public class TestQueenGame extends TestCase {
+
+	private static final int[] SIZES={2,4,5,8,13};
+
+	public TestQueenGame() {
+		super("Test case for the QueenGame");
+	}
+	
+	private static void assertHash(IQueenGame game){
+		assertEquals(Zobrist.hash(game.getGrid()),game.hash64());
+		assertEquals(Long.hashCode(game.hash64()),game.hashCode());
+	}
+
+	/**
+	 * Counts the pairs of queens sharing a row, a diagonal or an anti diagonal.
+	 */
+	private static int collisions(int[] grid){
+		int result=0;
+		for (int i=0;i<grid.length;i++){
+			for (int j=i+1;j<grid.length;j++){
+				if (grid[i]==grid[j]) result++;
+				if (i+grid[i]==j+grid[j]) result++;
+				if (i-grid[i]==j-grid[j]) result++;
+			}
+		}
+		return result;
+	}
+
+	public void testCollisions() {
+		Random random=new Random(20);
+		for (int size : SIZES){
+			QueenGame game=new QueenGame(size);
+			assertEquals(collisions(game.getGrid()),game.collisions());
+			game.random(random);
+			for (int n=0;n<500;n++){
+				assertEquals(collisions(game.getGrid()),game.collisions());
+				assertEquals(game.collisions()==0,game.isSolved());
+				// the delta of every possible move matches the moved copy
+				for (int x=0;x<size;x++){
+					for (int y=0;y<size;y++){
+						QueenGame copy=new QueenGame(game);
+						copy.setQueen(x,y);
+						assertEquals(copy.collisions()-game.collisions(),game.collisionDelta(x,y));
+						assertEquals(copy.collisions(),new QueenProxy(game,x,y).collisions());
+					}
+				}
+				assertEquals(0,game.collisionDelta(-1,0));
+				assertEquals(0,game.collisionDelta(0,size));
+				game.setQueen(random.nextInt(size),random.nextInt(size));
+			}
+		}
+	}
+
+	public void testHash() {
+		Random random=new Random(19);
+		for (int size : SIZES){
+			QueenGame game=new QueenGame(size);
+			assertHash(game);
+			game.random(random);
+			assertHash(game);
+			for (int n=0;n<500;n++){
+				int x=random.nextInt(size), y=random.nextInt(size);
+				// the proxy hashes without creating the moved game
+				long hash=new QueenProxy(game,x,y).hash64();
+				game.setQueen(x,y);
+				assertHash(game);
+				assertEquals(game.hash64(),hash);
+			}
+			// positions out of the board are ignored
+			long hash=game.hash64();
+			game.setQueen(size,0);
+			game.setQueen(0,-1);
+			assertEquals(hash,game.hash64());
+			QueenGame copy=new QueenGame(game);
+			assertHash(copy);
+			assertEquals(game,copy);
+			copy.setQueen(0,(copy.positionOf(0)+1)%size);
+			assertHash(copy);
+			assertFalse(game.equals(copy));
+			game.initialize();
+			assertHash(game);
+			game.randomFull();
+			assertHash(game);
+		}
+	}
+
+}
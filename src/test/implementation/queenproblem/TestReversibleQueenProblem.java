@@ -0,0 +1,89 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.implementation.queenproblem;
+
+import java.awt.Point;
+
+import implementation.queenproblem.QueenGame;
+import implementation.queenproblem.ReversibleQueenProblem;
+import junit.framework.TestCase;
+
+public class TestReversibleQueenProblem extends TestCase {
+
+	public TestReversibleQueenProblem() {
+		super("Test case for the ReversibleQueenProblem");
+	}
+
+	public void testSize() {
+		int[] illegal={2,ReversibleQueenProblem.MAX_SIZE+1,2000};
+		for (int size : illegal){
+			try{
+				new ReversibleQueenProblem(size);
+				fail("size "+size+" should be rejected!");
+			}catch(IllegalArgumentException e){ }
+			try{
+				new ReversibleQueenProblem(new QueenGame(size));
+				fail("size "+size+" should be rejected!");
+			}catch(IllegalArgumentException e){ }
+		}
+		// the largest moves of the largest board still fit into an int
+		int size=ReversibleQueenProblem.MAX_SIZE;
+		ReversibleQueenProblem problem=new ReversibleQueenProblem(size);
+		QueenGame state=problem.initial();
+		int[] buffer=new int[problem.maxMoves()];
+		assertEquals(buffer.length,problem.moves(state,buffer));
+		for (int move : buffer){
+			assertTrue(move>=0);
+			assertEquals(move,problem.inverse(problem.inverse(move)));
+		}
+		int last=buffer[buffer.length-1];
+		assertEquals(new Point(size-1,size-1),problem.decode(state,last));
+	}
+
+	public void testApplyUndo() {
+		ReversibleQueenProblem problem=new ReversibleQueenProblem(6);
+		QueenGame state=problem.initial();
+		int[] buffer=new int[problem.maxMoves()];
+		int n=problem.moves(state,buffer);
+		for (int i=0;i<n;i++){
+			QueenGame before=new QueenGame(state);
+			int h=problem.h(state);
+			int delta=problem.apply(state,buffer[i]);
+			assertEquals(h+delta,problem.h(state));
+			Point p=problem.decode(before,buffer[i]);
+			assertTrue(state.hasQueen(p.x,p.y));
+			problem.undo(state,buffer[i]);
+			assertEquals(before,state);
+			assertEquals(h,problem.h(state));
+		}
+	}
+
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+import junit.framework.TestCase;
+import util.BucketQueue;
+
+public class TestBucketQueue extends TestCase {
+
+	private static class Key implements ToDoubleFunction<Double>{
+		@Override
+		public double applyAsDouble(Double value) { return value; }
+	}
+	
+	private static class First implements ToDoubleFunction<int[]>{
+		@Override
+		public double applyAsDouble(int[] value) { return value[0]; }
+	}
+
+	private BucketQueue<Double> queue;
+
+	public TestBucketQueue() {
+		super("Test case for the BucketQueue");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		queue=new BucketQueue<Double>(new Key());
+	}
+
+	protected void tearDown() throws Exception {
+		queue=null;
+		super.tearDown();
+	}
+
+	public void testBucketQueue() {
+		try{
+			new BucketQueue<Double>(null);
+			fail("creating a queue without an evaluator should fail!");
+		}catch(IllegalArgumentException e){ }
+		assertTrue(queue.isEmpty());
+		assertEquals(0,queue.size());
+		assertNull(queue.peek());
+		assertNull(queue.poll());
+		try{
+			queue.peekKey();
+			fail("the key of an empty queue should not exist!");
+		}catch(NoSuchElementException e){ }
+	}
+
+	public void testOrder() {
+		double[] keys={5,3,8,3,-2,Double.POSITIVE_INFINITY,0,8,-7};
+		for (double k: keys) queue.add(k);
+		assertEquals(keys.length,queue.size());
+		double[] sorted={-7,-2,0,3,3,5,8,8,Double.POSITIVE_INFINITY};
+		for (double k: sorted){
+			assertEquals(k,queue.peekKey());
+			assertEquals(k,queue.poll().doubleValue());
+		}
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+	}
+
+	public void testLifo() {
+		BucketQueue<int[]> lifo=new BucketQueue<int[]>(new First());
+		int[] first={4,1}, second={4,2}, third={4,3};
+		lifo.add(first);
+		lifo.add(second);
+		lifo.add(new int[]{6,4});
+		lifo.add(third);
+		assertSame(third,lifo.poll());
+		assertSame(second,lifo.poll());
+		assertSame(first,lifo.poll());
+		assertEquals(6,lifo.poll()[0]);
+	}
+
+	public void testMonotone() {
+		// keys inserted behind the cursor must be found again
+		queue.add(10.0);
+		queue.add(12.0);
+		assertEquals(10.0,queue.poll().doubleValue());
+		queue.add(11.0);
+		queue.add(1.0);
+		assertEquals(1.0,queue.poll().doubleValue());
+		assertEquals(11.0,queue.poll().doubleValue());
+		assertEquals(12.0,queue.poll().doubleValue());
+		assertTrue(queue.isEmpty());
+	}
+
+	public void testIllegal() {
+		try{
+			queue.add(null);
+			fail("null elements should be prohibited!");
+		}catch(NullPointerException e){ }
+		try{
+			queue.add(1.5);
+			fail("keys which are not whole numbers should be prohibited!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			queue.add(Double.NaN);
+			fail("NaN keys should be prohibited!");
+		}catch(IllegalArgumentException e){ }
+		queue.add(0.0);
+		try{
+			queue.add((double)(1<<25));
+			fail("keys out of range should be prohibited!");
+		}catch(IllegalArgumentException e){ }
+		assertEquals(1,queue.size());
+	}
+
+	public void testIteratorClear() {
+		Set<Double> expected=new HashSet<Double>();
+		for (int i=-5;i<5;i++){
+			queue.add((double)i);
+			expected.add((double)i);
+		}
+		queue.add(Double.POSITIVE_INFINITY);
+		expected.add(Double.POSITIVE_INFINITY);
+		Set<Double> found=new HashSet<Double>();
+		Iterator<Double> it=queue.iterator();
+		while (it.hasNext()) found.add(it.next());
+		assertEquals(expected,found);
+		queue.clear();
+		assertTrue(queue.isEmpty());
+		assertFalse(queue.iterator().hasNext());
+		queue.add(100.0);
+		assertEquals(100.0,queue.peekKey());
+	}
+
+}
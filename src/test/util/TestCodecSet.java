@@ -0,0 +1,98 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import core.StateCodec;
+import junit.framework.TestCase;
+import util.CodecSet;
+
+public class TestCodecSet extends TestCase {
+
+	/**
+	 * encodes a pair of integers into one long, such that (a,b) and (b,a) differ
+	 */
+	private static class PairCodec implements StateCodec<int[]>{
+		@Override
+		public int words() {	return 1;	}
+		@Override
+		public void encode(int[] state, long[] target) {	target[0]=((long)state[0]<<32)|(state[1] & 0xffffffffL);	}
+	}
+
+	private CodecSet<int[]> set;
+
+	public TestCodecSet() {
+		super("Test case for the CodecSet");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		set=new CodecSet<int[]>(new PairCodec());
+	}
+
+	protected void tearDown() throws Exception {
+		set=null;
+		super.tearDown();
+	}
+
+	public void testCodecSet() {
+		try{
+			new CodecSet<int[]>(null);
+			fail("creating a set without a codec should fail!");
+		}catch(IllegalArgumentException e){ }
+		assertEquals(0,set.size());
+		assertTrue(set.isEmpty());
+	}
+
+	public void testAddContains() {
+		assertTrue(set.add(new int[]{1,2}));
+		assertFalse(set.add(new int[]{1,2}));
+		assertTrue(set.add(new int[]{2,1}));
+		assertTrue(set.add(new int[]{-1,-1}));
+		assertEquals(3,set.size());
+		assertFalse(set.isEmpty());
+		//equal encodings are equal states even for distinct objects
+		assertTrue(set.contains(new int[]{1,2}));
+		assertTrue(set.contains(new int[]{2,1}));
+		assertTrue(set.contains(new int[]{-1,-1}));
+		assertFalse(set.contains(new int[]{1,1}));
+		assertFalse(set.contains(null));
+	}
+
+	public void testClear() {
+		for (int i=0;i<1000;i++) set.add(new int[]{i,-i});
+		assertEquals(1000,set.size());
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.contains(new int[]{1,-1}));
+		assertTrue(set.add(new int[]{1,-1}));
+	}
+
+}
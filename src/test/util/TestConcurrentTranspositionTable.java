@@ -0,0 +1,86 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import junit.framework.TestCase;
+import util.ConcurrentTranspositionTable;
+import util.TranspositionTable;
+
+public class TestConcurrentTranspositionTable extends TestCase {
+
+	public TestConcurrentTranspositionTable() {
+		super("Test case for the ConcurrentTranspositionTable");
+	}
+
+	public void testConcurrentTranspositionTable() {
+		try{
+			new ConcurrentTranspositionTable<Integer>(null,0,1);
+			fail("megabytes must be greater than zero");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new ConcurrentTranspositionTable<Integer>(null,1,0);
+			fail("stripes must be greater than zero");
+		}catch(IllegalArgumentException e){ }
+	}
+
+	public void testCapacity() {
+		int[] stripes={1,3,16,256};
+		for (int megabytes=1;megabytes<=64;megabytes++){
+			int serial=new TranspositionTable<Integer>(megabytes).capacity();
+			for (int s : stripes){
+				ConcurrentTranspositionTable<Integer> table=new ConcurrentTranspositionTable<Integer>(null,megabytes,s);
+				assertEquals(megabytes,table.megabytes());
+				// the stripes never exceed the requested memory
+				assertTrue(table.stripes()<=megabytes);
+				assertTrue(table.stripes()>=Math.min(s,Integer.highestOneBit(megabytes)));
+				assertTrue(table.capacity()<=serial);
+				if (Integer.bitCount(megabytes)==1) assertEquals(serial,table.capacity());
+			}
+		}
+		assertEquals(1,new ConcurrentTranspositionTable<Integer>(null,1,16).stripes());
+		assertEquals(new TranspositionTable<Integer>(1).capacity(),new ConcurrentTranspositionTable<Integer>(null,1,16).capacity());
+	}
+
+	public void testVisit() {
+		ConcurrentTranspositionTable<Integer> table=new ConcurrentTranspositionTable<Integer>(null,4,4);
+		assertEquals(4,table.stripes());
+		for (int i=0;i<1000;i++) assertTrue(table.visit(i,5));
+		assertEquals(1000,table.size());
+		for (int i=0;i<1000;i++){
+			assertFalse(table.visit(i,5));
+			assertTrue(table.visit(i,4));
+		}
+		table.nextGeneration();
+		assertEquals(0,table.size());
+		assertTrue(table.visit(0,5));
+	}
+
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import util.IdentityIntMap;
+
+public class TestIdentityIntMap extends TestCase {
+
+	public TestIdentityIntMap() {
+		super("Test case for the IdentityIntMap");
+	}
+
+	public void testIdentityIntMap() {
+		try{
+			new IdentityIntMap<String>(0);
+			fail("capacity must be greater than zero");
+		}catch(IllegalArgumentException e){ }
+		IdentityIntMap<String> map=new IdentityIntMap<String>(1);
+		try{
+			map.put(null,1);
+			fail("null keys should be rejected!");
+		}catch(IllegalArgumentException e){ }
+		assertTrue(map.isEmpty());
+		assertEquals(-1,map.get(null));
+		assertEquals(-1,map.remove(null));
+	}
+
+	public void testIdentity() {
+		IdentityIntMap<String> map=new IdentityIntMap<String>(4);
+		String a=new String("key"), b=new String("key");
+		map.put(a,1);
+		assertTrue(map.containsKey(a));
+		assertFalse(map.containsKey(b));
+		assertEquals(-1,map.get(b));
+		map.put(b,2);
+		map.put(a,3);
+		assertEquals(2,map.size());
+		assertEquals(3,map.get(a));
+		assertEquals(2,map.get(b));
+		assertEquals(3,map.remove(a));
+		assertEquals(-1,map.remove(a));
+		assertEquals(2,map.get(b));
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertEquals(-1,map.get(b));
+	}
+
+	public void testRandom() {
+		// compares the map with an IdentityHashMap, while it grows and shrinks
+		Random random=new Random(1);
+		List<Object> keys=new ArrayList<Object>();
+		for (int i=0;i<2000;i++) keys.add(new Object());
+		IdentityIntMap<Object> map=new IdentityIntMap<Object>(2);
+		Map<Object,Integer> reference=new IdentityHashMap<Object,Integer>();
+		for (int n=0;n<100000;n++){
+			Object key=keys.get(random.nextInt(n<50000 ? keys.size() : 200));
+			int value=random.nextInt(1000);
+			switch (random.nextInt(3)){
+			case 0:
+				map.put(key,value);
+				reference.put(key,value);
+				break;
+			case 1:
+				Integer removed=reference.remove(key);
+				assertEquals((removed==null ? -1 : removed),map.remove(key));
+				break;
+			default:
+				Integer expected=reference.get(key);
+				assertEquals((expected==null ? -1 : expected),map.get(key));
+				assertEquals(expected!=null,map.containsKey(key));
+			}
+			assertEquals(reference.size(),map.size());
+		}
+		for (Object key : keys){
+			Integer expected=reference.get(key);
+			assertEquals((expected==null ? -1 : expected),map.get(key));
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import util.LongHashSet;
+
+public class TestLongHashSet extends TestCase {
+
+	public TestLongHashSet() {
+		super("Test case for the LongHashSet");
+	}
+
+	public void testLongHashSet() {
+		try{
+			new LongHashSet(0);
+			fail("creating a set with keys of width zero should fail!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			new LongHashSet(1,0);
+			fail("creating a set without capacity should fail!");
+		}catch(IllegalArgumentException e){ }
+		LongHashSet set=new LongHashSet(3);
+		assertEquals(3,set.width());
+		assertEquals(0,set.size());
+		assertTrue(set.isEmpty());
+	}
+
+	public void testAddContains() {
+		LongHashSet set=new LongHashSet(2);
+		long[] zero=new long[]{0,0};
+		assertFalse(set.contains(zero));
+		assertTrue(set.add(zero));
+		assertFalse(set.add(zero));
+		assertTrue(set.contains(zero));
+		assertFalse(set.contains(new long[]{0,1}));
+		assertFalse(set.contains(new long[]{1,0}));
+		long[] key=new long[]{-1,Long.MIN_VALUE};
+		assertTrue(set.add(key));
+		key[0]=5; //the set must have copied the key
+		assertTrue(set.contains(new long[]{-1,Long.MIN_VALUE}));
+		assertFalse(set.contains(key));
+		assertEquals(2,set.size());
+		assertFalse(set.isEmpty());
+	}
+
+	public void testGrow() {
+		LongHashSet set=new LongHashSet(2,2);
+		Set<String> reference=new HashSet<String>();
+		Random random=new Random(42);
+		long[] key=new long[2];
+		for (int i=0;i<10000;i++){
+			key[0]=random.nextInt(100);
+			key[1]=random.nextInt(100);
+			assertEquals(reference.add(key[0]+","+key[1]),set.add(key));
+		}
+		assertEquals(reference.size(),set.size());
+		for (int a=0;a<100;a++){
+			for (int b=0;b<100;b++){
+				key[0]=a;	key[1]=b;
+				assertEquals(reference.contains(a+","+b),set.contains(key));
+			}
+		}
+	}
+
+	public void testClear() {
+		LongHashSet set=new LongHashSet(1,4);
+		for (long i=0;i<100;i++) set.add(new long[]{i});
+		assertEquals(100,set.size());
+		set.clear();
+		assertEquals(0,set.size());
+		assertTrue(set.isEmpty());
+		for (long i=0;i<100;i++) assertFalse(set.contains(new long[]{i}));
+		assertTrue(set.add(new long[]{7}));
+		assertEquals(1,set.size());
+	}
+
+	public void testMix() {
+		assertEquals(0L,LongHashSet.mix(0L));
+		assertTrue(LongHashSet.mix(1L)!=LongHashSet.mix(2L));
+	}
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import util.PackedArray;
+import util.PackedLong;
+
+public class TestPackedLong extends TestCase {
+
+	public TestPackedLong() {
+		super("Test case for the PackedLong");
+	}
+	
+	private static int[] random(Random random,int length){
+		int[] result=new int[length];
+		for (int i=0;i<length;i++) result[i]=random.nextInt(16);
+		return result;
+	}
+
+	public void testPack() {
+		Random random=new Random(7);
+		for (int length=0;length<=PackedLong.LENGTH;length++){
+			int[] array=random(random,length);
+			long packed=PackedLong.pack(array);
+			assertTrue(Arrays.equals(array,PackedLong.unpack(packed,length)));
+			for (int i=0;i<length;i++) assertEquals(array[i],PackedLong.get(packed,i));
+		}
+		assertEquals(0x123456789ABCDEF0L,PackedLong.pack(new int[]{1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,0}));
+		try{
+			PackedLong.pack(new int[PackedLong.LENGTH+1]);
+			fail("more than LENGTH elements should be rejected!");
+		}catch(IllegalArgumentException e){ }
+	}
+
+	public void testPackedArray() {
+		// both store the element with the index zero in the highest bits
+		Random random=new Random(11);
+		for (int n=0;n<100;n++){
+			int[] array=random(random,PackedLong.LENGTH);
+			array[0]=15;
+			PackedArray reference=new PackedArray(array,15);
+			long packed=PackedLong.pack(array);
+			for (int i=0;i<array.length;i++) assertEquals(reference.get(i),PackedLong.get(packed,i));
+			assertEquals((int)(packed>>>32),reference.packed()[0]);
+			assertEquals((int)packed,reference.packed()[1]);
+		}
+	}
+
+	public void testSet() {
+		Random random=new Random(3);
+		int[] array=random(random,PackedLong.LENGTH);
+		long packed=PackedLong.pack(array);
+		for (int n=0;n<1000;n++){
+			int index=random.nextInt(array.length), value=random.nextInt(16);
+			array[index]=value;
+			packed=PackedLong.set(packed,index,value);
+			assertTrue(Arrays.equals(array,PackedLong.unpack(packed,array.length)));
+		}
+		try{
+			PackedLong.set(packed,0,16);
+			fail("values greater than 15 should be rejected!");
+		}catch(IllegalArgumentException e){ }
+		try{
+			PackedLong.set(packed,0,-1);
+			fail("negative values should be rejected!");
+		}catch(IllegalArgumentException e){ }
+	}
+
+	public void testMoveIndexOf() {
+		int[] array={1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,0};
+		long packed=PackedLong.pack(array);
+		int blank=15;
+		Random random=new Random(5);
+		for (int n=0;n<1000;n++){
+			int from=random.nextInt(array.length);
+			if (from==blank) continue;
+			packed=PackedLong.move(packed,from,blank);
+			array[blank]=array[from];
+			array[from]=0;
+			blank=from;
+			assertTrue(Arrays.equals(array,PackedLong.unpack(packed,array.length)));
+			for (int value=0;value<16;value++) assertEquals(array[PackedLong.indexOf(packed,value,16)],value);
+		}
+		assertEquals(-1,PackedLong.indexOf(PackedLong.pack(new int[]{1,2,3}),4,3));
+		assertEquals(-1,PackedLong.indexOf(PackedLong.pack(new int[]{1,2,3}),0,3));
+	}
+
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package test.util;
+
+import core.LongHashable;
+import core.StateCodec;
+import junit.framework.TestCase;
+import util.TranspositionTable;
+
+public class TestTranspositionTable extends TestCase {
+
+	/**
+	 * a state whose 64 bit hash has only zeros in its lower bits,
+	 * so all states share the same bucket of two entries in a table of any size
+	 */
+	private static class Colliding implements LongHashable{
+		private final int id;
+		public Colliding(int id){	this.id=id;	}
+		@Override
+		public long hash64() {	return (long)id<<40;	}
+		@Override
+		public int hashCode() {	return id;	}
+		@Override
+		public boolean equals(Object o) {	return (o instanceof Colliding) && ((Colliding) o).id==id;	}
+	}
+
+	private static class Codec implements StateCodec<Colliding>{
+		@Override
+		public int words() {	return 1;	}
+		@Override
+		public void encode(Colliding state, long[] target) {	target[0]=state.id;	}
+	}
+
+	private Colliding a, b, c, d;
+
+	public TestTranspositionTable() {
+		super("Test case for the TranspositionTable");
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		a=new Colliding(1);	b=new Colliding(2);	c=new Colliding(3);	d=new Colliding(4);
+	}
+
+	protected void tearDown() throws Exception {
+		a=null; b=null; c=null; d=null;
+		super.tearDown();
+	}
+
+	public void testTranspositionTable() {
+		try{
+			new TranspositionTable<Colliding>(0);
+			fail("creating a table without memory should fail!");
+		}catch(IllegalArgumentException e){ }
+		TranspositionTable<Colliding> table=new TranspositionTable<Colliding>(1);
+		assertEquals(1,table.megabytes());
+		assertEquals(0,table.size());
+		assertTrue(table.capacity()>0);
+		assertTrue(table.capacity()%2==0);
+	}
+
+	public void testReplacement() {
+		replacement(new TranspositionTable<Colliding>(1));
+	}
+
+	public void testReplacementCodec() {
+		replacement(new TranspositionTable<Colliding>(new Codec(),1));
+	}
+
+	public void testGeneration() {
+		generation(new TranspositionTable<Colliding>(1));
+	}
+
+	public void testGenerationCodec() {
+		generation(new TranspositionTable<Colliding>(new Codec(),1));
+	}
+
+	/**
+	 * checks the depth-preferred and the always-replace entry of the single bucket
+	 */
+	private void replacement(TranspositionTable<Colliding> table){
+		// a is stored in the depth preferred entry
+		assertTrue(table.visit(a,5));
+		assertFalse(table.visit(a,5));
+		assertFalse(table.visit(new Colliding(1),6));
+		assertTrue(table.visit(a,4));
+		assertFalse(table.visit(a,4));
+		assertEquals(1,table.size());
+		// b is deeper than a, so it goes to the always-replace entry
+		assertTrue(table.visit(b,7));
+		assertFalse(table.visit(b,7));
+		assertEquals(2,table.size());
+		// c replaces b, while a stays
+		assertTrue(table.visit(c,8));
+		assertFalse(table.visit(c,8));
+		assertFalse(table.visit(a,4));
+		assertEquals(2,table.size());
+		// b has been lost, so it is expanded again and replaces c
+		assertTrue(table.visit(b,7));
+		assertTrue(table.visit(c,8));
+		// d is shallower than a, so it takes the depth preferred entry and a moves to the second entry
+		assertTrue(table.visit(d,2));
+		assertFalse(table.visit(d,3));
+		assertFalse(table.visit(a,4));
+		assertEquals(2,table.size());
+		// a found in the second entry is updated there
+		assertTrue(table.visit(a,3));
+		assertFalse(table.visit(a,3));
+		assertFalse(table.visit(d,2));
+		// a deeper state only ever replaces the second entry
+		assertTrue(table.visit(b,9));
+		assertFalse(table.visit(d,2));
+		assertTrue(table.visit(a,3));
+		assertEquals(2,table.size());
+	}
+
+	/**
+	 * checks that a new generation invalidates all entries without clearing the table
+	 */
+	private void generation(TranspositionTable<Colliding> table){
+		assertTrue(table.visit(a,1));
+		assertTrue(table.visit(b,2));
+		assertEquals(2,table.size());
+		table.nextGeneration();
+		assertEquals(0,table.size());
+		// entries of the old generation are treated as empty
+		assertTrue(table.visit(b,5));
+		assertEquals(1,table.size());
+		assertTrue(table.visit(a,9));
+		assertFalse(table.visit(b,5));
+		assertEquals(2,table.size());
+		// an old entry does not prevent a deeper visit in the new generation
+		table.nextGeneration();
+		assertTrue(table.visit(c,3));
+		assertTrue(table.visit(a,20));
+		assertFalse(table.visit(a,20));
+		assertFalse(table.visit(c,3));
+		table.clear();
+		assertEquals(0,table.size());
+		assertTrue(table.visit(c,3));
+		assertEquals(1,table.size());
+	}
+
+}
@@ -44,6 +44,7 @@ import core.Search;
 import core.TreeProblem;
 import extended.HillClimbing;
 import extended.HillClimbingProblem;
+import extended.PortfolioSearch;
 import extended.SimulatedAnnealing;
 import extended.SimulatedAnnealingProblem;
 
@@ -164,6 +165,20 @@ public final class Searchs {
 	public static <T> Search<T> build(Problem<T> problem, Map<String,Boolean> properties) {
 		return new BreadthFirstSearch<T>(problem);
 	}
+	/**
+	 * Creates a search racing an A*, an IDA* and a greedy search against each other.
+	 * 
+	 * @param <T> the specific type of all elements of the search domain.
+	 * @param problem the HeuristicProblem to be solved
+	 * @param requireOptimal true if only the optimal strategies (A* and IDA*) should be raced
+	 * @return a new portfolio search
+	 * @see extended.PortfolioSearch
+	 */
+	public static <T> Search<T> portfolio(HeuristicProblem<T> problem, boolean requireOptimal) {
+		PortfolioSearch<T> search=new PortfolioSearch<T>(problem);
+		search.setRequireOptimal(requireOptimal);
+		return search;
+	}
 	
 	
 }
@@ -0,0 +1,305 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An unbounded priority queue for elements with small integral keys.
+ * The key of each element is computed once by the evaluator provided at queue construction time,
+ * when the element is inserted.
+ * Instead of comparing the keys, the queue holds one bucket (a stack) for each possible key value
+ * and a cursor to the smallest non empty bucket.<br>
+ * <br>
+ * The head of this queue is the element with the smallest key.
+ * Among all elements with the smallest key the element inserted at last is the head of the queue (LIFO).
+ * In a best first search this prefers deeper states (with larger path costs <code>g</code>) on the same <code>f</code> layer.
+ * Elements with a positive infinite key are stored in an overflow bucket and are returned after all other elements.
+ * A bucket queue does not permit null elements and elements with keys, which are not whole numbers.<br>
+ * <br>
+ * The Iterator provided in method iterator() traverses the elements
+ * in no particular order and does not support the remove() method.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b> 
+ * Multiple threads should not access a BucketQueue instance concurrently 
+ * if any of the threads modifies the queue.<br>
+ * <br>
+ * Implementation note: this implementation provides
+ * constant time for the enqueing method (offer, add) and
+ * amortized constant time for the dequeing and retrieval methods (poll, peek, element), 
+ * as long as the keys are monotonically increasing (like the f values of an A* search with a consistent heuristic).
+ * The memory needed is linear in the difference between the largest and the smallest finite key.
+ * <br>
+ * This class is an extension to the Java Collections Framework. 
+ *  
+ * @see util.KeyedHeap
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public class BucketQueue<E> extends AbstractQueue<E> {
+	/**
+	 * the largest allowed difference between two finite keys
+	 */
+	private static final int RANGE=1<<24;
+	
+	private class BIterator implements Iterator<E>{
+		private int bucket=0;
+		private int next=0;
+		
+		public BIterator(){ advance(); }
+		private void advance(){
+			while (bucket<=buckets.length){
+				int count=(bucket<buckets.length ? counts[bucket] : overflowCount);
+				if (next<count) return;
+				bucket++;
+				next=0;
+			}
+		}
+		@Override
+		public boolean hasNext() { return bucket<=buckets.length; }
+		@SuppressWarnings("unchecked")
+		@Override
+		public E next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			E result=(E)(bucket<buckets.length ? buckets[bucket][next] : overflow[next]);
+			next++;
+			advance();
+			return result;
+		}
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	private ToDoubleFunction<? super E> evaluator;
+	private Object[][] buckets=new Object[0][];
+	private int[] counts=new int[0];
+	private Object[] overflow=new Object[16];
+	private int overflowCount=0;
+	private int base=0;
+	private int min=0;
+	private int size=0;
+	
+	/**
+	 * Creates a BucketQueue that orders its elements according to the keys computed by the given evaluator.
+	 *  
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the evaluator is null
+	 */
+	public BucketQueue(ToDoubleFunction<? super E> evaluator) {
+		if (evaluator==null) throw new IllegalArgumentException("evaluator should never be null!");
+		this.evaluator=evaluator;
+	}
+	
+	private static Object[] push(Object[] stack,int count,Object e){
+		if (stack==null) stack=new Object[16];
+		else if (count==stack.length) stack=Arrays.copyOf(stack,count*2);
+		stack[count]=e;
+		return stack;
+	}
+	
+	/**
+	 * Ensures that there is a bucket for the given key and returns its index.
+	 */
+	private int bucketOf(int key){
+		if (buckets.length==0){
+			base=key;
+			min=0;
+		}
+		long index=(long)key-base;
+		if (index<0){
+			// prepend buckets for smaller keys
+			int shift=(int)Math.max(-index,buckets.length);
+			if (buckets.length+(long)shift>RANGE) throw new IllegalArgumentException("the range of the keys is too large");
+			Object[][] b=new Object[buckets.length+shift][];
+			int[] c=new int[b.length];
+			System.arraycopy(buckets,0,b,shift,buckets.length);
+			System.arraycopy(counts,0,c,shift,counts.length);
+			buckets=b;
+			counts=c;
+			base-=shift;
+			min+=shift;
+			index+=shift;
+		}else if (index>=buckets.length){
+			if (index>=RANGE) throw new IllegalArgumentException("the range of the keys is too large");
+			int length=(int)Math.min(RANGE,Math.max(index+1,2L*buckets.length));
+			buckets=Arrays.copyOf(buckets,length);
+			counts=Arrays.copyOf(counts,length);
+		}
+		return (int)index;
+	}
+	
+	/**
+	 * Moves the cursor to the smallest non empty bucket.
+	 * 
+	 * @return the index of the smallest non empty bucket or buckets.length if only the overflow bucket is used
+	 */
+	private int first(){
+		while (min<buckets.length && counts[min]==0) min++;
+		return min;
+	}
+	
+	/**
+	 * Returns an iterator over the elements of this queue.
+	 * The iterator will return the elements in no particular order. 
+	 * 
+	 * @see AbstractQueue#iterator()
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new BIterator();
+	}
+	
+	/**
+	 * @see AbstractQueue#size()
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Inserts the specified element into this queue.
+	 * The key of the element is computed once by the evaluator.<br>
+	 * <b>Note:</b> This operation needs O(1) time.
+	 * 
+	 * @return always true
+	 * @throws NullPointerException if the element is null
+	 * @throws IllegalArgumentException if the key of the element is not a whole number or positive infinity
+	 * @see AbstractQueue#offer(java.lang.Object)
+	 */
+	@Override
+	public boolean offer(E value) {
+		if (value==null) throw new NullPointerException("BucketQueue prohibit null elements");
+		double key=evaluator.applyAsDouble(value);
+		if (key==Double.POSITIVE_INFINITY){
+			overflow=push(overflow,overflowCount++,value);
+		}else{
+			if (key!=Math.rint(key) || Math.abs(key)>Integer.MAX_VALUE) 
+				throw new IllegalArgumentException(String.format("key %f is not integral",key));
+			int index=bucketOf((int)key);
+			buckets[index]=push(buckets[index],counts[index]++,value);
+			if (index<min) min=index;
+		}
+		size++;
+		return true;
+	}
+	
+	/**
+	 * Returns but retains the element with the smallest key, 
+	 * which has been inserted at last.
+	 * 
+	 * @see AbstractQueue#peek()
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		if (size==0) return null;
+		int b=first();
+		if (b<buckets.length) return (E) buckets[b][counts[b]-1];
+		return (E) overflow[overflowCount-1];
+	}
+	
+	/**
+	 * Returns the smallest key in this queue.
+	 * 
+	 * @return the key of the head of this queue 
+	 * @throws NoSuchElementException if the queue is empty
+	 */
+	public double peekKey() {
+		if (size==0) throw new NoSuchElementException();
+		int b=first();
+		return (b<buckets.length ? base+b : Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 * Returns and removes the element with the smallest key, 
+	 * which has been inserted at last.
+	 * 
+	 * @see AbstractQueue#poll()
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		if (size==0) return null;
+		size--;
+		int b=first();
+		E result;
+		if (b<buckets.length){
+			result=(E) buckets[b][--counts[b]];
+			buckets[b][counts[b]]=null;
+		}else{
+			result=(E) overflow[--overflowCount];
+			overflow[overflowCount]=null;
+		}
+		return result;
+	}
+	
+	/**
+	 * @see AbstractQueue#clear()
+	 */
+	@Override
+	public void clear(){
+		buckets=new Object[0][];
+		counts=new int[0];
+		Arrays.fill(overflow,0,overflowCount,null);
+		overflowCount=0;
+		base=0;
+		min=0;
+		size=0;
+	}
+	
+	/**
+	 * @see AbstractQueue#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty(){ 
+		return size==0;
+	}
+	
+	/**
+	 * Returns the evaluator used to compute the keys of the elements in this queue.
+	 * 
+	 * @return the evaluator of this queue 
+	 */
+	public ToDoubleFunction<? super E> evaluator(){
+		return evaluator; 
+	}
+	
+}
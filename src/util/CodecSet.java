@@ -0,0 +1,117 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import core.StateCodec;
+
+/**
+ * This set stores states only by their encoding provided by a core.StateCodec.
+ * The encoded states are kept in an util.LongHashSet, 
+ * so the set neither creates an object for each entry nor keeps the states themselves reachable.<br>
+ * <br>
+ * This set is intended for the duplicate handling of directed searches
+ * and provides only the methods <code>add, contains, size, isEmpty</code> and <code>clear</code>.
+ * Because the states can not be decoded, it is not a java.util.Set 
+ * and can neither be iterated nor shrunk.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b>
+ * 
+ * @see core.StateCodec
+ * @see util.LongHashSet
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public class CodecSet<E> {
+	
+	private StateCodec<E> codec;
+	private LongHashSet set;
+	private long[] buffer;
+	
+	/**
+	 * Creates a new empty set, which encodes its elements with the given codec.
+	 * 
+	 * @param codec used to encode the elements
+	 * @throws IllegalArgumentException if the codec is null
+	 */
+	public CodecSet(StateCodec<E> codec) {
+		if (codec==null) throw new IllegalArgumentException("codec should never be null!");
+		this.codec=codec;
+		this.set=new LongHashSet(codec.words());
+		this.buffer=new long[codec.words()];
+	}
+	
+	/**
+	 * Adds the encoding of the given element to this set.
+	 * 
+	 * @param e the element to be added
+	 * @return true only if the encoding of the element has not been in this set
+	 */
+	public boolean add(E e) {
+		codec.encode(e,buffer);
+		return set.add(buffer);
+	}
+	
+	/**
+	 * Returns true if this set contains the encoding of the given element.
+	 * 
+	 * @param e the element to be looked up
+	 * @return true only if the encoding of the element is in this set
+	 */
+	public boolean contains(E e) {
+		if (e==null) return false;
+		codec.encode(e,buffer);
+		return set.contains(buffer);
+	}
+	
+	/**
+	 * @return the number of encodings in this set
+	 */
+	public int size() {
+		return set.size();
+	}
+	
+	/**
+	 * @return true only if this set contains no encoding
+	 */
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+	
+	/**
+	 * Removes all encodings from this set.
+	 */
+	public void clear() {
+		set.clear();
+	}
+	
+}
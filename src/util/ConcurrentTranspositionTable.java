@@ -0,0 +1,170 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import core.LongHashable;
+import core.StateCodec;
+
+/**
+ * This is a thread safe transposition table of fixed size, 
+ * which is split into several util.TranspositionTable stripes.
+ * Each state is assigned to one stripe by the upper bits of its hash,
+ * and each stripe is guarded by its own lock, 
+ * so threads visiting states of different stripes do not block each other.<br>
+ * <br>
+ * Like the util.TranspositionTable the memory used stays flat,
+ * and a lost entry can only cause a state to be expanded again.
+ * The memory is divided evenly among the stripes.
+ * As each stripe uses at least one megabyte, there are never more stripes than megabytes,
+ * so the table holds no more entries than a single util.TranspositionTable of the same memory.
+ * 
+ * @see util.TranspositionTable
+ * @see extended.ParallelIterativeDeepeningAStar
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of the states held in this table
+ */
+public class ConcurrentTranspositionTable<E> {
+	
+	private final List<TranspositionTable<E>> stripes;
+	private final int shift;
+	private final int megabytes;
+	
+	/**
+	 * Creates a new empty table, which encodes its states with the given codec
+	 * and uses about the given amount of memory, split into the given number of stripes.
+	 * If the codec is null the states themselves are stored.
+	 * 
+	 * @param codec used to encode the states
+	 * @param megabytes the memory used by the table
+	 * @param stripes the number of independently locked stripes (rounded up to the next power of two,
+	 *        but limited to the largest power of two not greater than the megabytes)
+	 * @throws IllegalArgumentException if the megabytes or the stripes are less than one
+	 */
+	public ConcurrentTranspositionTable(StateCodec<E> codec,int megabytes,int stripes){
+		if (megabytes<1) throw new IllegalArgumentException("megabytes must be greater than zero");
+		if (stripes<1) throw new IllegalArgumentException("stripes must be greater than zero");
+		int count=Math.min((stripes==1?1:Integer.highestOneBit(stripes-1)<<1),Integer.highestOneBit(megabytes));
+		this.shift=Long.SIZE-Integer.numberOfTrailingZeros(count);
+		this.megabytes=megabytes;
+		this.stripes=new ArrayList<TranspositionTable<E>>(count);
+		for (int i=0;i<count;i++){
+			this.stripes.add(new TranspositionTable<E>(codec,megabytes/count));
+		}
+	}
+	
+	/**
+	 * Returns the stripe of the given state by the upper bits of its hash,
+	 * which are independent of the bucket chosen inside the stripe.
+	 */
+	private TranspositionTable<E> stripeOf(E state){
+		if (shift==Long.SIZE) return stripes.get(0);
+		long hash=(state instanceof LongHashable ? ((LongHashable) state).hash64() : LongHashSet.mix(state.hashCode()));
+		return stripes.get((int)(hash>>>shift));
+	}
+	
+	/**
+	 * Records that the given state has been reached at the given depth
+	 * during the current generation and returns true if the state should be expanded.
+	 * 
+	 * @param state which has been reached
+	 * @param depth at which the state has been reached
+	 * @return false if the state has already been reached at a lower or equal depth 
+	 * @see util.TranspositionTable#visit(Object, int)
+	 */
+	public boolean visit(E state,int depth){
+		TranspositionTable<E> stripe=stripeOf(state);
+		synchronized (stripe){
+			return stripe.visit(state,depth);
+		}
+	}
+	
+	/**
+	 * Starts a new generation in all stripes.<br>
+	 * <b>Note:</b> This method must not be called while other threads visit states.
+	 */
+	public void nextGeneration(){
+		for (TranspositionTable<E> stripe : stripes){
+			synchronized (stripe){
+				stripe.nextGeneration();
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of states stored during the current generation.
+	 * 
+	 * @return the number of valid entries of all stripes
+	 */
+	public int size(){
+		int size=0;
+		for (TranspositionTable<E> stripe : stripes){
+			synchronized (stripe){
+				size+=stripe.size();
+			}
+		}
+		return size;
+	}
+	
+	/**
+	 * Returns the number of entries this table can hold at most.
+	 * 
+	 * @return the capacity of all stripes
+	 */
+	public int capacity(){
+		int capacity=0;
+		for (TranspositionTable<E> stripe : stripes) capacity+=stripe.capacity();
+		return capacity;
+	}
+	
+	/**
+	 * Returns the number of stripes of this table.
+	 * 
+	 * @return the number of stripes
+	 */
+	public int stripes(){
+		return stripes.size();
+	}
+	
+	/**
+	 * Returns the amount of memory this table has been created with.
+	 * 
+	 * @return the memory in megabytes
+	 */
+	public int megabytes(){
+		return megabytes;
+	}
+	
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An array backed stack of frames, which replaces the call stack of recursive depth first searches.
+ * Each frame holds the successors of an expanded state and a cursor to the next successor to be visited.
+ * So a search using this stack can go arbitrarily deep within the heap limits,
+ * instead of throwing a StackOverflowError.<br>
+ * <br>
+ * The successors are copied into an array owned by the frame, 
+ * which is reused whenever a frame with the same depth is pushed again.
+ * Therefore iterating over the successors does not allocate any iterators,
+ * and the frame storage is shared among all iterations of an iterative deepening search.
+ * Each successor is released from its frame, when it is returned by the method next().<br>
+ * <br>
+ * The following example shows the general pattern of a depth first search using this stack:
+ * <pre><code>
+ * stack.clear();
+ * T state=problem.initial();
+ * while (state!=null){
+ *  // visit the state and push its successors
+ *  stack.push(problem.expand(state));
+ *  // backtrack to the next successor
+ *  state=stack.advance();
+ * }
+ * </code></pre>
+ * <b>Note that this implementation is not synchronized.</b> 
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of elements held in the frames
+ */
+public class FrameStack<E> {
+	
+	private Object[][] frames;
+	private int[] sizes;
+	private int[] cursors;
+	private int depth=-1;
+	
+	/**
+	 * Creates an empty stack.
+	 */
+	public FrameStack() {
+		this(16);
+	}
+	
+	/**
+	 * Creates an empty stack with the given initial number of frames.
+	 * 
+	 * @param capacity the initial number of frames
+	 * @throws IllegalArgumentException if the capacity is less than one
+	 */
+	public FrameStack(int capacity) {
+		if (capacity<1) throw new IllegalArgumentException("capacity must be greater than zero!");
+		frames=new Object[capacity][];
+		sizes=new int[capacity];
+		cursors=new int[capacity];
+	}
+	
+	/**
+	 * Pushes a new frame holding the given elements onto this stack.
+	 * 
+	 * @param elements to be visited in the new frame
+	 */
+	public void push(List<? extends E> elements){
+		int d=++depth;
+		if (d==frames.length){
+			int capacity=frames.length*2;
+			frames=Arrays.copyOf(frames,capacity);
+			sizes=Arrays.copyOf(sizes,capacity);
+			cursors=Arrays.copyOf(cursors,capacity);
+		}
+		int n=elements.size();
+		Object[] frame=frames[d];
+		if (frame==null || frame.length<n)
+			frames[d]=frame=new Object[Math.max(n,(frame==null)?4:frame.length*2)];
+		if (elements instanceof RandomAccess){
+			for (int i=0;i<n;i++) frame[i]=elements.get(i);
+		}else{
+			int i=0;
+			for (E e : elements) frame[i++]=e;
+		}
+		sizes[d]=n;
+		cursors[d]=0;
+	}
+	
+	/**
+	 * Returns true if the top frame holds elements, which have not been visited yet.
+	 * 
+	 * @return true if the top frame has a next element
+	 * @throws EmptyStackException if this stack is empty
+	 */
+	public boolean hasNext(){
+		if (depth<0) throw new EmptyStackException();
+		return cursors[depth]<sizes[depth];
+	}
+	
+	/**
+	 * Returns the next element of the top frame and releases it from this stack.
+	 * 
+	 * @return the next element of the top frame
+	 * @throws NoSuchElementException if the top frame has no next element
+	 */
+	@SuppressWarnings("unchecked")
+	public E next(){
+		if (!hasNext()) throw new NoSuchElementException();
+		Object[] frame=frames[depth];
+		int c=cursors[depth]++;
+		E e=(E)frame[c];
+		frame[c]=null;
+		return e;
+	}
+	
+	/**
+	 * Removes all exhausted frames from the top of this stack 
+	 * and returns the next element of the remaining top frame, which is released from this stack.
+	 * 
+	 * @return the next element or null if all frames have been exhausted
+	 */
+	@SuppressWarnings("unchecked")
+	public E advance(){
+		while (depth>=0){
+			int c=cursors[depth];
+			if (c<sizes[depth]){
+				cursors[depth]=c+1;
+				Object[] frame=frames[depth];
+				E e=(E)frame[c];
+				frame[c]=null;
+				return e;
+			}
+			depth--;
+		}
+		return null;
+	}
+	
+	/**
+	 * Removes the top frame from this stack.
+	 * 
+	 * @throws EmptyStackException if this stack is empty
+	 */
+	public void pop(){
+		if (depth<0) throw new EmptyStackException();
+		Arrays.fill(frames[depth],cursors[depth],sizes[depth],null);
+		depth--;
+	}
+	
+	/**
+	 * Removes all frames from this stack, but keeps their storage for further use.
+	 */
+	public void clear(){
+		while (depth>=0) pop();
+	}
+	
+	/**
+	 * Returns the number of frames on this stack.
+	 * 
+	 * @return the number of frames
+	 */
+	public int size(){
+		return depth+1;
+	}
+	
+	/**
+	 * Returns true if this stack holds no frames.
+	 * 
+	 * @return true if this stack is empty
+	 */
+	public boolean isEmpty(){
+		return depth<0;
+	}
+
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.Arrays;
+
+/**
+ * This is a map from objects (compared by reference) to primitive <code>int</code> values.
+ * In contrast to a java.util.IdentityHashMap this implementation does not box the values,
+ * instead the keys and the values are stored in two flat arrays using open addressing with linear probing,
+ * so putting a value never creates an object (unless the map grows).<br>
+ * <br>
+ * The map grows automatically (by doubling its capacity) whenever the load factor of 0.75 is exceeded.
+ * Removed keys do not leave markers behind, instead the following keys of the same run are shifted back.
+ * The map does not permit null keys.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b>
+ * 
+ * @see util.IndexedHeap
+ * @see util.LongHashSet
+ * 
+ * @author eden06
+ *
+ * @param <K> the type of the keys held in this map
+ */
+public class IdentityIntMap<K> {
+	private static final double LOAD=0.75;
+	
+	private int capacity;
+	private int size=0;
+	private int threshold;
+	private Object[] keys;
+	private int[] values;
+	
+	/**
+	 * Creates a new empty map.
+	 */
+	public IdentityIntMap(){
+		this(1024);
+	}
+	
+	/**
+	 * Creates a new empty map with the given initial capacity.
+	 * 
+	 * @param capacity the initial number of slots (rounded up to the next power of two)
+	 * @throws IllegalArgumentException if the capacity is less than one
+	 */
+	public IdentityIntMap(int capacity){
+		if (capacity<1) throw new IllegalArgumentException("capacity must be greater than zero");
+		allocate(Math.max(2,Integer.highestOneBit(capacity-1)<<1));
+	}
+	
+	private void allocate(int capacity){
+		this.capacity=capacity;
+		this.threshold=(int)(capacity*LOAD);
+		keys=new Object[capacity];
+		values=new int[capacity];
+	}
+	
+	private int hash(Object key){
+		return (int)LongHashSet.mix(System.identityHashCode(key)) & (capacity-1);
+	}
+	
+	/**
+	 * Returns the slot of the given key or the free slot where it should be inserted.
+	 */
+	private int find(Object key){
+		int mask=capacity-1;
+		int slot=hash(key);
+		while (keys[slot]!=null && keys[slot]!=key){
+			slot=(slot+1) & mask;
+		}
+		return slot;
+	}
+	
+	private void grow(){
+		Object[] oldKeys=keys;
+		int[] oldValues=values;
+		allocate(capacity*2);
+		for (int i=0;i<oldKeys.length;i++){
+			if (oldKeys[i]!=null){
+				int slot=find(oldKeys[i]);
+				keys[slot]=oldKeys[i];
+				values[slot]=oldValues[i];
+			}
+		}
+	}
+	
+	/**
+	 * Associates the given value with the given key.
+	 * 
+	 * @param key the key (compared by reference)
+	 * @param value to be associated with the key
+	 * @throws IllegalArgumentException if the key is null
+	 */
+	public void put(K key,int value){
+		if (key==null) throw new IllegalArgumentException("key should never be null!");
+		int slot=find(key);
+		values[slot]=value;
+		if (keys[slot]==null){
+			keys[slot]=key;
+			if (++size>threshold) grow();
+		}
+	}
+	
+	/**
+	 * Returns the value associated with the given key or -1 if this map does not contain the key.
+	 * 
+	 * @param key the key (compared by reference)
+	 * @return the value of the key or -1 
+	 */
+	public int get(Object key){
+		if (key==null) return -1;
+		int slot=find(key);
+		return (keys[slot]==null ? -1 : values[slot]);
+	}
+	
+	/**
+	 * Returns true if this map contains the given key.
+	 * 
+	 * @param key the key (compared by reference)
+	 * @return true if the map contains the key
+	 */
+	public boolean containsKey(Object key){
+		return key!=null && keys[find(key)]!=null;
+	}
+	
+	/**
+	 * Removes the given key from this map and returns its value.
+	 * 
+	 * @param key the key (compared by reference)
+	 * @return the value of the removed key or -1 if this map did not contain the key
+	 */
+	public int remove(Object key){
+		if (key==null) return -1;
+		int hole=find(key);
+		if (keys[hole]==null) return -1;
+		int result=values[hole];
+		keys[hole]=null;
+		size--;
+		// shift back the following keys, which would not be found behind the hole 
+		int mask=capacity-1;
+		for (int next=(hole+1) & mask;keys[next]!=null;next=(next+1) & mask){
+			int home=hash(keys[next]);
+			if (((next-home) & mask)>=((next-hole) & mask)){
+				keys[hole]=keys[next];
+				values[hole]=values[next];
+				keys[next]=null;
+				hole=next;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the number of keys in this map.
+	 * 
+	 * @return the number of keys
+	 */
+	public int size(){
+		return size;
+	}
+	
+	/**
+	 * Returns true if this map contains no keys.
+	 * 
+	 * @return true if the map is empty
+	 */
+	public boolean isEmpty(){
+		return size==0;
+	}
+	
+	/**
+	 * Removes all keys from this map, but keeps its capacity.
+	 */
+	public void clear(){
+		if (size==0) return;
+		Arrays.fill(keys,null);
+		size=0;
+	}
+	
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An unbounded priority queue able to update the position of its elements.
+ * In contrast to the util.SortedQueue this queue does not search the whole queue for the smallest element,
+ * instead it is an util.KeyedHeap, which additionally keeps an index from each element to its slot in the heap.<br>
+ * <br>
+ * The elements of the indexed heap are ordered according to the keys computed by the evaluator
+ * provided at queue construction time.
+ * An indexed heap does not permit null elements and every element can only be contained once.
+ * In contrast to most collections elements are identified by reference and not by their equals() method,
+ * so the elements may change their hashCode() while they are contained in the heap.<br>
+ * <br>
+ * Whenever the key of an element in the queue has changed,
+ * the queue must be notified by one of the following methods:
+ * <ul>
+ * <li><code>decreaseKey(e)</code> if the key became smaller (or better)</li>
+ * <li><code>reprioritize(e)</code> if it is unknown in which direction the key has changed</li>
+ * <li><code>offer(e)</code> which inserts the element or calls <code>reprioritize(e)</code>
+ * if the element is already contained</li>
+ * </ul>
+ * Each of these methods computes the key of the changed element once 
+ * and only moves this element inside the heap, so they need <code>O(log n)</code> time.
+ * Other than the util.SortedQueue the queue will <b>not</b> notice changes to its elements
+ * if it is not notified.<br>
+ * <br>
+ * The Iterator provided in method iterator() traverses the elements
+ * in no particular order.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b> 
+ * Multiple threads should not access an IndexedHeap instance concurrently 
+ * if any of the threads modifies the queue.<br>
+ * <br>
+ * Implementation note: this implementation provides
+ * logarithmic time for enqueing, dequeing and updating methods (offer, add, poll, remove, decreaseKey and reprioritize),
+ * and constant time for the retrieval and testing methods (peek, element, contains, size and isEmpty),
+ * because slotOf(Object) looks up the index instead of scanning the heap.
+ * The index is an util.IdentityIntMap, so moving an element inside the heap does not box its slot. 
+ * By default the heap is 4-ary, because the best first searches decrease keys (sift up) 
+ * more often than they remove the head, and a flatter heap makes decreasing a key cheaper.
+ * <br>
+ * This class is an extension to the Java Collections Framework. 
+ *  
+ * @see util.KeyedHeap
+ * @see util.SortedQueue
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public class IndexedHeap<E> extends KeyedHeap<E> {
+	
+	/**
+	 * the default arity of the indexed heap
+	 */
+	public static final int DEFAULT_ARITY=4;
+	
+	private IdentityIntMap<E> index;
+	
+	/**
+	 * Creates an IndexedHeap that orders its elements according to the keys computed by the given evaluator.
+	 *  
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the evaluator is null
+	 */
+	public IndexedHeap(ToDoubleFunction<? super E> evaluator) {
+		this(1024,evaluator);
+	}
+	
+	/**
+	 * Creates an IndexedHeap with the specified initial capacity that orders its elements 
+	 * according to the keys computed by the given evaluator.
+	 *  
+	 * @param capacity the initial capacity of this heap
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the capacity is less than one or the evaluator is null
+	 */
+	public IndexedHeap(int capacity, ToDoubleFunction<? super E> evaluator) {
+		this(capacity,DEFAULT_ARITY,evaluator);
+	}
+	
+	/**
+	 * Creates an IndexedHeap with the specified initial capacity and arity that orders its elements 
+	 * according to the keys computed by the given evaluator.
+	 *  
+	 * @param capacity the initial capacity of this heap
+	 * @param arity the number of children of each node in the heap
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the capacity is less than one, the arity is less than two or the evaluator is null
+	 */
+	public IndexedHeap(int capacity, int arity, ToDoubleFunction<? super E> evaluator) {
+		super(capacity,arity,evaluator);
+		index=new IdentityIntMap<E>(capacity);
+	}
+	
+	/**
+	 * @see util.KeyedHeap#placed(java.lang.Object, int)
+	 */
+	@Override
+	protected void placed(E e, int slot) {
+		index.put(e,slot);
+	}
+	
+	/**
+	 * @see util.KeyedHeap#removed(java.lang.Object)
+	 */
+	@Override
+	protected void removed(E e) {
+		index.remove(e);
+	}
+	
+	/**
+	 * Returns the slot of the given element (compared by reference) or -1 if it is not contained in this heap.
+	 * <b>Note:</b> This operation needs O(1) time.
+	 * 
+	 * @see util.KeyedHeap#slotOf(java.lang.Object)
+	 */
+	@Override
+	protected int slotOf(Object o) {
+		return index.get(o);
+	}
+	
+	/**
+	 * Inserts the specified element into this heap.
+	 * If the element is already contained in the heap,
+	 * its position will be updated instead (see reprioritize(e)).<br>
+	 * <b>Note:</b> This operation needs O(log n) time.
+	 * 
+	 * @return always true
+	 * @throws NullPointerException if the element is null
+	 * @see util.KeyedHeap#offer(java.lang.Object)
+	 */
+	@Override
+	public boolean offer(E value) {
+		if (reprioritize(value)) return true;
+		return super.offer(value);
+	}
+	
+	/**
+	 * Tells the heap that the key of the given element became smaller
+	 * and moves it towards the head of the queue.<br>
+	 * <b>Note:</b> This operation needs O(log n) time.
+	 * 
+	 * @param e the element which has been changed
+	 * @return true if the element is contained in this heap
+	 */
+	public boolean decreaseKey(E e){
+		int slot=slotOf(e);
+		if (slot<0) return false;
+		update(slot,true);
+		return true;
+	}
+	
+	/**
+	 * Tells the heap that the key of the given element has changed
+	 * and moves it to its new position.<br>
+	 * <b>Note:</b> This operation needs O(log n) time.
+	 * 
+	 * @param e the element which has been changed
+	 * @return true if the element is contained in this heap
+	 */
+	public boolean reprioritize(E e){
+		int slot=slotOf(e);
+		if (slot<0) return false;
+		update(slot,false);
+		return true;
+	}
+	
+	/**
+	 * @see util.KeyedHeap#clear()
+	 */
+	@Override
+	public void clear(){
+		super.clear();
+		index.clear();
+	}
+	
+}
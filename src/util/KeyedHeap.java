@@ -0,0 +1,422 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An unbounded priority queue which orders its elements by a primitive key.
+ * The key of each element is computed once by the evaluator provided at queue construction time,
+ * when the element is inserted, and is stored next to the element in the queue.
+ * All comparisons inside the queue only read these stored keys, 
+ * so the evaluator is called exactly once per insertion (and no boxing of the keys takes place).<br>
+ * <br>
+ * The head of this queue is the element with the smallest key.
+ * If there are more elements with the smallest key, ties are broken arbitrarily.
+ * A keyed heap does not permit null elements. 
+ * Because the keys are stored, the queue will <b>not</b> notice if the key of an element changes
+ * after its insertion. (If you need to update keys, use the util.IndexedHeap instead.)<br>
+ * <br>
+ * The Iterator provided in method iterator() traverses the elements
+ * in no particular order.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b> 
+ * Multiple threads should not access a KeyedHeap instance concurrently 
+ * if any of the threads modifies the queue.<br>
+ * <br>
+ * Implementation note: this implementation is an implicit d-ary heap (binary by default) and provides
+ * logarithmic time for enqueing and dequeing methods (offer, add, poll and remove()),
+ * constant time for the retrieval methods (peek, peekKey, element, size and isEmpty)
+ * and linear time for the remove(Object) and contains(Object) methods (see slotOf(Object)). 
+ * A higher arity makes the heap flatter, so inserting and decreasing a key (sift up) become cheaper,
+ * while removing the head (sift down) compares more children on each level.
+ * <br>
+ * This class is an extension to the Java Collections Framework. 
+ *  
+ * @see util.IndexedHeap
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public class KeyedHeap<E> extends AbstractQueue<E> {
+	/**
+	 * the default arity of the heap
+	 */
+	public static final int DEFAULT_ARITY=2;
+	
+	private class KIterator implements Iterator<E>{
+		private int next=0;
+		private int last=-1;
+		private E lastMissed=null;
+		private ArrayDeque<E> missed=null;
+		private int isize;
+		
+		public KIterator(){ isize=size; }
+		@Override
+		public boolean hasNext() { return next<size || (missed!=null && !missed.isEmpty()); }
+		@Override
+		public E next() throws ConcurrentModificationException,NoSuchElementException{
+			if (isize!=size) throw new ConcurrentModificationException();
+			if (next<size){
+				last=next++;
+				return elementAt(last);
+			}
+			if (missed!=null && !missed.isEmpty()){
+				last=-1;
+				lastMissed=missed.poll();
+				return lastMissed;
+			}
+			throw new NoSuchElementException();
+		}
+		@Override
+		public void remove() {
+			if (isize!=size) throw new ConcurrentModificationException();
+			if (last>=0){
+				E moved=removeAt(last);
+				if (moved==null){
+					next--;
+				}else{
+					// an element from behind the iterator moved in front of it
+					if (missed==null) missed=new ArrayDeque<E>();
+					missed.add(moved);
+				}
+				last=-1;
+			}else if (lastMissed!=null){
+				removeAt(slotOf(lastMissed));
+				lastMissed=null;
+			}else{
+				throw new IllegalStateException();
+			}
+			isize=size;
+		}
+	}
+	
+	private ToDoubleFunction<? super E> evaluator;
+	private final int arity;
+	private Object[] heap;
+	private double[] keys;
+	private int size=0;
+	
+	/**
+	 * Creates a KeyedHeap that orders its elements according to the keys computed by the given evaluator.
+	 *  
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the evaluator is null
+	 */
+	public KeyedHeap(ToDoubleFunction<? super E> evaluator) {
+		this(1024,evaluator);
+	}
+	
+	/**
+	 * Creates a KeyedHeap with the specified initial capacity that orders its elements 
+	 * according to the keys computed by the given evaluator.
+	 *  
+	 * @param capacity the initial capacity of this heap
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the capacity is less than one or the evaluator is null
+	 */
+	public KeyedHeap(int capacity, ToDoubleFunction<? super E> evaluator) {
+		this(capacity,DEFAULT_ARITY,evaluator);
+	}
+	
+	/**
+	 * Creates a KeyedHeap with the specified initial capacity and arity that orders its elements 
+	 * according to the keys computed by the given evaluator.
+	 *  
+	 * @param capacity the initial capacity of this heap
+	 * @param arity the number of children of each node in the heap
+	 * @param evaluator the function used to compute the key of each element
+	 * 
+	 * @throws IllegalArgumentException if the capacity is less than one, the arity is less than two or the evaluator is null
+	 */
+	public KeyedHeap(int capacity, int arity, ToDoubleFunction<? super E> evaluator) {
+		if (capacity<1) throw new IllegalArgumentException("capacity must be greater than zero");
+		if (arity<2) throw new IllegalArgumentException("arity must be greater than one");
+		if (evaluator==null) throw new IllegalArgumentException("evaluator should never be null!");
+		this.evaluator=evaluator;
+		this.arity=arity;
+		heap=new Object[capacity];
+		keys=new double[capacity];
+	}
+	
+	@SuppressWarnings("unchecked")
+	protected final E elementAt(int slot){
+		return (E) heap[slot];
+	}
+	
+	/**
+	 * This method is the hook which is called whenever an element has been placed into a slot of the heap.
+	 * 
+	 * @param e the element which has been placed
+	 * @param slot the new slot of the element
+	 */
+	protected void placed(E e,int slot){ }
+	
+	/**
+	 * This method is the hook which is called whenever an element has been removed from the heap.
+	 * 
+	 * @param e the element which has been removed
+	 */
+	protected void removed(E e){ }
+	
+	/**
+	 * Returns the slot of the given element or -1 if it is not contained in this heap.
+	 * The methods contains(Object) and remove(Object) use this method to find the element.<br>
+	 * <b>Note:</b> This operation needs O(n) time, unless a subclass keeps an index of the slots.
+	 * 
+	 * @param o the element to search for
+	 * @return the slot of the element or -1
+	 */
+	protected int slotOf(Object o){
+		if (o==null) return -1;
+		for (int i=0;i<size;i++){
+			if (o.equals(heap[i])) return i;
+		}
+		return -1;
+	}
+	
+	private void place(E e,double key,int i){
+		heap[i]=e;
+		keys[i]=key;
+		placed(e,i);
+	}
+	
+	/**
+	 * Moves the given element from the given slot towards the root until the heap property holds.
+	 * 
+	 * @return the final slot of the element
+	 */
+	private int siftUp(int i,E e,double key){
+		while (i>0){
+			int parent=(i-1)/arity;
+			if (key>=keys[parent]) break;
+			place(elementAt(parent),keys[parent],i);
+			i=parent;
+		}
+		place(e,key,i);
+		return i;
+	}
+	
+	/**
+	 * Moves the given element from the given slot towards the leafs until the heap property holds.
+	 * 
+	 * @return the final slot of the element
+	 */
+	private int siftDown(int i,E e,double key){
+		int child;
+		while ((child=arity*i+1)<size){
+			int best=child, 
+			    last=Math.min(child+arity,size);
+			for (int c=child+1;c<last;c++){
+				if (keys[c]<keys[best]) best=c;
+			}
+			if (keys[best]>=key) break;
+			place(elementAt(best),keys[best],i);
+			i=best;
+		}
+		place(e,key,i);
+		return i;
+	}
+	
+	/**
+	 * Recomputes the key of the element in the given slot and moves it to its new position.
+	 * 
+	 * @param slot of the element to be updated
+	 * @param decreaseOnly flag indicating that the key can only become smaller
+	 */
+	protected final void update(int slot,boolean decreaseOnly){
+		E e=elementAt(slot);
+		double key=evaluator.applyAsDouble(e);
+		if (decreaseOnly || key<keys[slot]){
+			siftUp(slot,e,key);
+		}else{
+			siftDown(slot,e,key);
+		}
+	}
+	
+	/**
+	 * Removes the element in the given slot.
+	 * 
+	 * @return the last element of the heap if it has been moved in front of the given slot, otherwise null
+	 */
+	protected final E removeAt(int i){
+		E result=elementAt(i);
+		size--;
+		E moved=elementAt(size);
+		double key=keys[size];
+		heap[size]=null;
+		removed(result);
+		if (i==size) return null;
+		if (siftDown(i,moved,key)==i && siftUp(i,moved,key)!=i) return moved;
+		return null;
+	}
+	
+	/**
+	 * Returns an iterator over the elements of this queue.
+	 * The iterator will return the elements in no particular order. 
+	 * 
+	 * @see AbstractQueue#iterator()
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new KIterator();
+	}
+	
+	/**
+	 * @see AbstractQueue#size()
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Inserts the specified element into this heap.
+	 * The key of the element is computed once by the evaluator.<br>
+	 * <b>Note:</b> This operation needs O(log n) time.
+	 * 
+	 * @return always true
+	 * @throws NullPointerException if the element is null
+	 * @see AbstractQueue#offer(java.lang.Object)
+	 */
+	@Override
+	public boolean offer(E value) {
+		if (value==null) throw new NullPointerException("KeyedHeap prohibit null elements");
+		double key=evaluator.applyAsDouble(value);
+		if (size==heap.length){
+			heap=Arrays.copyOf(heap,heap.length*2);
+			keys=Arrays.copyOf(keys,keys.length*2);
+		}
+		siftUp(size++,value,key);
+		return true;
+	}
+	
+	/**
+	 * Returns but retains the element with the smallest key.<br>
+	 * <b>Note:</b> This operation needs O(1) time.
+	 * 
+	 * @see AbstractQueue#peek()
+	 */
+	@Override
+	public E peek() {
+		return (size==0 ? null : elementAt(0));
+	}
+	
+	/**
+	 * Returns the smallest key in this heap.<br>
+	 * <b>Note:</b> This operation needs O(1) time.
+	 * 
+	 * @return the key of the head of this heap 
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public double peekKey() {
+		if (size==0) throw new NoSuchElementException();
+		return keys[0];
+	}
+	
+	/**
+	 * Returns and removes the element with the smallest key.<br>
+	 * <b>Note:</b> This operation needs O(log n) time.
+	 * 
+	 * @see AbstractQueue#poll()
+	 */
+	@Override
+	public E poll() {
+		if (size==0) return null;
+		E result=elementAt(0);
+		removeAt(0);
+		return result;
+	}
+	
+	/**
+	 * @see java.util.AbstractCollection#contains(java.lang.Object)
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return slotOf(o)>=0;
+	}
+	
+	/**
+	 * @see java.util.AbstractCollection#remove(java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int slot=slotOf(o);
+		if (slot<0) return false;
+		removeAt(slot);
+		return true;
+	}
+	
+	/**
+	 * @see AbstractQueue#clear()
+	 */
+	@Override
+	public void clear(){
+		Arrays.fill(heap,0,size,null);
+		size=0;
+	}
+	
+	/**
+	 * @see AbstractQueue#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty(){ 
+		return size==0;
+	}
+	
+	/**
+	 * Returns the number of children of each node in this heap.
+	 * 
+	 * @return the arity of this heap 
+	 */
+	public int arity(){
+		return arity; 
+	}
+	
+	/**
+	 * Returns the evaluator used to compute the keys of the elements in this heap.
+	 * 
+	 * @return the evaluator of this heap 
+	 */
+	public ToDoubleFunction<? super E> evaluator(){
+		return evaluator; 
+	}
+	
+}
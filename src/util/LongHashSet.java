@@ -0,0 +1,218 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.Arrays;
+
+/**
+ * This is a hash set for primitive keys, where each key consists of a fixed number of <code>long</code> values.
+ * In contrast to a java.util.HashSet this implementation does not create an object for each entry,
+ * instead all keys are stored in one flat <code>long</code> array using open addressing with linear probing.
+ * An additional bit map marks the used slots, so that each value (including zero) can be stored.<br>
+ * <br>
+ * With the default load factor of 0.75 each key of width <code>w</code> needs 
+ * about <code>w*8/0.75</code> bytes of memory.
+ * The set grows automatically (by doubling its capacity) whenever the load factor is exceeded.
+ * Removing single keys is not supported.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b>
+ * 
+ * @see util.CodecSet
+ * 
+ * @author eden06
+ *
+ */
+public class LongHashSet {
+	private static final double LOAD=0.75;
+	
+	private int width;
+	private int capacity;
+	private int size=0;
+	private int threshold;
+	private long[] keys;
+	private long[] used;
+	
+	/**
+	 * Mixes the bits of the given value (finalization step of the MurmurHash3 algorithm).
+	 * 
+	 * @param value to be mixed
+	 * @return the mixed value
+	 */
+	public static long mix(long value){
+		value^=value>>>33;
+		value*=0xff51afd7ed558ccdL;
+		value^=value>>>33;
+		value*=0xc4ceb9fe1a85ec53L;
+		value^=value>>>33;
+		return value;
+	}
+	
+	/**
+	 * Creates a new empty set for keys of the given width.
+	 * 
+	 * @param width the number of long values of each key
+	 * @throws IllegalArgumentException if the width is less than one
+	 */
+	public LongHashSet(int width){
+		this(width,1024);
+	}
+	
+	/**
+	 * Creates a new empty set for keys of the given width and with the given initial capacity.
+	 * 
+	 * @param width the number of long values of each key
+	 * @param capacity the initial number of slots (rounded up to the next power of two)
+	 * @throws IllegalArgumentException if the width or the capacity is less than one
+	 */
+	public LongHashSet(int width,int capacity){
+		if (width<1) throw new IllegalArgumentException("width must be greater than zero");
+		if (capacity<1) throw new IllegalArgumentException("capacity must be greater than zero");
+		this.width=width;
+		allocate(Math.max(2,Integer.highestOneBit(capacity-1)<<1));
+	}
+	
+	private void allocate(int capacity){
+		this.capacity=capacity;
+		this.threshold=(int)(capacity*LOAD);
+		keys=new long[capacity*width];
+		used=new long[(capacity+63)>>>6];
+	}
+	
+	private boolean isUsed(int slot){
+		return (used[slot>>>6] & (1L<<slot))!=0;
+	}
+	
+	private int hash(long[] key,int offset){
+		long h=0;
+		for (int i=0;i<width;i++){
+			h=mix(h^key[offset+i]);
+		}
+		return (int)h;
+	}
+	
+	private boolean matches(int slot,long[] key,int offset){
+		int base=slot*width;
+		for (int i=0;i<width;i++){
+			if (keys[base+i]!=key[offset+i]) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the slot of the given key or the free slot where it should be inserted.
+	 */
+	private int find(long[] key,int offset){
+		int mask=capacity-1;
+		int slot=hash(key,offset) & mask;
+		while (isUsed(slot) && !matches(slot,key,offset)){
+			slot=(slot+1) & mask;
+		}
+		return slot;
+	}
+	
+	private void insert(int slot,long[] key,int offset){
+		System.arraycopy(key,offset,keys,slot*width,width);
+		used[slot>>>6]|=(1L<<slot);
+	}
+	
+	private void grow(){
+		long[] oldKeys=keys;
+		long[] oldUsed=used;
+		int oldCapacity=capacity;
+		allocate(capacity*2);
+		for (int slot=0;slot<oldCapacity;slot++){
+			if ((oldUsed[slot>>>6] & (1L<<slot))!=0){
+				insert(find(oldKeys,slot*width),oldKeys,slot*width);
+			}
+		}
+	}
+	
+	/**
+	 * Adds the key stored in the first <code>width()</code> elements of the given array to this set.
+	 * 
+	 * @param key to be added
+	 * @return true if the set did not already contain the key
+	 */
+	public boolean add(long[] key){
+		int slot=find(key,0);
+		if (isUsed(slot)) return false;
+		insert(slot,key,0);
+		if (++size>threshold) grow();
+		return true;
+	}
+	
+	/**
+	 * Returns true if this set contains the key stored in the first <code>width()</code> elements of the given array.
+	 * 
+	 * @param key to be checked
+	 * @return true if the set contains the key
+	 */
+	public boolean contains(long[] key){
+		return isUsed(find(key,0));
+	}
+	
+	/**
+	 * Returns the number of keys in this set.
+	 * 
+	 * @return the number of keys
+	 */
+	public int size(){
+		return size;
+	}
+	
+	/**
+	 * Returns true if this set contains no keys.
+	 * 
+	 * @return true if the set is empty
+	 */
+	public boolean isEmpty(){
+		return size==0;
+	}
+	
+	/**
+	 * Returns the number of long values of each key.
+	 * 
+	 * @return the width of the keys
+	 */
+	public int width(){
+		return width;
+	}
+	
+	/**
+	 * Removes all keys from this set, but keeps its capacity.
+	 */
+	public void clear(){
+		if (size==0) return;
+		Arrays.fill(used,0L);
+		size=0;
+	}
+	
+}
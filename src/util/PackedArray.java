@@ -163,15 +163,9 @@ public class PackedArray{
  	int l=Integer.SIZE/bits;
  	int n=(length%l==0)?length/l:length/l+1;
  	this.packed=new int[n];
- 	int j=-1;
- 	for(int i=0;i<n*l;i++){
- 		if (j<i/l){
- 			j++;
- 			packed[j]=0;
- 		}else{
- 			packed[j]=packed[j] << bits;
- 		}
- 		if (i<length)	packed[j]=packed[j] | array[i];
+ 	// use the same layout as extract and inject (even if the bits do not divide the integer size)
+ 	for(int i=0;i<length;i++){
+ 		set(i,array[i]);
  	}  
  }
 
@@ -211,18 +205,8 @@ public class PackedArray{
  public int[] unpack(){
  	int[] result=new int[length];
  	int l=Integer.SIZE/bits;
- 	int n=(length%l==0)?length/l:length/l+1;
- 	int[] a=Arrays.copyOf(packed,n);
- 	int j=-1;
- 	int stuff=(1<<bits)-1;
- 	for (int i=0;i<n*l;i++){
- 		if (j<i/l){
- 			j++;
- 		}else{
- 			a[j]=a[j]>>bits;
- 		}
- 		if (((2*j+1)*l-1-i)<length)
- 		 result[(2*j+1)*l-1-i]=a[j] & stuff;
+ 	for (int i=0;i<length;i++){
+ 		result[i]=extract(packed[i/l],i%l,bits);
  	}
  	return result;
  } 
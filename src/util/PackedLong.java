@@ -0,0 +1,151 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+/**
+ * This is the counterpart of the PackedArray for very small arrays,
+ * which packs up to 16 values between 0 and 15 into a single long value.
+ * Each element occupies four bits <i>(a nibble)</i> and the element with the index zero
+ * is stored in the highest nibble, just like in a PackedArray.<br>
+ * <br>
+ * In contrast to the PackedArray no object is created at all,
+ * instead all methods are static and operate on the long value itself.
+ * As a result copying, comparing and hashing the array are single operations on a long value.
+ * 
+ * @author eden06
+ *
+ */
+public class PackedLong {
+	
+	/**
+	 * The number of bits of each element.
+	 */
+	public static final int BITS=4;
+	
+	/**
+	 * The maximal number of elements of a packed long.
+	 */
+	public static final int LENGTH=Long.SIZE/BITS;
+	
+	private static final long MASK=(1L<<BITS)-1;
+	
+	private PackedLong(){}
+	
+	private static int shift(int index){
+		return Long.SIZE-(index+1)*BITS;
+	}
+	
+	/**
+	 * Returns the element at the specified position in the packed long.
+	 * 
+	 * @param packed the packed long
+	 * @param index of the element to return <i>(starting from zero)</i>
+	 * @return the value of the element
+	 */
+	public static int get(long packed, int index){
+		return (int)((packed>>>shift(index)) & MASK);
+	}
+	
+	/**
+	 * Replaces the element at the specified position in the packed long.
+	 * 
+	 * @param packed the packed long
+	 * @param index of the element to replace <i>(starting from zero)</i>
+	 * @param value to be stored at the specified position
+	 * @return the modified packed long
+	 * @throws IllegalArgumentException if the value does not fit into a nibble
+	 */
+	public static long set(long packed, int index, int value){
+		if ((value<0) || (value>MASK))
+			throw new IllegalArgumentException(String.format("value %d does not fit in %d bits",value,BITS));
+		int shift=shift(index);
+		return (packed & ~(MASK<<shift)) | ((long)value<<shift);
+	}
+	
+	/**
+	 * Moves the element at the index <code>from</code> into the element at the index <code>to</code>,
+	 * which must be zero. Afterwards the element at the index <code>from</code> is zero.<br>
+	 * This is a swap of both elements, which needs no more than two exclusive or operations.
+	 * 
+	 * @param packed the packed long
+	 * @param from the index of the element to move
+	 * @param to the index of the element which is zero
+	 * @return the modified packed long
+	 */
+	public static long move(long packed, int from, int to){
+		long value=(packed>>>shift(from)) & MASK;
+		return packed ^ (value<<shift(from)) ^ (value<<shift(to));
+	}
+	
+	/**
+	 * Returns the index of the first element with the given value.
+	 * 
+	 * @param packed the packed long
+	 * @param value to search for
+	 * @param length the number of elements in the packed long
+	 * @return the index of the element or -1 if there is no such element
+	 */
+	public static int indexOf(long packed, int value, int length){
+		for (int i=0;i<length;i++){
+			if (get(packed,i)==value) return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Packs the given array into a long value.
+	 * 
+	 * @param array with at most LENGTH elements between 0 and 15
+	 * @return the packed long
+	 * @throws IllegalArgumentException if the array is too long or a value does not fit into a nibble
+	 */
+	public static long pack(int[] array){
+		if (array.length>LENGTH)
+			throw new IllegalArgumentException(String.format("%d elements do not fit in a long",array.length));
+		long result=0;
+		for (int i=0;i<array.length;i++) result=set(result,i,array[i]);
+		return result;
+	}
+	
+	/**
+	 * Unpacks the given number of elements of the packed long into an integer array.
+	 * 
+	 * @param packed the packed long
+	 * @param length the number of elements in the packed long
+	 * @return unpacked integer array
+	 */
+	public static int[] unpack(long packed, int length){
+		int[] result=new int[length];
+		for (int i=0;i<length;i++) result[i]=get(packed,i);
+		return result;
+	}
+
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * This class is a java.util.Random drawing its values from a java.util.SplittableRandom.<br>
+ * <br>
+ * In contrast to the java.util.Random, which updates a shared seed with an atomic operation on each draw,
+ * this random value generator is not thread safe and should be used by one thread only.
+ * Independent generators for other threads are created with split(),
+ * so several threads draw random values without contention and 
+ * all of them are reproducible if the first generator has been created with a fixed seed.<br>
+ * Because it is a subclass of java.util.Random, it can be passed to every method expecting a java.util.Random.
+ * 
+ * @see java.util.SplittableRandom
+ * 
+ * @author eden06
+ *
+ */
+public class SplitRandom extends Random {
+	private static final long serialVersionUID = 1L;
+	
+	private SplittableRandom source;
+	
+	/**
+	 * Creates a new random value generator with a random seed.
+	 */
+	public SplitRandom() {
+		this(new SplittableRandom());
+	}
+	
+	/**
+	 * Creates a new random value generator with the given seed.
+	 * 
+	 * @param seed the initial seed
+	 */
+	public SplitRandom(long seed) {
+		this(new SplittableRandom(seed));
+	}
+	
+	private SplitRandom(SplittableRandom source) {
+		super(0L);
+		this.source=source;
+	}
+	
+	/**
+	 * Creates a new random value generator, which shares no state with this one.
+	 * The values of the new generator depend only on the values drawn from this generator before.
+	 * 
+	 * @return the new random value generator
+	 */
+	public SplitRandom split(){
+		return new SplitRandom(source.split());
+	}
+	
+	/**
+	 * Resets this random value generator to the given seed.
+	 * 
+	 * @see java.util.Random#setSeed(long)
+	 */
+	@Override
+	public synchronized void setSeed(long seed) {
+		//called by the constructor of java.util.Random
+		if (source!=null) source=new SplittableRandom(seed);
+	}
+	
+	@Override
+	protected int next(int bits) {
+		return (int)(source.nextLong()>>>(64-bits));
+	}
+	
+	@Override
+	public int nextInt() {
+		return source.nextInt();
+	}
+	
+	@Override
+	public int nextInt(int bound) {
+		return source.nextInt(bound);
+	}
+	
+	@Override
+	public long nextLong() {
+		return source.nextLong();
+	}
+	
+	@Override
+	public double nextDouble() {
+		return source.nextDouble();
+	}
+	
+	@Override
+	public boolean nextBoolean() {
+		return source.nextBoolean();
+	}
+	
+}
@@ -0,0 +1,258 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+import java.util.Arrays;
+
+import core.LongHashable;
+import core.StateCodec;
+
+/**
+ * This is a transposition table of fixed size, which remembers the lowest depth
+ * at which each state has been reached during the current iteration of an iterative deepening search.
+ * In contrast to a java.util.HashMap the table never grows, so the memory used
+ * stays flat, no matter how many states are visited.<br>
+ * <br>
+ * The table is an array of buckets, each holding two entries:
+ * <ul>
+ * <li>
+ * The first entry is <i>depth preferred</i>. It is only replaced by a state which has been reached 
+ * at a lower or equal depth, because those states are the roots of the larger subtrees.
+ * The replaced entry is moved to the second entry of the bucket.
+ * </li>
+ * <li>The second entry is <i>always replaced</i> and holds the most recently visited state.</li>
+ * </ul>
+ * Each entry is stamped with the generation it has been stored in.
+ * Entries of older generations are treated as empty, 
+ * so starting a new iteration with nextGeneration() does not need to touch the table at all.<br>
+ * <br>
+ * If a core.StateCodec is given, the table stores only the encoded states 
+ * next to their depth in one flat <code>long</code> array.
+ * Otherwise the table stores the states themselves and compares them with equals(),
+ * which keeps up to capacity() states reachable.
+ * If the states implement core.LongHashable, their 64 bit hash is used to find their bucket 
+ * and (without a codec) to avoid most calls of equals().
+ * In both cases a lost entry can only cause a state to be expanded again,
+ * but never causes a state to be discarded wrongly.<br>
+ * <br>
+ * <b>Note that this implementation is not synchronized.</b>
+ * 
+ * @see core.StateCodec
+ * @see basic.IterativeDeepeningAStar
+ * @see basic.IterativeDeepeningSearch
+ * 
+ * @author eden06
+ *
+ * @param <E> the type of the states held in this table
+ */
+public class TranspositionTable<E> {
+	private static final int ENTRIES=2;
+	private static final long MEGABYTE=1L<<20;
+	
+	private StateCodec<E> codec;
+	private int megabytes;
+	private int width;
+	private int stride;
+	private int mask;
+	private int size=0;
+	private int generation=1;
+	private long[] table;
+	private long[] buffer;
+	private Object[] states;
+	private long[] hashes;
+	
+	/**
+	 * Creates a new empty table, which stores the states themselves and uses 
+	 * about the given amount of memory (not counting the states).
+	 * 
+	 * @param megabytes the memory used by the table
+	 * @throws IllegalArgumentException if the megabytes are less than one
+	 */
+	public TranspositionTable(int megabytes){
+		this(null,megabytes);
+	}
+	
+	/**
+	 * Creates a new empty table, which encodes its states with the given codec
+	 * and uses about the given amount of memory.
+	 * If the codec is null the states themselves are stored.
+	 * 
+	 * @param codec used to encode the states
+	 * @param megabytes the memory used by the table
+	 * @throws IllegalArgumentException if the megabytes are less than one
+	 */
+	public TranspositionTable(StateCodec<E> codec,int megabytes){
+		if (megabytes<1) throw new IllegalArgumentException("megabytes must be greater than zero");
+		this.codec=codec;
+		this.megabytes=megabytes;
+		this.width=(codec==null?0:codec.words());
+		this.stride=width+1;
+		long bucket=ENTRIES*(codec==null?24:stride*8);
+		long buckets=Long.highestOneBit(Math.max(1,Math.min(megabytes*MEGABYTE/bucket,1<<29)));
+		this.mask=(int)buckets-1;
+		int capacity=(int)buckets*ENTRIES;
+		table=new long[capacity*stride];
+		if (codec==null){
+			states=new Object[capacity];
+			hashes=new long[capacity];
+		}else{
+			buffer=new long[width];
+		}
+	}
+	
+	private long hash(E state){
+		if (codec!=null) codec.encode(state,buffer);
+		if (state instanceof LongHashable) return ((LongHashable) state).hash64();
+		if (codec==null) return LongHashSet.mix(state.hashCode());
+		long h=0;
+		for (int i=0;i<width;i++){
+			h=LongHashSet.mix(h^buffer[i]);
+		}
+		return h;
+	}
+	
+	private boolean matches(int entry,E state,long hash){
+		if (codec==null) return hashes[entry]==hash && state.equals(states[entry]);
+		int base=entry*stride;
+		for (int i=0;i<width;i++){
+			if (table[base+i]!=buffer[i]) return false;
+		}
+		return true;
+	}
+	
+	private boolean current(int entry){
+		return (int)(table[entry*stride+width]>>>32)==generation;
+	}
+	
+	private int depth(int entry){
+		return (int)table[entry*stride+width];
+	}
+	
+	private void stamp(int entry,int depth){
+		table[entry*stride+width]=((long)generation<<32) | (depth & 0xffffffffL);
+	}
+	
+	private void store(int entry,E state,long hash,int depth){
+		if (! current(entry)) size++;
+		if (codec==null){
+			states[entry]=state;
+			hashes[entry]=hash;
+		}else{
+			System.arraycopy(buffer,0,table,entry*stride,width);
+		}
+		stamp(entry,depth);
+	}
+	
+	private void move(int from,int to){
+		if (current(to)) size--;
+		System.arraycopy(table,from*stride,table,to*stride,stride);
+		if (codec==null){
+			states[to]=states[from];
+			hashes[to]=hashes[from];
+		}
+		table[from*stride+width]=0L;
+	}
+	
+	/**
+	 * Records that the given state has been reached at the given depth
+	 * during the current generation and returns true if the state should be expanded.
+	 * This is the case if the state has not been found in the table
+	 * or only with a greater depth.<br>
+	 * 
+	 * @param state which has been reached
+	 * @param depth at which the state has been reached
+	 * @return false if the state has already been reached at a lower or equal depth 
+	 */
+	public boolean visit(E state,int depth){
+		long hash=hash(state);
+		int first=((int)hash & mask)*ENTRIES, second=first+1;
+		for (int entry=first;entry<=second;entry++){
+			if (matches(entry,state,hash)){
+				if (current(entry) && depth>=depth(entry)) return false;
+				store(entry,state,hash,depth);
+				return true;
+			}
+		}
+		if (! current(first) || depth<=depth(first)){
+			if (current(first)) move(first,second);
+			store(first,state,hash,depth);
+		}else{
+			store(second,state,hash,depth);
+		}
+		return true;
+	}
+	
+	/**
+	 * Starts a new generation, which invalidates all entries of the table in constant time.
+	 */
+	public void nextGeneration(){
+		size=0;
+		if (++generation==Integer.MAX_VALUE) clear();
+	}
+	
+	/**
+	 * Removes all entries from this table, but keeps its capacity.
+	 */
+	public void clear(){
+		Arrays.fill(table,0L);
+		if (codec==null) Arrays.fill(states,null);
+		generation=1;
+		size=0;
+	}
+	
+	/**
+	 * Returns the number of states stored during the current generation.
+	 * 
+	 * @return the number of valid entries
+	 */
+	public int size(){
+		return size;
+	}
+	
+	/**
+	 * Returns the number of entries this table can hold at most.
+	 * 
+	 * @return the capacity of this table
+	 */
+	public int capacity(){
+		return (mask+1)*ENTRIES;
+	}
+	
+	/**
+	 * Returns the amount of memory this table has been created with.
+	 * 
+	 * @return the memory in megabytes
+	 */
+	public int megabytes(){
+		return megabytes;
+	}
+	
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+
+Copyright (c) 2007, Thomas "Eden_06" Kühn
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+
+* Redistributions of source code must retain the above copyright notice, this 
+  list of conditions and the following disclaimer.
+* Redistributions in binary form must reproduce the above copyright notice, this
+  list of conditions and the following disclaimer in the documentation and/or 
+  other materials provided with the distribution.
+* Neither the name of the Thomas "Eden_06" Kühn nor the names of its 
+  contributors may be used to endorse or promote products derived from this 
+  software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE 
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT 
+(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS 
+SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+*******************************************************************************/
+
+package util;
+
+/**
+ * This class provides the random keys for Zobrist hashing.<br>
+ * <br>
+ * A state consisting of pieces placed on squares (like the tiles of a sliding puzzle
+ * or the queens on a chess board) is hashed by the exclusive or of the keys of all its 
+ * (piece,square) pairs. When a piece is moved from one square to another,
+ * the hash is updated in constant time by toggling the keys of the old and the new pair:<br>
+ * <code>hash ^ Zobrist.key(piece,from) ^ Zobrist.key(piece,to)</code><br>
+ * <br>
+ * Each key is computed by mixing the given pair with a fixed seed. Because the mixing is a bijection,
+ * distinct pairs always have distinct keys and the keys are the same in each run.
+ * The keys of the first 64 pieces on the first 64 squares are computed once and kept in a table.
+ * 
+ * @see core.LongHashable
+ * 
+ * @author eden06
+ *
+ */
+public class Zobrist {
+	private static final long SEED=0x9E3779B97F4A7C15L;
+	private static final int TABLE=64;
+	private static final long[] KEYS=new long[TABLE*TABLE];
+	
+	static{
+		for (int i=0;i<KEYS.length;i++) KEYS[i]=compute(i/TABLE,i%TABLE);
+	}
+	
+	private Zobrist(){}
+	
+	/**
+	 * Returns the key of the given piece on the given square.
+	 * 
+	 * @param piece a non negative number identifying the piece
+	 * @param square a non negative number identifying the square
+	 * @return the random key of the pair
+	 */
+	public static long key(int piece,int square){
+		if ((piece>=0) && (square>=0) && (piece<TABLE) && (square<TABLE)) return KEYS[piece*TABLE+square];
+		return compute(piece,square);
+	}
+	
+	private static long compute(int piece,int square){
+		return LongHashSet.mix(( ((long)piece<<32) | (square & 0xffffffffL) ) ^ SEED);
+	}
+	
+	/**
+	 * Returns the hash of the given array, where the piece at the index i is placed on the square i.
+	 * 
+	 * @param pieces the piece on each square
+	 * @return the exclusive or of the keys of all pairs
+	 */
+	public static long hash(int[] pieces){
+		long result=0;
+		for (int i=0;i<pieces.length;i++){
+			result^=key(pieces[i],i);
+		}
+		return result;
+	}
+
+}